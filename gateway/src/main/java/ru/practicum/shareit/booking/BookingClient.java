@@ -3,14 +3,14 @@ package ru.practicum.shareit.booking;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.exception.UnsupportedStateException;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerForwarder;
+import ru.practicum.shareit.common.batch.BatchRequest;
 
 import java.util.Map;
 
@@ -23,34 +23,34 @@ public class BookingClient extends BaseClient {
     private static final String API_PREFIX = "/bookings";
     private static final String UNSUPPORTED_STATUS = "Данный статус '%s' не поддерживается";
 
-    public BookingClient(@Value("${shareit-server.url}") String serverUrl, @Autowired RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public BookingClient(@Value("${shareit-server.url}") String serverUrl, @Autowired ServerForwarder.Factory forwarders) {
+        super(forwarders.create(serverUrl + API_PREFIX));
 
         log.debug("BookingClient(URL={}{})", serverUrl, API_PREFIX);
     }
 
-    public ResponseEntity<Object> createBooking(BookingRequestDto bookingRequestDto, long bookerId) {
+    public Mono<ResponseEntity<Object>> createBooking(BookingRequestDto bookingRequestDto, long bookerId) {
         log.debug("BookingClient - baseClient.createBooking({}, {})", bookingRequestDto, bookerId);
         return post(BASE_SPACE_PATH, bookerId, bookingRequestDto);
     }
 
-    public ResponseEntity<Object> toBook(long ownerId, long bookingId, boolean approved) {
+    public Mono<ResponseEntity<Object>> createBookings(BatchRequest<BookingRequestDto> bookings, long bookerId) {
+        log.debug("BookingClient - baseClient.createBookings({}, {})", bookings.valid().size(), bookerId);
+        return postBatch(BASE_SLASH_PATH + "batch", bookerId, bookings);
+    }
+
+    public Mono<ResponseEntity<Object>> toBook(long ownerId, long bookingId, boolean approved) {
         log.debug("BookingClient - baseClient.toBook({}, {}, {})", ownerId, bookingId, approved);
         Map<String, Object> parameters = Map.of("approved", approved);
         return patch(BASE_SLASH_PATH + bookingId + "?approved={approved}", ownerId, parameters, null);
     }
 
-    public ResponseEntity<Object> getBooking(long bookingId, long bookerOrOwnerId) {
+    public Mono<ResponseEntity<Object>> getBooking(long bookingId, long bookerOrOwnerId) {
         log.debug("BookingClient - baseClient.getBooking({}, {})", bookingId, bookerOrOwnerId);
         return get(BASE_SLASH_PATH + bookingId, bookerOrOwnerId);
     }
 
-    public ResponseEntity<Object> getAllBookingByBooker(long bookerId, String state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAllBookingByBooker(long bookerId, String state, int from, int size) {
         log.debug("BookingClient - baseClient.getAllBookingByBooker({}, {}, {}, {})", bookerId, state, from, size);
 
         stateValidation(state);
@@ -63,7 +63,7 @@ public class BookingClient extends BaseClient {
         return get("?state={state}&from={from}&size={size}", bookerId, parameters);
     }
 
-    public ResponseEntity<Object> getAllBookingByOwner(long ownerId, String state, int from, int size) {
+    public Mono<ResponseEntity<Object>> getAllBookingByOwner(long ownerId, String state, int from, int size) {
         log.debug("BookingClient - baseClient.getAllBookingByOwner({}, {}, {}, {})", ownerId, state, from, size);
 
         stateValidation(state);
@@ -76,6 +76,40 @@ public class BookingClient extends BaseClient {
         return get("/owner?state={state}&from={from}&size={size}", ownerId, parameters);
     }
 
+    public Mono<ResponseEntity<Object>> getAllBookingByBooker(long bookerId, String state, String after, int size) {
+        log.debug("BookingClient - baseClient.getAllBookingByBooker({}, {}, {}, {})", bookerId, state, after, size);
+
+        stateValidation(state);
+        //  Без after - первая страница курсорного режима
+        if (after == null)
+            return get("?mode=cursor&state={state}&size={size}", bookerId, Map.of("state", state, "size", size));
+
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "after", after,
+                "size", size
+        );
+
+        return get("?mode=cursor&state={state}&after={after}&size={size}", bookerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getAllBookingByOwner(long ownerId, String state, String after, int size) {
+        log.debug("BookingClient - baseClient.getAllBookingByOwner({}, {}, {}, {})", ownerId, state, after, size);
+
+        stateValidation(state);
+        //  Без after - первая страница курсорного режима
+        if (after == null)
+            return get("/owner?mode=cursor&state={state}&size={size}", ownerId, Map.of("state", state, "size", size));
+
+        Map<String, Object> parameters = Map.of(
+                "state", state,
+                "after", after,
+                "size", size
+        );
+
+        return get("/owner?mode=cursor&state={state}&after={after}&size={size}", ownerId, parameters);
+    }
+
     private void stateValidation(final String state) throws UnsupportedStateException {
         try {
             State.valueOf(state);
@@ -5,11 +5,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.common.batch.BatchRequest;
 
 import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.NotEmpty;
+import javax.validation.constraints.Pattern;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.util.List;
 
 @Slf4j
 @Validated
@@ -17,17 +24,28 @@ import javax.validation.constraints.PositiveOrZero;
 @RequiredArgsConstructor
 @RequestMapping(path = "/bookings")
 public class BookingController {
+    //  Курсор keyset-пагинации: "<start>,<id>" последней полученной брони
+    private static final String CURSOR_PATTERN = "^\\d{4}-\\d{2}-\\d{2}T\\d{2}:\\d{2}(:\\d{2}(\\.\\d{1,9})?)?,\\d+$";
+
     private final BookingClient bookingClient;
+    private final Validator validator;
 
     @PostMapping
-    public ResponseEntity<Object> createBooking(@Valid @RequestBody final BookingRequestDto bookingDto,
+    public Mono<ResponseEntity<Object>> createBooking(@Valid @RequestBody final BookingRequestDto bookingDto,
                                                 @RequestHeader("X-Sharer-User-Id") final Long bookerId) {
         log.debug("/bookings - POST: createBooking({})", bookingDto);
         return bookingClient.createBooking(bookingDto, bookerId);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createBookings(@RequestBody @NotEmpty @Size(max = BatchRequest.MAX_SIZE) final List<BookingRequestDto> bookingDtos,
+                                                       @RequestHeader("X-Sharer-User-Id") final Long bookerId) {
+        log.debug("/bookings/batch - POST: createBookings({}, {})", bookingDtos.size(), bookerId);
+        return bookingClient.createBookings(BatchRequest.validate(bookingDtos, validator), bookerId);
+    }
+
     @PatchMapping("/{bookingId}")
-    public ResponseEntity<Object> toBook(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+    public Mono<ResponseEntity<Object>> toBook(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                          @PathVariable final long bookingId,
                                          @RequestParam final boolean approved) {
         log.debug("/bookings/{}?approved={} - PATCH: toBook({}, {}, {})",
@@ -36,14 +54,14 @@ public class BookingController {
     }
 
     @GetMapping("/{bookingId}")
-    public ResponseEntity<Object> getBooking(@RequestHeader("X-Sharer-User-Id") final Long bookerOrOwnerId,
+    public Mono<ResponseEntity<Object>> getBooking(@RequestHeader("X-Sharer-User-Id") final Long bookerOrOwnerId,
                                              @PathVariable final long bookingId) {
         log.debug("/bookings/{} - GET: getBooking({}, {})", bookingId, bookerOrOwnerId, bookingId);
         return bookingClient.getBooking(bookingId, bookerOrOwnerId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getAllBookingByBooker(@RequestHeader("X-Sharer-User-Id") final Long bookerId,
+    public Mono<ResponseEntity<Object>> getAllBookingByBooker(@RequestHeader("X-Sharer-User-Id") final Long bookerId,
                                                         @RequestParam(required = false, defaultValue = "ALL") final String state,
                                                         @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
                                                         @RequestParam(defaultValue = "10") @Positive final int size) {
@@ -52,11 +70,29 @@ public class BookingController {
     }
 
     @GetMapping("/owner")
-    public ResponseEntity<Object> getAllBookingByOwner(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+    public Mono<ResponseEntity<Object>> getAllBookingByOwner(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                                        @RequestParam(required = false, defaultValue = "ALL") final String state,
                                                        @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
                                                        @RequestParam(defaultValue = "10") @Positive final int size) {
         log.debug("/bookings/owner?state={}&from={}&size={} - GET: getAllBookingByUser({}, {}, {}, {})", state, from, size, ownerId, state, from, size);
         return bookingClient.getAllBookingByOwner(ownerId, state, from, size);
     }
+
+    @GetMapping(params = "mode=cursor")
+    public Mono<ResponseEntity<Object>> getAllBookingByBooker(@RequestHeader("X-Sharer-User-Id") final Long bookerId,
+                                                        @RequestParam(required = false, defaultValue = "ALL") final String state,
+                                                        @RequestParam(required = false) @Pattern(regexp = CURSOR_PATTERN) final String after,
+                                                        @RequestParam(defaultValue = "10") @Positive final int size) {
+        log.debug("/bookings?mode=cursor&state={}&after={}&size={} - GET: getAllBookingByUser({}, {}, {}, {})", state, after, size, bookerId, state, after, size);
+        return bookingClient.getAllBookingByBooker(bookerId, state, after, size);
+    }
+
+    @GetMapping(path = "/owner", params = "mode=cursor")
+    public Mono<ResponseEntity<Object>> getAllBookingByOwner(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                                       @RequestParam(required = false, defaultValue = "ALL") final String state,
+                                                       @RequestParam(required = false) @Pattern(regexp = CURSOR_PATTERN) final String after,
+                                                       @RequestParam(defaultValue = "10") @Positive final int size) {
+        log.debug("/bookings/owner?mode=cursor&state={}&after={}&size={} - GET: getAllBookingByUser({}, {}, {}, {})", state, after, size, ownerId, state, after, size);
+        return bookingClient.getAllBookingByOwner(ownerId, state, after, size);
+    }
 }
@@ -0,0 +1,76 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StreamUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+
+/**
+ * Ответ shareit-server, полностью прочитанный в память: его можно отдавать повторно.
+ */
+public class CachedClientHttpResponse implements ClientHttpResponse {
+    private final int rawStatusCode;
+    private final String statusText;
+    private final HttpHeaders headers;
+    private final byte[] body;
+
+    public CachedClientHttpResponse(final int rawStatusCode, final String statusText,
+                                    final HttpHeaders headers, final byte[] body) {
+        this.rawStatusCode = rawStatusCode;
+        this.statusText = statusText;
+        this.headers = HttpHeaders.readOnlyHttpHeaders(headers);
+        this.body = body;
+    }
+
+    public static CachedClientHttpResponse of(final ClientHttpResponse response) throws IOException {
+        try (response) {
+            HttpHeaders headers = new HttpHeaders();
+            headers.putAll(response.getHeaders());
+
+            return new CachedClientHttpResponse(response.getRawStatusCode(), response.getStatusText(), headers,
+                    StreamUtils.copyToByteArray(response.getBody()));
+        }
+    }
+
+    public int size() {
+        return body.length;
+    }
+
+    @NonNull
+    @Override
+    public HttpStatus getStatusCode() {
+        return HttpStatus.valueOf(rawStatusCode);
+    }
+
+    @Override
+    public int getRawStatusCode() {
+        return rawStatusCode;
+    }
+
+    @NonNull
+    @Override
+    public String getStatusText() {
+        return statusText;
+    }
+
+    @NonNull
+    @Override
+    public HttpHeaders getHeaders() {
+        return headers;
+    }
+
+    @NonNull
+    @Override
+    public InputStream getBody() {
+        return new ByteArrayInputStream(body);
+    }
+
+    @Override
+    public void close() {
+    }
+}
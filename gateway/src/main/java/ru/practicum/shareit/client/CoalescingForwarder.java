@@ -0,0 +1,58 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Одинаковые одновременные GET (путь, параметры, X-Sharer-User-Id) получают ответ одного запроса
+ * к серверу. Любой другой метод после завершения сбрасывает запросы в полёте, и GET после изменения
+ * данных уходит на сервер заново.
+ */
+public class CoalescingForwarder implements ServerForwarder {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    private final ServerForwarder delegate;
+    private final String baseUrl;
+    private final InFlightRequests inFlight;
+
+    public CoalescingForwarder(final ServerForwarder delegate, final String baseUrl, final InFlightRequests inFlight) {
+        this.delegate = delegate;
+        this.baseUrl = baseUrl;
+        this.inFlight = inFlight;
+    }
+
+    public static ServerForwarder.Factory factory(final ServerForwarder.Factory delegate,
+                                                  final InFlightRequests inFlight) {
+        return baseUrl -> new CoalescingForwarder(delegate.create(baseUrl), baseUrl, inFlight);
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(final HttpMethod method, final String path,
+                                                 @Nullable final Map<String, Object> parameters,
+                                                 final HttpEntity<?> request) {
+        if (method != HttpMethod.GET) {
+            return delegate.exchange(method, path, parameters, request)
+                    .doFinally(signal -> inFlight.clear());
+        }
+
+        return inFlight.join(keyOf(path, parameters, request),
+                () -> delegate.exchange(method, path, parameters, request));
+    }
+
+    ServerForwarder delegate() {
+        return delegate;
+    }
+
+    private String keyOf(final String path, @Nullable final Map<String, Object> parameters,
+                         final HttpEntity<?> request) {
+        return baseUrl + path
+                + (parameters == null ? "" : new TreeMap<>(parameters).toString())
+                + "#" + request.getHeaders().getFirst(USER_HEADER);
+    }
+}
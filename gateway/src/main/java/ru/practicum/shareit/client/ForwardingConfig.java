@@ -0,0 +1,99 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.netty.channel.ChannelOption;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.resources.ConnectionProvider;
+
+import java.time.Duration;
+
+/**
+ * Выбор способа пересылки запросов в shareit-server свойством shareit-gateway.forwarding.mode:
+ * blocking (по умолчанию) - RestTemplate на общем пуле Apache HttpClient,
+ * reactive - WebClient на Netty, тысячи запросов в полёте на нескольких потоках event loop.
+ * Кэш ответов (shareit-gateway.cache.*) подключается только к RestTemplate.
+ * В обоих режимах пересылка каждой группы эндпоинтов идёт через {@link ResilientForwarder}, а одинаковые
+ * одновременные GET объединяет {@link CoalescingForwarder} (shareit-gateway.coalescing.enabled).
+ */
+@Configuration
+public class ForwardingConfig {
+    private static final String POOL_NAME = "shareit-server";
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-gateway.coalescing.enabled", havingValue = "true", matchIfMissing = true)
+    public InFlightRequests inFlightRequests() {
+        return new InFlightRequests();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-gateway.forwarding.mode", havingValue = "blocking", matchIfMissing = true)
+    public ServerForwarder.Factory blockingForwarders(final RestTemplateBuilder builder,
+                                                      final CircuitBreakerRegistry circuitBreakers,
+                                                      final BulkheadRegistry bulkheads,
+                                                      final ObjectProvider<InFlightRequests> inFlightRequests) {
+        return decorate(RestTemplateForwarder.factory(builder), circuitBreakers, bulkheads, inFlightRequests);
+    }
+
+    @Bean(destroyMethod = "dispose")
+    @ConditionalOnProperty(name = "shareit-gateway.forwarding.mode", havingValue = "reactive")
+    public ConnectionProvider reactiveConnectionProvider(
+            @Value("${shareit-gateway.http-client.protocol:http1}") final String protocol,
+            @Value("${shareit-gateway.http-client.max-total:200}") final int maxTotal,
+            @Value("${shareit-gateway.http-client.h2c-max-connections:4}") final int h2cMaxConnections,
+            @Value("${shareit-gateway.http-client.max-pending:10000}") final int maxPending,
+            @Value("${shareit-gateway.http-client.pool-timeout:2s}") final Duration poolTimeout,
+            @Value("${shareit-gateway.http-client.idle-timeout:30s}") final Duration idleTimeout) {
+        //  Пул HTTP/2 открывает соединения до предела при любом спросе, а не по исчерпании потоков
+        int maxConnections = "h2c".equals(protocol) ? h2cMaxConnections : maxTotal;
+
+        return ConnectionProvider.builder(POOL_NAME)
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(maxPending)
+                .pendingAcquireTimeout(poolTimeout)
+                .maxIdleTime(idleTimeout)
+                .evictInBackground(idleTimeout)
+                .metrics(true)
+                .build();
+    }
+
+    @Bean
+    @ConditionalOnProperty(name = "shareit-gateway.forwarding.mode", havingValue = "reactive")
+    public ServerForwarder.Factory reactiveForwarders(
+            final WebClient.Builder builder,
+            final ConnectionProvider reactiveConnectionProvider,
+            final CircuitBreakerRegistry circuitBreakers,
+            final BulkheadRegistry bulkheads,
+            final ObjectProvider<InFlightRequests> inFlightRequests,
+            @Value("${shareit-gateway.http-client.connect-timeout:2s}") final Duration connectTimeout,
+            @Value("${shareit-gateway.http-client.read-timeout:30s}") final Duration readTimeout,
+            @Value("${shareit-gateway.http-client.protocol:http1}") final String protocol) {
+        HttpClient httpClient = HttpClient.create(reactiveConnectionProvider)
+                .protocol("h2c".equals(protocol) ? HttpProtocol.H2C : HttpProtocol.HTTP11)
+                .option(ChannelOption.CONNECT_TIMEOUT_MILLIS, (int) connectTimeout.toMillis())
+                .responseTimeout(readTimeout);
+
+        return decorate(
+                WebClientForwarder.factory(builder.clientConnector(new ReactorClientHttpConnector(httpClient)).build()),
+                circuitBreakers, bulkheads, inFlightRequests);
+    }
+
+    private static ServerForwarder.Factory decorate(final ServerForwarder.Factory transport,
+                                                    final CircuitBreakerRegistry circuitBreakers,
+                                                    final BulkheadRegistry bulkheads,
+                                                    final ObjectProvider<InFlightRequests> inFlightRequests) {
+        ServerForwarder.Factory resilient = ResilientForwarder.factory(transport, circuitBreakers, bulkheads);
+        InFlightRequests inFlight = inFlightRequests.getIfAvailable();
+
+        return inFlight == null ? resilient : CoalescingForwarder.factory(resilient, inFlight);
+    }
+}
@@ -0,0 +1,121 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.httpcomponents.PoolingHttpClientConnectionManagerMetricsBinder;
+import io.micrometer.core.instrument.binder.okhttp3.OkHttpConnectionPoolMetrics;
+import okhttp3.ConnectionPool;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.apache.http.client.config.RequestConfig;
+import org.apache.http.impl.client.CloseableHttpClient;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateBuilderConfigurer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.client.ClientHttpRequestFactory;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.OkHttp3ClientHttpRequestFactory;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Один пул соединений к shareit-server на все клиенты шлюза. RestTemplateBuilder, который получают
+ * ItemClient, BookingClient, UserClient и RequestClient, уже настроен на общую фабрику запросов.
+ * Протокол задаётся свойством shareit-gateway.http-client.protocol: http1 (по умолчанию) - Apache HttpClient,
+ * h2c - OkHttp с HTTP/2 без TLS (prior knowledge), запросы мультиплексируются в нескольких соединениях.
+ */
+@Configuration
+public class HttpClientConfig {
+    private static final String POOL_NAME = "shareit-server";
+    private static final String PROTOCOL_PROPERTY = "shareit-gateway.http-client.protocol";
+
+    @Bean
+    public RestTemplateBuilder restTemplateBuilder(final RestTemplateBuilderConfigurer configurer,
+                                                   final ClientHttpRequestFactory requestFactory) {
+        return configurer.configure(new RestTemplateBuilder())
+                .requestFactory(() -> requestFactory);
+    }
+
+    @Configuration
+    @ConditionalOnProperty(name = PROTOCOL_PROPERTY, havingValue = "http1", matchIfMissing = true)
+    static class Http1ClientConfig {
+
+        @Bean(destroyMethod = "close")
+        public PoolingHttpClientConnectionManager connectionManager(
+                @Value("${shareit-gateway.http-client.max-total:200}") final int maxTotal,
+                @Value("${shareit-gateway.http-client.max-per-route:200}") final int maxPerRoute,
+                @Value("${shareit-gateway.http-client.validate-after-inactivity:2s}") final Duration validateAfterInactivity) {
+            PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+            connectionManager.setMaxTotal(maxTotal);
+            connectionManager.setDefaultMaxPerRoute(maxPerRoute);
+            connectionManager.setValidateAfterInactivity((int) validateAfterInactivity.toMillis());
+            return connectionManager;
+        }
+
+        @Bean
+        public MeterBinder connectionManagerMetrics(final PoolingHttpClientConnectionManager connectionManager) {
+            return new PoolingHttpClientConnectionManagerMetricsBinder(connectionManager, POOL_NAME);
+        }
+
+        @Bean
+        public HttpComponentsClientHttpRequestFactory clientHttpRequestFactory(
+                final PoolingHttpClientConnectionManager connectionManager,
+                @Value("${shareit-gateway.http-client.connect-timeout:2s}") final Duration connectTimeout,
+                @Value("${shareit-gateway.http-client.read-timeout:30s}") final Duration readTimeout,
+                @Value("${shareit-gateway.http-client.pool-timeout:2s}") final Duration poolTimeout,
+                @Value("${shareit-gateway.http-client.idle-timeout:30s}") final Duration idleTimeout) {
+            CloseableHttpClient httpClient = HttpClients.custom()
+                    .setConnectionManager(connectionManager)
+                    .setDefaultRequestConfig(RequestConfig.custom()
+                            .setConnectTimeout((int) connectTimeout.toMillis())
+                            .setSocketTimeout((int) readTimeout.toMillis())
+                            .setConnectionRequestTimeout((int) poolTimeout.toMillis())
+                            .build())
+                    .evictExpiredConnections()
+                    .evictIdleConnections(idleTimeout.toMillis(), TimeUnit.MILLISECONDS)
+                    .build();
+
+            return new HttpComponentsClientHttpRequestFactory(httpClient);
+        }
+    }
+
+    //  Число соединений определяет сервер: новое открывается, когда в текущих кончаются потоки HTTP/2
+    @Configuration
+    @ConditionalOnProperty(name = PROTOCOL_PROPERTY, havingValue = "h2c")
+    static class H2cClientConfig {
+
+        @Bean
+        public ConnectionPool okHttpConnectionPool(
+                @Value("${shareit-gateway.http-client.max-idle-connections:5}") final int maxIdleConnections,
+                @Value("${shareit-gateway.http-client.idle-timeout:30s}") final Duration idleTimeout) {
+            return new ConnectionPool(maxIdleConnections, idleTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        }
+
+        @Bean
+        public MeterBinder okHttpConnectionPoolMetrics(final ConnectionPool okHttpConnectionPool) {
+            return new OkHttpConnectionPoolMetrics(okHttpConnectionPool, "okhttp.pool", Tags.of("name", POOL_NAME));
+        }
+
+        @Bean
+        public OkHttp3ClientHttpRequestFactory clientHttpRequestFactory(
+                final ConnectionPool okHttpConnectionPool,
+                @Value("${shareit-gateway.http-client.connect-timeout:2s}") final Duration connectTimeout,
+                @Value("${shareit-gateway.http-client.read-timeout:30s}") final Duration readTimeout) {
+            OkHttpClient httpClient = new OkHttpClient.Builder()
+                    .protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE))
+                    .connectionPool(okHttpConnectionPool)
+                    .connectTimeout(connectTimeout)
+                    .readTimeout(readTimeout)
+                    .build();
+
+            return new OkHttp3ClientHttpRequestFactory(httpClient);
+        }
+    }
+}
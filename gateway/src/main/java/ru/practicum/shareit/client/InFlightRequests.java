@@ -0,0 +1,82 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * Запросы к shareit-server в полёте по ключу. Одинаковые запросы, пришедшие, пока первый не завершился,
+ * подписываются на его ответ и не уходят на сервер (single-flight).
+ */
+@Slf4j
+public class InFlightRequests implements MeterBinder {
+    private final Map<String, Mono<ResponseEntity<byte[]>>> calls = new ConcurrentHashMap<>();
+
+    private final AtomicLong sent = new AtomicLong();
+    private final AtomicLong joined = new AtomicLong();
+
+    /**
+     * Ответ на запрос с ключом key: общий с уже идущим запросом или новый вызов call.
+     */
+    public Mono<ResponseEntity<byte[]>> join(final String key, final Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        return Mono.defer(() -> {
+            AtomicReference<Mono<ResponseEntity<byte[]>>> created = new AtomicReference<>();
+            Mono<ResponseEntity<byte[]>> shared = calls.computeIfAbsent(key, k -> {
+                created.set(newCall(k, call));
+                return created.get();
+            });
+
+            if (created.get() == shared) {
+                sent.incrementAndGet();
+            } else {
+                log.debug("InFlightRequests - joined {}", key);
+                joined.incrementAndGet();
+            }
+
+            return shared;
+        });
+    }
+
+    /**
+     * Запросы, начатые до изменения данных, больше не принимают новых подписчиков.
+     */
+    public void clear() {
+        calls.clear();
+    }
+
+    public int size() {
+        return calls.size();
+    }
+
+    private Mono<ResponseEntity<byte[]>> newCall(final String key, final Supplier<Mono<ResponseEntity<byte[]>>> call) {
+        AtomicReference<Mono<ResponseEntity<byte[]>>> self = new AtomicReference<>();
+        Mono<ResponseEntity<byte[]>> shared = Mono.defer(call)
+                .doFinally(signal -> calls.remove(key, self.get()))
+                .share();
+        self.set(shared);
+
+        return shared;
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("gateway.coalescing.requests", sent, AtomicLong::get)
+                .tag("result", "sent")
+                .register(registry);
+        FunctionCounter.builder("gateway.coalescing.requests", joined, AtomicLong::get)
+                .tag("result", "joined")
+                .register(registry);
+        Gauge.builder("gateway.coalescing.in.flight", this, InFlightRequests::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,86 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.core.MethodParameter;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.AbstractJackson2HttpMessageConverter;
+import org.springframework.lang.NonNull;
+import org.springframework.util.StreamUtils;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.servlet.mvc.method.annotation.RequestBodyAdviceAdapter;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.Optional;
+
+/**
+ * Запоминает исходные байты JSON-тела запроса вместе с DTO, в которое они прочитаны. Если контроллер
+ * передаёт в клиент это же DTO (уже прошедшее @Valid), {@link BaseClient} отправляет на сервер исходные
+ * байты, а не сериализует DTO заново. Отключается свойством shareit-gateway.forwarding.raw-body=false.
+ */
+@ControllerAdvice
+@ConditionalOnProperty(name = "shareit-gateway.forwarding.raw-body", havingValue = "true", matchIfMissing = true)
+public class RawRequestBodyAdvice extends RequestBodyAdviceAdapter {
+    private static final String RAW_BYTES_ATTRIBUTE = RawRequestBodyAdvice.class.getName() + ".bytes";
+    private static final String RAW_BODY_ATTRIBUTE = RawRequestBodyAdvice.class.getName() + ".body";
+
+    /**
+     * Исходные байты тела текущего запроса, если body - DTO, прочитанное из этого тела.
+     */
+    public static Optional<byte[]> rawBodyOf(final Object body) {
+        RequestAttributes attributes = RequestContextHolder.getRequestAttributes();
+
+        if (attributes == null || attributes.getAttribute(RAW_BODY_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != body)
+            return Optional.empty();
+
+        return Optional.ofNullable((byte[]) attributes.getAttribute(RAW_BYTES_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST));
+    }
+
+    @Override
+    public boolean supports(@NonNull final MethodParameter methodParameter, @NonNull final Type targetType,
+                            @NonNull final Class<? extends HttpMessageConverter<?>> converterType) {
+        return AbstractJackson2HttpMessageConverter.class.isAssignableFrom(converterType);
+    }
+
+    @NonNull
+    @Override
+    public HttpInputMessage beforeBodyRead(@NonNull final HttpInputMessage inputMessage,
+                                           @NonNull final MethodParameter parameter, @NonNull final Type targetType,
+                                           @NonNull final Class<? extends HttpMessageConverter<?>> converterType)
+            throws IOException {
+        final byte[] bytes = StreamUtils.copyToByteArray(inputMessage.getBody());
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(RAW_BYTES_ATTRIBUTE, bytes, RequestAttributes.SCOPE_REQUEST);
+
+        return new HttpInputMessage() {
+            @NonNull
+            @Override
+            public InputStream getBody() {
+                return new ByteArrayInputStream(bytes);
+            }
+
+            @NonNull
+            @Override
+            public HttpHeaders getHeaders() {
+                return inputMessage.getHeaders();
+            }
+        };
+    }
+
+    @NonNull
+    @Override
+    public Object afterBodyRead(@NonNull final Object body, @NonNull final HttpInputMessage inputMessage,
+                                @NonNull final MethodParameter parameter, @NonNull final Type targetType,
+                                @NonNull final Class<? extends HttpMessageConverter<?>> converterType) {
+        RequestContextHolder.currentRequestAttributes()
+                .setAttribute(RAW_BODY_ATTRIBUTE, body, RequestAttributes.SCOPE_REQUEST);
+
+        return body;
+    }
+}
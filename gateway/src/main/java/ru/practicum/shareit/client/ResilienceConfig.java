@@ -0,0 +1,69 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.micrometer.tagged.TaggedBulkheadMetrics;
+import io.github.resilience4j.micrometer.tagged.TaggedCircuitBreakerMetrics;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+/**
+ * Настройки circuit breaker и bulkhead групп эндпоинтов shareit-server ({@link ResilientForwarder}).
+ * Предел bulkhead зависит от режима пересылки (shareit-gateway.forwarding.mode): в blocking каждый запрос
+ * в полёте держит поток Tomcat, в reactive - только место в очереди пула соединений Netty.
+ * Состояние публикуется в метриках resilience4j.circuitbreaker.* и resilience4j.bulkhead.*
+ * с тегом name = группа.
+ */
+@Configuration
+public class ResilienceConfig {
+
+    @Bean
+    public CircuitBreakerRegistry circuitBreakerRegistry(
+            @Value("${shareit-gateway.resilience.failure-rate-threshold:50}") final float failureRateThreshold,
+            @Value("${shareit-gateway.resilience.slow-call-duration:5s}") final Duration slowCallDuration,
+            @Value("${shareit-gateway.resilience.slow-call-rate-threshold:50}") final float slowCallRateThreshold,
+            @Value("${shareit-gateway.resilience.sliding-window-size:50}") final int slidingWindowSize,
+            @Value("${shareit-gateway.resilience.minimum-number-of-calls:20}") final int minimumNumberOfCalls,
+            @Value("${shareit-gateway.resilience.open-state-wait:10s}") final Duration openStateWait,
+            @Value("${shareit-gateway.resilience.half-open-calls:5}") final int halfOpenCalls) {
+        return CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .failureRateThreshold(failureRateThreshold)
+                .slowCallDurationThreshold(slowCallDuration)
+                .slowCallRateThreshold(slowCallRateThreshold)
+                .slidingWindowSize(slidingWindowSize)
+                .minimumNumberOfCalls(minimumNumberOfCalls)
+                .waitDurationInOpenState(openStateWait)
+                .permittedNumberOfCallsInHalfOpenState(halfOpenCalls)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+    }
+
+    //  Без ожидания свободного места: переполненная группа отказывает сразу, не блокируя поток
+    @Bean
+    public BulkheadRegistry bulkheadRegistry(
+            @Value("${shareit-gateway.forwarding.mode:blocking}") final String mode,
+            @Value("${shareit-gateway.resilience.bulkhead.blocking.max-concurrent-calls:50}") final int blockingMaxCalls,
+            @Value("${shareit-gateway.resilience.bulkhead.reactive.max-concurrent-calls:2500}") final int reactiveMaxCalls) {
+        return BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls("reactive".equals(mode) ? reactiveMaxCalls : blockingMaxCalls)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+    }
+
+    @Bean
+    public MeterBinder circuitBreakerMetrics(final CircuitBreakerRegistry circuitBreakerRegistry) {
+        return TaggedCircuitBreakerMetrics.ofCircuitBreakerRegistry(circuitBreakerRegistry);
+    }
+
+    @Bean
+    public MeterBinder bulkheadMetrics(final BulkheadRegistry bulkheadRegistry) {
+        return TaggedBulkheadMetrics.ofBulkheadRegistry(bulkheadRegistry);
+    }
+}
@@ -0,0 +1,77 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.Bulkhead;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import io.github.resilience4j.reactor.bulkhead.operator.BulkheadOperator;
+import io.github.resilience4j.reactor.circuitbreaker.operator.CircuitBreakerOperator;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.util.Map;
+
+/**
+ * Пересылка в группу эндпоинтов сервера (bookings, items, users, requests) через свои bulkhead и
+ * circuit breaker. Bulkhead ограничивает число запросов группы в полёте, чтобы медленная группа не
+ * заняла все потоки шлюза; circuit breaker при ошибках и медленных ответах сразу отказывает,
+ * а после паузы пропускает пробные запросы.
+ */
+public class ResilientForwarder implements ServerForwarder {
+    private final ServerForwarder delegate;
+    private final CircuitBreaker circuitBreaker;
+    private final Bulkhead bulkhead;
+
+    public ResilientForwarder(final ServerForwarder delegate, final CircuitBreaker circuitBreaker,
+                              final Bulkhead bulkhead) {
+        this.delegate = delegate;
+        this.circuitBreaker = circuitBreaker;
+        this.bulkhead = bulkhead;
+    }
+
+    public static ServerForwarder.Factory factory(final ServerForwarder.Factory delegate,
+                                                  final CircuitBreakerRegistry circuitBreakers,
+                                                  final BulkheadRegistry bulkheads) {
+        return baseUrl -> {
+            String group = groupOf(baseUrl);
+            return new ResilientForwarder(delegate.create(baseUrl),
+                    circuitBreakers.circuitBreaker(group), bulkheads.bulkhead(group));
+        };
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(final HttpMethod method, final String path,
+                                                 @Nullable final Map<String, Object> parameters,
+                                                 final HttpEntity<?> request) {
+        //  5xx сервера - отказ для circuit breaker, но клиенту уходит исходный ответ
+        return delegate.exchange(method, path, parameters, request)
+                .flatMap(response -> response.getStatusCode().is5xxServerError()
+                        ? Mono.<ResponseEntity<byte[]>>error(new ServerErrorResponse(response))
+                        : Mono.just(response))
+                .transformDeferred(BulkheadOperator.of(bulkhead))
+                .transformDeferred(CircuitBreakerOperator.of(circuitBreaker))
+                .onErrorResume(ServerErrorResponse.class, error -> Mono.just(error.response));
+    }
+
+    ServerForwarder delegate() {
+        return delegate;
+    }
+
+    private static String groupOf(final String baseUrl) {
+        String path = URI.create(baseUrl).getPath();
+        return path.substring(path.lastIndexOf('/') + 1);
+    }
+
+    static class ServerErrorResponse extends RuntimeException {
+        private final transient ResponseEntity<byte[]> response;
+
+        private ServerErrorResponse(final ResponseEntity<byte[]> response) {
+            super("shareit-server responded " + response.getStatusCodeValue(), null, false, false);
+            this.response = response;
+        }
+    }
+}
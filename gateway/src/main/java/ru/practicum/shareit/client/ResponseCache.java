@@ -0,0 +1,137 @@
+package ru.practicum.shareit.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * LRU-кэш ответов shareit-server, ограниченный числом записей, суммарным размером тел и временем жизни.
+ * Ключ начинается с пути запроса, поэтому записи ресурса сбрасываются по префиксу пути.
+ */
+@Slf4j
+public class ResponseCache implements MeterBinder {
+    private final int maxEntries;
+    private final long maxBytes;
+    private final Duration ttl;
+    private final Clock clock;
+
+    private final LinkedHashMap<String, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    //  Растёт при каждом сбросе: ответ, запрошенный до сброса, в кэш уже не попадёт
+    private long generation;
+
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public ResponseCache(final int maxEntries, final long maxBytes, final Duration ttl) {
+        this(maxEntries, maxBytes, ttl, Clock.systemUTC());
+    }
+
+    public ResponseCache(final int maxEntries, final long maxBytes, final Duration ttl, final Clock clock) {
+        this.maxEntries = maxEntries;
+        this.maxBytes = maxBytes;
+        this.ttl = ttl;
+        this.clock = clock;
+    }
+
+    public synchronized long generation() {
+        return generation;
+    }
+
+    public synchronized Optional<CachedClientHttpResponse> get(final String key) {
+        Entry entry = entries.get(key);
+
+        if (entry == null || entry.expiresAt.isBefore(clock.instant())) {
+            if (entry != null)
+                remove(key);
+
+            misses.incrementAndGet();
+            return Optional.empty();
+        }
+
+        hits.incrementAndGet();
+        return Optional.of(entry.response);
+    }
+
+    public synchronized void put(final String key, final CachedClientHttpResponse response, final long sinceGeneration) {
+        if (sinceGeneration != generation || response.size() > maxBytes)
+            return;
+
+        remove(key);
+        entries.put(key, new Entry(response, clock.instant().plus(ttl)));
+        bytes += response.size();
+
+        Iterator<Map.Entry<String, Entry>> eldest = entries.entrySet().iterator();
+        while (entries.size() > maxEntries || bytes > maxBytes) {
+            bytes -= eldest.next().getValue().response.size();
+            eldest.remove();
+        }
+    }
+
+    public synchronized void invalidate(final Collection<String> pathPrefixes) {
+        log.debug("ResponseCache - invalidate({})", pathPrefixes);
+        generation++;
+
+        Iterator<Map.Entry<String, Entry>> iterator = entries.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<String, Entry> next = iterator.next();
+
+            if (pathPrefixes.stream().anyMatch(next.getKey()::startsWith)) {
+                bytes -= next.getValue().response.size();
+                iterator.remove();
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public synchronized long bytes() {
+        return bytes;
+    }
+
+    private void remove(final String key) {
+        Entry removed = entries.remove(key);
+
+        if (removed != null)
+            bytes -= removed.response.size();
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        FunctionCounter.builder("gateway.response.cache.gets", hits, AtomicLong::get)
+                .tag("result", "hit")
+                .register(registry);
+        FunctionCounter.builder("gateway.response.cache.gets", misses, AtomicLong::get)
+                .tag("result", "miss")
+                .register(registry);
+        Gauge.builder("gateway.response.cache.size", this, ResponseCache::size)
+                .register(registry);
+        Gauge.builder("gateway.response.cache.bytes", this, ResponseCache::bytes)
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private static class Entry {
+        private final CachedClientHttpResponse response;
+        private final Instant expiresAt;
+
+        private Entry(final CachedClientHttpResponse response, final Instant expiresAt) {
+            this.response = response;
+            this.expiresAt = expiresAt;
+        }
+    }
+}
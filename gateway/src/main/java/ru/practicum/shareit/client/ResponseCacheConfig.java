@@ -0,0 +1,31 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.client.RestTemplateCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.unit.DataSize;
+
+import java.time.Duration;
+
+/**
+ * Включается свойством shareit-gateway.cache.enabled=true и подключает кэш ответов ко всем клиентам,
+ * собранным через RestTemplateBuilder.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.cache.enabled", havingValue = "true")
+public class ResponseCacheConfig {
+
+    @Bean
+    public ResponseCache responseCache(@Value("${shareit-gateway.cache.max-entries:1000}") final int maxEntries,
+                                       @Value("${shareit-gateway.cache.max-bytes:16MB}") final DataSize maxBytes,
+                                       @Value("${shareit-gateway.cache.ttl:5s}") final Duration ttl) {
+        return new ResponseCache(maxEntries, maxBytes.toBytes(), ttl);
+    }
+
+    @Bean
+    public RestTemplateCustomizer responseCacheCustomizer(final ResponseCache responseCache) {
+        return restTemplate -> restTemplate.getInterceptors().add(new ResponseCacheInterceptor(responseCache));
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.client.ClientHttpRequestExecution;
+import org.springframework.http.client.ClientHttpRequestInterceptor;
+import org.springframework.http.client.ClientHttpResponse;
+import org.springframework.lang.NonNull;
+
+import java.io.IOException;
+import java.net.URI;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Отдаёт повторные GET из {@link ResponseCache}. Ключ - путь, параметры и X-Sharer-User-Id.
+ * Любой не-GET запрос сбрасывает записи своего ресурса и ресурсов, ответы которых от него зависят.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class ResponseCacheInterceptor implements ClientHttpRequestInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+
+    //  Бронирование меняет lastBooking/nextBooking вещи, вещь - ответы на запросы,
+    //  удаление пользователя каскадно удаляет его вещи, бронирования и запросы
+    private static final Map<String, List<String>> DEPENDENT_RESOURCES = Map.of(
+            "/bookings", List.of("/bookings", "/items"),
+            "/items", List.of("/items", "/requests"),
+            "/users", List.of("/users", "/items", "/bookings", "/requests"));
+
+    private final ResponseCache cache;
+
+    @NonNull
+    @Override
+    public ClientHttpResponse intercept(@NonNull final HttpRequest request, @NonNull final byte[] body,
+                                        @NonNull final ClientHttpRequestExecution execution) throws IOException {
+        if (request.getMethod() != HttpMethod.GET) {
+            ClientHttpResponse response = execution.execute(request, body);
+            cache.invalidate(invalidatedPrefixes(request.getURI()));
+            return response;
+        }
+
+        final String key = keyOf(request);
+        final long generation = cache.generation();
+
+        Optional<CachedClientHttpResponse> cached = cache.get(key);
+        if (cached.isPresent()) {
+            log.debug("ResponseCacheInterceptor - hit {}", key);
+            return cached.get();
+        }
+
+        ClientHttpResponse response = execution.execute(request, body);
+        if (response.getRawStatusCode() != HttpStatus.OK.value())
+            return response;
+
+        CachedClientHttpResponse buffered = CachedClientHttpResponse.of(response);
+        cache.put(key, buffered, generation);
+
+        return buffered;
+    }
+
+    private static String keyOf(final HttpRequest request) {
+        URI uri = request.getURI();
+        String query = uri.getRawQuery();
+
+        return uri.getRawPath() + (query == null ? "" : "?" + query) + "#" + request.getHeaders().getFirst(USER_HEADER);
+    }
+
+    private static List<String> invalidatedPrefixes(final URI uri) {
+        String path = uri.getRawPath();
+        int secondSlash = path.indexOf('/', 1);
+        String resource = secondSlash < 0 ? path : path.substring(0, secondSlash);
+
+        return DEPENDENT_RESOURCES.getOrDefault(resource, List.of(resource));
+    }
+}
@@ -0,0 +1,52 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.client.HttpStatusCodeException;
+import org.springframework.web.client.RestTemplate;
+import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Блокирующая пересылка: запрос выполняется при подписке на Mono, поток запроса шлюза ждёт ответа сервера.
+ */
+public class RestTemplateForwarder implements ServerForwarder {
+    private final RestTemplate rest;
+
+    public RestTemplateForwarder(final RestTemplate rest) {
+        this.rest = rest;
+    }
+
+    public static ServerForwarder.Factory factory(final RestTemplateBuilder builder) {
+        return baseUrl -> new RestTemplateForwarder(
+                builder.uriTemplateHandler(new DefaultUriBuilderFactory(baseUrl)).build());
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(final HttpMethod method, final String path,
+                                                 @Nullable final Map<String, Object> parameters,
+                                                 final HttpEntity<?> request) {
+        return Mono.fromCallable(() -> exchangeBlocking(method, path, parameters, request));
+    }
+
+    private ResponseEntity<byte[]> exchangeBlocking(final HttpMethod method, final String path,
+                                                    @Nullable final Map<String, Object> parameters,
+                                                    final HttpEntity<?> request) {
+        try {
+            if (parameters != null) {
+                return rest.exchange(path, method, request, byte[].class, parameters);
+            } else {
+                return rest.exchange(path, method, request, byte[].class);
+            }
+        } catch (HttpStatusCodeException e) {
+            return ResponseEntity.status(e.getRawStatusCode())
+                    .headers(e.getResponseHeaders())
+                    .body(e.getResponseBodyAsByteArray());
+        }
+    }
+}
@@ -0,0 +1,27 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Пересылает запрос шлюза в shareit-server. Путь задаётся относительно базового URL клиента,
+ * ответ сервера с любым статусом возвращается как есть, без исключений. Тело ответа - сырые байты.
+ */
+public interface ServerForwarder {
+
+    Mono<ResponseEntity<byte[]>> exchange(HttpMethod method, String path, @Nullable Map<String, Object> parameters,
+                                          HttpEntity<?> request);
+
+    /**
+     * Создаёт пересылку для клиента с заданным базовым URL (адрес сервера и префикс API).
+     */
+    @FunctionalInterface
+    interface Factory {
+        ServerForwarder create(String baseUrl);
+    }
+}
@@ -0,0 +1,39 @@
+package ru.practicum.shareit.client;
+
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import org.springframework.lang.Nullable;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.util.Map;
+
+/**
+ * Неблокирующая пересылка через WebClient: запрос ждёт ответа сервера на event loop Netty,
+ * не занимая поток сервлета.
+ */
+public class WebClientForwarder implements ServerForwarder {
+    private final WebClient web;
+
+    public WebClientForwarder(final WebClient web) {
+        this.web = web;
+    }
+
+    public static ServerForwarder.Factory factory(final WebClient web) {
+        return baseUrl -> new WebClientForwarder(web.mutate().baseUrl(baseUrl).build());
+    }
+
+    @Override
+    public Mono<ResponseEntity<byte[]>> exchange(final HttpMethod method, final String path,
+                                                 @Nullable final Map<String, Object> parameters,
+                                                 final HttpEntity<?> request) {
+        WebClient.RequestBodySpec spec = web.method(method)
+                .uri(path, parameters != null ? parameters : Map.of())
+                .headers(headers -> headers.addAll(request.getHeaders()));
+
+        Object body = request.getBody();
+        return (body != null ? spec.bodyValue(body) : spec)
+                .exchangeToMono(response -> response.toEntity(byte[].class));
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.common.batch;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.common.error.ErrorResponse;
+
+import javax.validation.ConstraintViolation;
+import javax.validation.Validator;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Пакет элементов, каждый из которых проверен валидатором отдельно. На сервер уходят только прошедшие
+ * проверку элементы, а его ответ объединяется с отклонёнными шлюзом: индексы в ответе - позиции элементов
+ * в исходном теле запроса. Если отклонённых нет, на сервер уходит исходный список и его ответ не разбирается.
+ */
+@Slf4j
+public final class BatchRequest<T> {
+    public static final int MAX_SIZE = 1000;
+
+    private static final ObjectReader RESULTS_READER = new ObjectMapper()
+            .readerFor(new TypeReference<List<BatchResultDto>>() {
+            });
+
+    private final List<T> valid;
+    private final List<Integer> validIndices;
+    private final List<BatchResultDto> rejected;
+
+    private BatchRequest(final List<T> valid, final List<Integer> validIndices, final List<BatchResultDto> rejected) {
+        this.valid = valid;
+        this.validIndices = validIndices;
+        this.rejected = rejected;
+    }
+
+    public static <T> BatchRequest<T> validate(final List<T> elements, final Validator validator) {
+        final List<T> valid = new ArrayList<>(elements.size());
+        final List<Integer> validIndices = new ArrayList<>(elements.size());
+        final List<BatchResultDto> rejected = new ArrayList<>();
+
+        for (int i = 0; i < elements.size(); i++) {
+            final T element = elements.get(i);
+            final String violations = element == null ? "элемент пакета не может быть null" : violations(validator.validate(element));
+
+            if (violations.isEmpty()) {
+                valid.add(element);
+                validIndices.add(i);
+            } else {
+                rejected.add(BatchResultDto.builder()
+                        .index(i)
+                        .status(HttpStatus.BAD_REQUEST.value())
+                        .error(new ErrorResponse("Ошибка валидации элемента пакета",
+                                "Поле/поля или значение поля/полей не соответствуют указанным ограничениям",
+                                violations))
+                        .build());
+            }
+        }
+
+        log.debug("BatchRequest - validate({}): отклонено {}", elements.size(), rejected.size());
+
+        //  Тот же экземпляр списка - BaseClient отправит исходные байты тела запроса
+        return new BatchRequest<>(rejected.isEmpty() ? elements : valid, validIndices, rejected);
+    }
+
+    private static <T> String violations(final Set<ConstraintViolation<T>> violations) {
+        return violations.stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.joining("; "));
+    }
+
+    /**
+     * Элементы, которые нужно отправить на сервер.
+     */
+    public List<T> valid() {
+        return valid;
+    }
+
+    /**
+     * Ответ на пакет, в котором не осталось элементов для сервера.
+     */
+    public ResponseEntity<Object> rejectedResponse() {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(rejected);
+    }
+
+    /**
+     * Ответ сервера на valid(), дополненный отклонёнными шлюзом элементами. Ошибка всего пакета
+     * (например, неизвестный пользователь) возвращается как есть.
+     */
+    public ResponseEntity<Object> merge(final ResponseEntity<Object> response) {
+        if (rejected.isEmpty() || !response.getStatusCode().is2xxSuccessful() || !(response.getBody() instanceof byte[]))
+            return response;
+
+        final List<BatchResultDto> results;
+        try {
+            results = RESULTS_READER.readValue((byte[]) response.getBody());
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+
+        final List<BatchResultDto> merged = new ArrayList<>(results.size() + rejected.size());
+        for (BatchResultDto result : results) {
+            merged.add(result.toBuilder().index(validIndices.get(result.getIndex())).build());
+        }
+        merged.addAll(rejected);
+        merged.sort(Comparator.comparingInt(BatchResultDto::getIndex));
+
+        return ResponseEntity.status(response.getStatusCode())
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(merged);
+    }
+}
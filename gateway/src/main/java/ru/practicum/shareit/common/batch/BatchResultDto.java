@@ -0,0 +1,23 @@
+package ru.practicum.shareit.common.batch;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Результат одного элемента пакетного запроса: index - позиция элемента в теле запроса,
+ * status - HTTP-статус, который получил бы одиночный запрос, body или error - его ответ.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDto {
+    private int index;
+    private int status;
+    private Object body;
+    private Object error;
+}
@@ -1,13 +1,18 @@
 package ru.practicum.shareit.common.handler;
 
 
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.booking.exception.UnsupportedStateException;
 import ru.practicum.shareit.common.error.ErrorResponse;
+import ru.practicum.shareit.common.ratelimit.RateLimitExceededException;
 
 @RestControllerAdvice(basePackages = "ru.practicum.shareit")
 @Slf4j
@@ -24,4 +29,27 @@ public class CommonControllerAdvice {
                 exception.getMessage());
     }
 
-}
\ No newline at end of file
+    @ExceptionHandler({CallNotPermittedException.class, BulkheadFullException.class})
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    public ErrorResponse handleServerUnavailableException(final RuntimeException exception) {
+        log.debug(className + "- handleServerUnavailableException");
+
+        return new ErrorResponse("Сервер временно недоступен",
+                "Повторите запрос позже",
+                exception.getMessage());
+    }
+
+    @ExceptionHandler(RateLimitExceededException.class)
+    public ResponseEntity<ErrorResponse> handleRateLimitExceededException(final RateLimitExceededException exception) {
+        log.debug(className + "- handleRateLimitExceededException");
+
+        //  Retry-After - в целых секундах, не меньше одной
+        long retryAfterSeconds = Math.max(1, (exception.getRetryAfter().toMillis() + 999) / 1000);
+
+        return ResponseEntity.status(HttpStatus.TOO_MANY_REQUESTS)
+                .header(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds))
+                .body(new ErrorResponse("Слишком много запросов",
+                        "Повторите запрос через " + retryAfterSeconds + " с",
+                        exception.getMessage()));
+    }
+}
@@ -0,0 +1,15 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import lombok.Getter;
+import lombok.RequiredArgsConstructor;
+
+/**
+ * Бюджет запросов одного пользователя к группе эндпоинтов: запас (capacity) и скорость пополнения.
+ */
+@Getter
+@RequiredArgsConstructor
+public class RateLimitBudget {
+    private final String name;
+    private final long capacity;
+    private final double tokensPerSecond;
+}
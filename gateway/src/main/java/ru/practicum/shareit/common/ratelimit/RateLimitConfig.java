@@ -0,0 +1,64 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.lang.NonNull;
+import org.springframework.web.servlet.config.annotation.InterceptorRegistry;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Ограничение частоты запросов на пользователя. Отдельные бюджеты у поиска вещей и бронирований владельца -
+ * эти запросы идут в базу напрямую, и у пакетных POST /items/batch и /bookings/batch - один пакет несёт
+ * до {@link ru.practicum.shareit.common.batch.BatchRequest#MAX_SIZE} элементов; остальное расходует общий бюджет.
+ * Выключается свойством shareit-gateway.rate-limit.enabled=false.
+ */
+@Configuration
+@ConditionalOnProperty(name = "shareit-gateway.rate-limit.enabled", havingValue = "true", matchIfMissing = true)
+public class RateLimitConfig implements WebMvcConfigurer {
+    private final RateLimitBudget defaultBudget;
+    private final RateLimitBudget itemSearchBudget;
+    private final RateLimitBudget ownerBookingsBudget;
+    private final RateLimitBudget batchBudget;
+    private final RateLimiter rateLimiter;
+
+    public RateLimitConfig(
+            @Value("${shareit-gateway.rate-limit.max-buckets:100000}") final int maxBuckets,
+            @Value("${shareit-gateway.rate-limit.default.capacity:100}") final long defaultCapacity,
+            @Value("${shareit-gateway.rate-limit.default.tokens-per-second:50}") final double defaultRate,
+            @Value("${shareit-gateway.rate-limit.item-search.capacity:20}") final long itemSearchCapacity,
+            @Value("${shareit-gateway.rate-limit.item-search.tokens-per-second:5}") final double itemSearchRate,
+            @Value("${shareit-gateway.rate-limit.owner-bookings.capacity:20}") final long ownerBookingsCapacity,
+            @Value("${shareit-gateway.rate-limit.owner-bookings.tokens-per-second:5}") final double ownerBookingsRate,
+            @Value("${shareit-gateway.rate-limit.batch.capacity:2}") final long batchCapacity,
+            @Value("${shareit-gateway.rate-limit.batch.tokens-per-second:0.1}") final double batchRate) {
+        this.defaultBudget = new RateLimitBudget("default", defaultCapacity, defaultRate);
+        this.itemSearchBudget = new RateLimitBudget("item-search", itemSearchCapacity, itemSearchRate);
+        this.ownerBookingsBudget = new RateLimitBudget("owner-bookings", ownerBookingsCapacity, ownerBookingsRate);
+        this.batchBudget = new RateLimitBudget("batch", batchCapacity, batchRate);
+
+        this.rateLimiter = new RateLimiter(maxBuckets);
+        this.rateLimiter.register(List.of(defaultBudget, itemSearchBudget, ownerBookingsBudget, batchBudget));
+    }
+
+    @Bean
+    public RateLimiter rateLimiter() {
+        return rateLimiter;
+    }
+
+    @Override
+    public void addInterceptors(@NonNull final InterceptorRegistry registry) {
+        Map<String, RateLimitBudget> endpointBudgets = new LinkedHashMap<>();
+        endpointBudgets.put("GET /items/search", itemSearchBudget);
+        endpointBudgets.put("GET /bookings/owner", ownerBookingsBudget);
+        endpointBudgets.put("POST /items/batch", batchBudget);
+        endpointBudgets.put("POST /bookings/batch", batchBudget);
+
+        registry.addInterceptor(new RateLimitInterceptor(rateLimiter, endpointBudgets, defaultBudget));
+    }
+}
@@ -0,0 +1,59 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.lang.NonNull;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.web.servlet.HandlerInterceptor;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.time.Duration;
+import java.util.Map;
+
+/**
+ * Проверяет бюджет пользователя (X-Sharer-User-Id) до вызова контроллера. Бюджет выбирается по методу
+ * и пути запроса, остальные запросы расходуют общий бюджет.
+ */
+@Slf4j
+@RequiredArgsConstructor
+public class RateLimitInterceptor implements HandlerInterceptor {
+    private static final String USER_HEADER = "X-Sharer-User-Id";
+    private static final String TOO_MANY_REQUESTS = "Превышен лимит запросов '%s' для пользователя %s";
+    private static final AntPathMatcher PATH_MATCHER = new AntPathMatcher();
+
+    private final RateLimiter rateLimiter;
+    //  Ключ - "METHOD /path/pattern"
+    private final Map<String, RateLimitBudget> endpointBudgets;
+    private final RateLimitBudget defaultBudget;
+
+    @Override
+    public boolean preHandle(@NonNull final HttpServletRequest request, @NonNull final HttpServletResponse response,
+                             @NonNull final Object handler) {
+        String userId = request.getHeader(USER_HEADER);
+        if (userId == null)
+            return true;
+
+        RateLimitBudget budget = budgetOf(request.getMethod(), request.getRequestURI());
+        Duration retryAfter = rateLimiter.tryAcquire(budget, userId);
+
+        if (!retryAfter.isZero()) {
+            String message = String.format(TOO_MANY_REQUESTS, budget.getName(), userId);
+            log.warn(message);
+            throw new RateLimitExceededException(message, retryAfter);
+        }
+
+        return true;
+    }
+
+    private RateLimitBudget budgetOf(final String method, final String path) {
+        for (Map.Entry<String, RateLimitBudget> endpoint : endpointBudgets.entrySet()) {
+            String[] methodAndPattern = endpoint.getKey().split(" ", 2);
+
+            if (methodAndPattern[0].equals(method) && PATH_MATCHER.match(methodAndPattern[1], path))
+                return endpoint.getValue();
+        }
+
+        return defaultBudget;
+    }
+}
@@ -0,0 +1,80 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.LongSupplier;
+
+/**
+ * Token bucket на пару (бюджет, X-Sharer-User-Id). Корзины лежат в ConcurrentHashMap; когда их становится
+ * больше maxBuckets, полные (давно не использованные) корзины удаляются - новая корзина тоже создаётся полной.
+ * Очистка идёт не чаще раза в секунду, чтобы при переполнении не обходить карту на каждом запросе.
+ */
+public class RateLimiter implements MeterBinder {
+    private static final long CLEANUP_INTERVAL_NANOS = 1_000_000_000L;
+
+    private final int maxBuckets;
+    private final LongSupplier nanoClock;
+
+    private final Map<String, TokenBucket> buckets = new ConcurrentHashMap<>();
+    private final Map<String, AtomicLong> rejected = new ConcurrentHashMap<>();
+    private final AtomicLong lastCleanup;
+
+    public RateLimiter(final int maxBuckets) {
+        this(maxBuckets, System::nanoTime);
+    }
+
+    public RateLimiter(final int maxBuckets, final LongSupplier nanoClock) {
+        this.maxBuckets = maxBuckets;
+        this.nanoClock = nanoClock;
+        this.lastCleanup = new AtomicLong(nanoClock.getAsLong() - CLEANUP_INTERVAL_NANOS);
+    }
+
+    /**
+     * Пустой Duration, если запрос разрешён, иначе - через сколько появится следующий токен.
+     */
+    public Duration tryAcquire(final RateLimitBudget budget, final String userId) {
+        final long now = nanoClock.getAsLong();
+
+        long cleanedAt = lastCleanup.get();
+        if (buckets.size() >= maxBuckets && now - cleanedAt >= CLEANUP_INTERVAL_NANOS
+                && lastCleanup.compareAndSet(cleanedAt, now))
+            buckets.values().removeIf(bucket -> bucket.isFull(now));
+
+        long waitNanos = buckets.computeIfAbsent(budget.getName() + "#" + userId,
+                        key -> new TokenBucket(budget.getCapacity(), budget.getTokensPerSecond(), now))
+                .tryConsume(now);
+
+        if (waitNanos > 0)
+            rejected.computeIfAbsent(budget.getName(), name -> new AtomicLong()).incrementAndGet();
+
+        return Duration.ofNanos(waitNanos);
+    }
+
+    public int size() {
+        return buckets.size();
+    }
+
+    /**
+     * Регистрирует счётчики отказов заранее, чтобы метрика была видна до первого отказа.
+     */
+    public void register(final List<RateLimitBudget> budgets) {
+        budgets.forEach(budget -> rejected.computeIfAbsent(budget.getName(), name -> new AtomicLong()));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        rejected.forEach((budget, counter) -> FunctionCounter.builder("gateway.rate.limit.rejected", counter, AtomicLong::get)
+                .tag("budget", budget)
+                .register(registry));
+        Gauge.builder("gateway.rate.limit.buckets", this, RateLimiter::size)
+                .register(registry);
+    }
+}
@@ -0,0 +1,55 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Token bucket без блокировок: состояние (токены, время пополнения) меняется одним CAS.
+ */
+class TokenBucket {
+    private static final long NANOS_PER_SECOND = 1_000_000_000L;
+
+    private final double capacity;
+    private final double tokensPerNano;
+    private final AtomicReference<State> state;
+
+    TokenBucket(final long capacity, final double tokensPerSecond, final long nowNanos) {
+        this.capacity = capacity;
+        this.tokensPerNano = tokensPerSecond / NANOS_PER_SECOND;
+        this.state = new AtomicReference<>(new State(capacity, nowNanos));
+    }
+
+    /**
+     * Забирает токен. Возвращает 0, если токен был, иначе - сколько наносекунд ждать следующего.
+     */
+    long tryConsume(final long nowNanos) {
+        while (true) {
+            State current = state.get();
+            double tokens = tokensAt(current, nowNanos);
+
+            if (tokens < 1)
+                return (long) Math.ceil((1 - tokens) / tokensPerNano);
+
+            if (state.compareAndSet(current, new State(tokens - 1, Math.max(nowNanos, current.refilledAt))))
+                return 0;
+        }
+    }
+
+    boolean isFull(final long nowNanos) {
+        return tokensAt(state.get(), nowNanos) >= capacity;
+    }
+
+    private double tokensAt(final State current, final long nowNanos) {
+        long elapsed = Math.max(0, nowNanos - current.refilledAt);
+        return Math.min(capacity, current.tokens + elapsed * tokensPerNano);
+    }
+
+    private static class State {
+        private final double tokens;
+        private final long refilledAt;
+
+        private State(final double tokens, final long refilledAt) {
+            this.tokens = tokens;
+            this.refilledAt = refilledAt;
+        }
+    }
+}
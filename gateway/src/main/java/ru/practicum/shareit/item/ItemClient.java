@@ -3,15 +3,16 @@ package ru.practicum.shareit.item;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
-import org.springframework.boot.web.client.RestTemplateBuilder;
 import org.springframework.http.ResponseEntity;
-import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
 import org.springframework.stereotype.Service;
-import org.springframework.web.util.DefaultUriBuilderFactory;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.client.BaseClient;
+import ru.practicum.shareit.client.ServerForwarder;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
+import ru.practicum.shareit.common.batch.BatchRequest;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
+import java.time.LocalDateTime;
 import java.util.Map;
 
 import static ru.practicum.shareit.common.ClientPath.BASE_SLASH_PATH;
@@ -23,43 +24,59 @@ public class ItemClient extends BaseClient {
     private static final String API_PREFIX = "/items";
 
     @Autowired
-    public ItemClient(@Value("${shareit-server.url}") String serverUrl, RestTemplateBuilder builder) {
-        super(
-                builder
-                        .uriTemplateHandler(new DefaultUriBuilderFactory(serverUrl + API_PREFIX))
-                        .requestFactory(HttpComponentsClientHttpRequestFactory::new)
-                        .build()
-        );
+    public ItemClient(@Value("${shareit-server.url}") String serverUrl, ServerForwarder.Factory forwarders) {
+        super(forwarders.create(serverUrl + API_PREFIX));
     }
 
-    public ResponseEntity<Object> createItem(ItemRequestDto itemRequestDto, long ownerId) {
+    public Mono<ResponseEntity<Object>> createItem(ItemRequestDto itemRequestDto, long ownerId) {
         log.debug("ItemClient - baseClient.createItem({}, {})", itemRequestDto, ownerId);
         return post(BASE_SPACE_PATH, ownerId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> updateItem(ItemRequestDto itemRequestDto, long ownerId, long itemId) {
+    public Mono<ResponseEntity<Object>> createItems(BatchRequest<ItemRequestDto> items, long ownerId) {
+        log.debug("ItemClient - baseClient.createItems({}, {})", items.valid().size(), ownerId);
+        return postBatch(BASE_SLASH_PATH + "batch", ownerId, items);
+    }
+
+    public Mono<ResponseEntity<Object>> updateItem(ItemRequestDto itemRequestDto, long ownerId, long itemId) {
         log.debug("ItemClient - baseClient.updateItem({}, {}, {})", itemRequestDto, ownerId, itemId);
         return patch(BASE_SLASH_PATH + itemId, ownerId, itemRequestDto);
     }
 
-    public ResponseEntity<Object> getItem(long itemId, long ownerId) {
+    public Mono<ResponseEntity<Object>> getItem(long itemId, long ownerId) {
         log.debug("ItemClient - baseClient.getItem({}, {})", ownerId, itemId);
         return get(BASE_SLASH_PATH + itemId, ownerId);
     }
 
-    public ResponseEntity<Object> getItemsByOwner(long ownerId, int from, int size) {
+    public Mono<ResponseEntity<Object>> getItemAvailability(long itemId, long userId, LocalDateTime from, LocalDateTime to) {
+        log.debug("ItemClient - baseClient.getItemAvailability({}, {}, {}, {})", itemId, userId, from, to);
+        Map<String, Object> parameters = Map.of("from", from.toString(), "to", to.toString());
+        return get(BASE_SLASH_PATH + itemId + "/availability?from={from}&to={to}", userId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> getItemsByOwner(long ownerId, int from, int size) {
         log.debug("ItemClient - baseClient.getItemsByOwner({}, {}, {})", ownerId, from, size);
         Map<String, Object> parameters = Map.of("from", from, "size", size);
         return get(BASE_SPACE_PATH + "?from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> serachItems(long ownerId, String text, int from, int size) {
+    public Mono<ResponseEntity<Object>> serachItems(long ownerId, String text, int from, int size) {
         log.debug("ItemClient - baseClient.serachItems({}, {}, {}, {})", ownerId, text, from, size);
         Map<String, Object> parameters = Map.of("text", text, "from", from, "size", size);
         return get("/search?text={text}&from={from}&size={size}", ownerId, parameters);
     }
 
-    public ResponseEntity<Object> createComment(CommentRequestDto commentRequestDto, long authorId, long itemId) {
+    public Mono<ResponseEntity<Object>> serachItems(long ownerId, String text, Long after, int size) {
+        log.debug("ItemClient - baseClient.serachItems({}, {}, {}, {})", ownerId, text, after, size);
+        //  Без after - первая страница курсорного режима
+        if (after == null)
+            return get("/search?mode=cursor&text={text}&size={size}", ownerId, Map.of("text", text, "size", size));
+
+        Map<String, Object> parameters = Map.of("text", text, "after", after, "size", size);
+        return get("/search?mode=cursor&text={text}&after={after}&size={size}", ownerId, parameters);
+    }
+
+    public Mono<ResponseEntity<Object>> createComment(CommentRequestDto commentRequestDto, long authorId, long itemId) {
         log.debug("ItemClient - baseClient.createComment({}, {}, {})", commentRequestDto, authorId, itemId);
         return post(BASE_SLASH_PATH + itemId + "/comment", authorId, commentRequestDto);
     }
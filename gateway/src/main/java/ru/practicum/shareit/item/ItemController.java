@@ -2,15 +2,23 @@ package ru.practicum.shareit.item;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
+import ru.practicum.shareit.common.batch.BatchRequest;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 
 import javax.validation.Valid;
+import javax.validation.Validator;
+import javax.validation.constraints.NotEmpty;
 import javax.validation.constraints.Positive;
 import javax.validation.constraints.PositiveOrZero;
+import javax.validation.constraints.Size;
+import java.time.LocalDateTime;
+import java.util.List;
 
 @Slf4j
 @Validated
@@ -19,16 +27,24 @@ import javax.validation.constraints.PositiveOrZero;
 @RequestMapping(path = "/items")
 public class ItemController {
     private final ItemClient itemClient;
+    private final Validator validator;
 
     @PostMapping
-    public ResponseEntity<Object> createItem(@Valid @RequestBody final ItemRequestDto item,
+    public Mono<ResponseEntity<Object>> createItem(@Valid @RequestBody final ItemRequestDto item,
                                              @RequestHeader("X-Sharer-User-Id") final Long ownerId) {
         log.debug("/items - POST: createItem({}, {})", item, ownerId);
         return itemClient.createItem(item, ownerId);
     }
 
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<Object>> createItems(@RequestBody @NotEmpty @Size(max = BatchRequest.MAX_SIZE) final List<ItemRequestDto> items,
+                                                    @RequestHeader("X-Sharer-User-Id") final Long ownerId) {
+        log.debug("/items/batch - POST: createItems({}, {})", items.size(), ownerId);
+        return itemClient.createItems(BatchRequest.validate(items, validator), ownerId);
+    }
+
     @PatchMapping("/{itemId}")
-    public ResponseEntity<Object> updateItem(@RequestBody final ItemRequestDto item,
+    public Mono<ResponseEntity<Object>> updateItem(@RequestBody final ItemRequestDto item,
                                              @RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                              @PathVariable final long itemId) {
         log.debug("/items/{} - PATCH: updateItem({}, {}, {})", itemId, item, ownerId, itemId);
@@ -36,14 +52,23 @@ public class ItemController {
     }
 
     @GetMapping("/{itemId}")
-    public ResponseEntity<Object> getItem(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+    public Mono<ResponseEntity<Object>> getItem(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                           @PathVariable final long itemId) {
         log.debug("/items/{} - GET: getItem({}, {})", itemId, ownerId, itemId);
         return itemClient.getItem(itemId, ownerId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public Mono<ResponseEntity<Object>> getItemAvailability(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                            @PathVariable final long itemId,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+                                                            @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to) {
+        log.debug("/items/{}/availability?from={}&to={} - GET: getItemAvailability({}, {}, {}, {})", itemId, from, to, userId, itemId, from, to);
+        return itemClient.getItemAvailability(itemId, userId, from, to);
+    }
+
     @GetMapping
-    public ResponseEntity<Object> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+    public Mono<ResponseEntity<Object>> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                                   @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
                                                   @RequestParam(defaultValue = "10") @Positive final int size) {
         log.debug("/items?from={}&size={} - GET: getItemsByUser({}, {}, {})", from, size, ownerId, from, size);
@@ -51,7 +76,7 @@ public class ItemController {
     }
 
     @GetMapping("/search")
-    public ResponseEntity<Object> searchItems(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+    public Mono<ResponseEntity<Object>> searchItems(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                               @RequestParam final String text,
                                               @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
                                               @RequestParam(defaultValue = "10") @Positive final int size) {
@@ -59,8 +84,17 @@ public class ItemController {
         return itemClient.serachItems(ownerId, text, from, size);
     }
 
+    @GetMapping(path = "/search", params = "mode=cursor")
+    public Mono<ResponseEntity<Object>> searchItems(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                              @RequestParam final String text,
+                                              @RequestParam(required = false) @Positive final Long after,
+                                              @RequestParam(defaultValue = "10") @Positive final int size) {
+        log.debug("/items/search?mode=cursor&text={}&after={}&size={} - GET: searchItems({}, {}, {}, {})", text, after, size, ownerId, text, after, size);
+        return itemClient.serachItems(ownerId, text, after, size);
+    }
+
     @PostMapping("/{itemId}/comment")
-    public ResponseEntity<Object> createComment(@Valid @RequestBody final CommentRequestDto commentDto,
+    public Mono<ResponseEntity<Object>> createComment(@Valid @RequestBody final CommentRequestDto commentDto,
                                                 @RequestHeader("X-Sharer-User-Id") final Long authorId,
                                                 @PathVariable final long itemId) {
         log.debug("/items/{}/commentDto - POST: createComment({}, {}, {})", itemId, commentDto, authorId, itemId);
@@ -5,6 +5,7 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.http.ResponseEntity;
 import org.springframework.validation.annotation.Validated;
 import org.springframework.web.bind.annotation.*;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.request.dto.ReqRequestDto;
 
 import javax.validation.Valid;
@@ -21,14 +22,14 @@ public class RequestController {
     private final RequestClient requestClient;
 
     @PostMapping
-    public ResponseEntity<Object> createRequest(@Valid @RequestBody final ReqRequestDto reqRequestDto,
+    public Mono<ResponseEntity<Object>> createRequest(@Valid @RequestBody final ReqRequestDto reqRequestDto,
                                                 @RequestHeader("X-Sharer-User-Id") final Long requesterId) {
         log.debug("/requests - POST: createRequest({}, {})", reqRequestDto, requesterId);
         return requestClient.createRequest(reqRequestDto, requesterId);
     }
 
     @GetMapping
-    public ResponseEntity<Object> getRequestsForRequester(@RequestHeader("X-Sharer-User-Id") final Long requesterId,
+    public Mono<ResponseEntity<Object>> getRequestsForRequester(@RequestHeader("X-Sharer-User-Id") final Long requesterId,
                                                           @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
                                                           @RequestParam(defaultValue = "10") @Positive final int size) {
         log.debug("/requests?from={}&size={} - GET: getRequestsForRequester({}, {}, {})", from, size, requesterId, from, size);
@@ -38,7 +39,7 @@ public class RequestController {
     }
 
     @GetMapping("/all")
-    public ResponseEntity<Object> getAllRequests(@RequestHeader("X-Sharer-User-Id") final Long requesterId,
+    public Mono<ResponseEntity<Object>> getAllRequests(@RequestHeader("X-Sharer-User-Id") final Long requesterId,
                                                  @RequestParam(defaultValue = "0") @PositiveOrZero final int from,
                                                  @RequestParam(defaultValue = "10") @Positive final int size) {
         log.debug("/requests/all?from={}&size={} - GET: getRequests({}, {}, {})", from, size, requesterId, from, size);
@@ -48,7 +49,7 @@ public class RequestController {
     }
 
     @GetMapping("/{requestId}")
-    public ResponseEntity<Object> getRequestByRequestId(@RequestHeader("X-Sharer-User-Id") final Long requesterId,
+    public Mono<ResponseEntity<Object>> getRequestByRequestId(@RequestHeader("X-Sharer-User-Id") final Long requesterId,
                                                         @PathVariable final Long requestId) {
         log.debug("/requests/{} - GET: getRequestByRequestId({}, {})", requestId, requesterId, requesterId);
         log.debug("/requests/{requestId} from requesterId = {}", requesterId);
@@ -4,6 +4,7 @@ import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.web.client.RestTemplateBuilder;
 import ru.practicum.shareit.booking.exception.UnsupportedStateException;
+import ru.practicum.shareit.client.RestTemplateForwarder;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
 
@@ -13,7 +14,7 @@ public class BookingClientTest {
 
     @BeforeAll
     public static void initialize() {
-        bookingClient = new BookingClient("http://localhost:9090", new RestTemplateBuilder());
+        bookingClient = new BookingClient("http://localhost:9090", RestTemplateForwarder.factory(new RestTemplateBuilder()));
     }
 
     @Test
@@ -25,4 +26,14 @@ public class BookingClientTest {
     public void test_TEST0020_NS01_getAllBookingByOwner_stateValidation() {
         assertThrows(UnsupportedStateException.class, () -> bookingClient.getAllBookingByOwner(1, "asdkjfsa", 0, 10));
     }
+
+    @Test
+    public void test_TEST0030_NS01_getAllBookingByBooker_afterCursor_stateValidation() {
+        assertThrows(UnsupportedStateException.class, () -> bookingClient.getAllBookingByBooker(1, "asdkjfsa", "2030-01-02T03:04:05,15", 10));
+    }
+
+    @Test
+    public void test_TEST0040_NS01_getAllBookingByOwner_afterCursor_stateValidation() {
+        assertThrows(UnsupportedStateException.class, () -> bookingClient.getAllBookingByOwner(1, "asdkjfsa", "2030-01-02T03:04:05,15", 10));
+    }
 }
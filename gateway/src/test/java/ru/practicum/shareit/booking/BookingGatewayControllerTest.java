@@ -8,6 +8,7 @@ import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.mockito.Mockito;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
@@ -22,6 +23,7 @@ import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
@@ -93,4 +95,25 @@ public class BookingGatewayControllerTest {
                 arguments("{\"start\":\"2020-10-12T17:45:30\"}", "Validation failed for argument"),
                 arguments("{\"end\":\"2020-10-12T19:45:30\"}", "Validation failed for argument"));
     }
+
+    @ParameterizedTest
+    @MethodSource("giveArgsFor_T0020_NS01")
+    public void test_T0020_NS01_getAllBookings_incorrectCursor(final String path, final String after) throws Exception {
+        mvc.perform(get(path)
+                        .param("mode", "cursor")
+                        .param("after", after)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_USER_HEADER, anyBookeOrOwnerId))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(bookingClient);
+    }
+
+    private static Stream<Arguments> giveArgsFor_T0020_NS01() {
+        return Stream.of(
+                arguments("/bookings", "2030-01-02T03:04:05"),
+                arguments("/bookings", "2030-01-02,15"),
+                arguments("/bookings/owner", "2030-01-02T03:04:05,abc"),
+                arguments("/bookings/owner", "15"));
+    }
 }
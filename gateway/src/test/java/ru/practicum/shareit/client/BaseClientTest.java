@@ -0,0 +1,79 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.client.MockRestServiceServer;
+import ru.practicum.shareit.user.UserClient;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withNoContent;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class BaseClientTest {
+    private static final String SERVER = "http://localhost:9090";
+    //  Порядок полей и пробелы сохраняются только без разбора JSON
+    private static final String USER_BODY = "{ \"name\":\"user\",  \"id\":1 ,\"email\":\"user@mail.ru\"}";
+
+    private UserClient userClient;
+    private MockRestServiceServer server;
+
+    @BeforeEach
+    public void preTestInitialization() {
+        MockServerRestTemplateCustomizer customizer = new MockServerRestTemplateCustomizer();
+        userClient = new UserClient(SERVER, RestTemplateForwarder.factory(new RestTemplateBuilder().customizers(customizer)));
+        server = customizer.getServer();
+    }
+
+    @Test
+    public void test_T0010_PS01_successBody_passedAsRawBytes() {
+        server.expect(requestTo(SERVER + "/users/1"))
+                .andRespond(withSuccess(USER_BODY, MediaType.APPLICATION_JSON));
+
+        ResponseEntity<Object> response = userClient.getUserById(1).block();
+
+        server.verify();
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(USER_BODY.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    public void test_T0020_PS01_errorBody_passedWithStatusAndContentType() {
+        String error = "{\"error\":\"Пользователь не найден\"}";
+        server.expect(requestTo(SERVER + "/users/404"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .body(error));
+
+        ResponseEntity<Object> response = userClient.getUserById(404).block();
+
+        server.verify();
+        assertEquals(HttpStatus.NOT_FOUND, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_JSON, response.getHeaders().getContentType());
+        assertArrayEquals(error.getBytes(StandardCharsets.UTF_8), (byte[]) response.getBody());
+    }
+
+    @Test
+    public void test_T0030_PS01_emptyBody_onlyStatus() {
+        server.expect(requestTo(SERVER + "/users/1"))
+                .andRespond(withNoContent());
+
+        ResponseEntity<Object> response = userClient.deleteUserById(1).block();
+
+        server.verify();
+        assertEquals(HttpStatus.NO_CONTENT, response.getStatusCode());
+        assertNull(response.getHeaders().getContentType());
+        assertNull(response.getBody());
+    }
+}
@@ -0,0 +1,109 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class CoalescingForwarderTest {
+    private static final String SERVER = "http://localhost:9090";
+
+    private AtomicInteger serverCalls;
+    private List<Sinks.One<ResponseEntity<byte[]>>> pendingResponses;
+    private InFlightRequests inFlight;
+    private ServerForwarder items;
+
+    @BeforeEach
+    public void preTestInitialization() {
+        serverCalls = new AtomicInteger();
+        pendingResponses = new ArrayList<>();
+        ServerForwarder server = (method, path, parameters, request) -> Mono.defer(() -> {
+            serverCalls.incrementAndGet();
+            Sinks.One<ResponseEntity<byte[]>> response = Sinks.one();
+            pendingResponses.add(response);
+            return response.asMono();
+        });
+
+        inFlight = new InFlightRequests();
+        items = CoalescingForwarder.factory(baseUrl -> server, inFlight).create(SERVER + "/items");
+    }
+
+    private static HttpEntity<Object> request(final long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return new HttpEntity<>(headers);
+    }
+
+    private static ResponseEntity<byte[]> ok(final String body) {
+        return ResponseEntity.ok(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private List<ResponseEntity<byte[]>> subscribe(final HttpMethod method, final String path,
+                                                   final Map<String, Object> parameters, final long userId) {
+        List<ResponseEntity<byte[]>> received = new ArrayList<>();
+        items.exchange(method, path, parameters, request(userId)).subscribe(received::add);
+        return received;
+    }
+
+    @Test
+    public void test_T0010_PS01_identicalConcurrentGets_shareOneServerCall() {
+        List<ResponseEntity<byte[]>> first = subscribe(HttpMethod.GET, "/1", null, 7);
+        List<ResponseEntity<byte[]>> second = subscribe(HttpMethod.GET, "/1", null, 7);
+        List<ResponseEntity<byte[]>> third = subscribe(HttpMethod.GET, "/1", null, 7);
+
+        assertEquals(1, serverCalls.get());
+        ResponseEntity<byte[]> response = ok("{\"id\":1}");
+        pendingResponses.get(0).tryEmitValue(response);
+
+        assertSame(response, first.get(0));
+        assertSame(response, second.get(0));
+        assertSame(response, third.get(0));
+        assertEquals(0, inFlight.size());
+    }
+
+    @Test
+    public void test_T0010_PS02_otherUserOrParameters_notShared() {
+        subscribe(HttpMethod.GET, "/search?text={text}", Map.of("text", "clock"), 7);
+        subscribe(HttpMethod.GET, "/search?text={text}", Map.of("text", "clock"), 8);
+        subscribe(HttpMethod.GET, "/search?text={text}", Map.of("text", "drill"), 7);
+
+        assertEquals(3, serverCalls.get());
+    }
+
+    @Test
+    public void test_T0020_PS01_completedGet_nextGetSentAgain() {
+        subscribe(HttpMethod.GET, "/1", null, 7);
+        pendingResponses.get(0).tryEmitValue(ok("{\"id\":1}"));
+
+        subscribe(HttpMethod.GET, "/1", null, 7);
+
+        assertEquals(2, serverCalls.get());
+    }
+
+    @Test
+    public void test_T0030_PS01_mutation_getAfterItNotJoinedToOlderCall() {
+        subscribe(HttpMethod.GET, "/1", null, 7);
+        subscribe(HttpMethod.PATCH, "/1", null, 7);
+        pendingResponses.get(1).tryEmitValue(ok("{\"id\":1}"));
+
+        List<ResponseEntity<byte[]>> afterUpdate = subscribe(HttpMethod.GET, "/1", null, 7);
+        ResponseEntity<byte[]> fresh = ok("{\"id\":1,\"name\":\"new\"}");
+        pendingResponses.get(2).tryEmitValue(fresh);
+
+        assertEquals(3, serverCalls.get());
+        assertSame(fresh, afterUpdate.get(0));
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+
+public class ForwardingConfigTest {
+    private static final String BASE_URL = "http://localhost:9090/items";
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class,
+                    WebClientAutoConfiguration.class))
+            .withUserConfiguration(HttpClientConfig.class, ResilienceConfig.class, ForwardingConfig.class);
+
+    @Test
+    public void test_T0010_PS01_defaultMode_blocking() {
+        contextRunner.run(context -> assertInstanceOf(RestTemplateForwarder.class,
+                forwarder(context.getBean(ServerForwarder.Factory.class)).delegate()));
+    }
+
+    @Test
+    public void test_T0010_PS02_reactiveMode_webClient() {
+        contextRunner
+                .withPropertyValues("shareit-gateway.forwarding.mode=reactive")
+                .run(context -> assertInstanceOf(WebClientForwarder.class,
+                        forwarder(context.getBean(ServerForwarder.Factory.class)).delegate()));
+    }
+
+    @Test
+    public void test_T0020_PS01_bulkheadLimit_dependsOnMode() {
+        contextRunner.run(context -> assertEquals(50, maxConcurrentCalls(context.getBean(BulkheadRegistry.class))));
+        contextRunner
+                .withPropertyValues("shareit-gateway.forwarding.mode=reactive")
+                .run(context -> assertEquals(2500, maxConcurrentCalls(context.getBean(BulkheadRegistry.class))));
+    }
+
+    private static int maxConcurrentCalls(final BulkheadRegistry bulkheads) {
+        return bulkheads.bulkhead("items").getBulkheadConfig().getMaxConcurrentCalls();
+    }
+
+    private static ResilientForwarder forwarder(final ServerForwarder.Factory factory) {
+        CoalescingForwarder coalescing = assertInstanceOf(CoalescingForwarder.class, factory.create(BASE_URL));
+        return assertInstanceOf(ResilientForwarder.class, coalescing.delegate());
+    }
+}
@@ -0,0 +1,184 @@
+package ru.practicum.shareit.client;
+
+import io.netty.channel.ChannelOption;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.http.impl.client.HttpClients;
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+import org.springframework.http.client.reactive.ReactorClientHttpConnector;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.client.HttpClient;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.ConnectionProvider;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Режимы пересылки под нагрузкой: REQUESTS одновременных запросов к серверу,
+ * который отвечает с задержкой SERVER_DELAY. Блокирующему режиму на каждый запрос в полёте
+ * нужен поток, реактивному - только потоки event loop.
+ * Сравнение времени - только в профиле load (mvn test -P load): оно печатает цифры, а не проверяет их.
+ */
+@Slf4j
+public class ForwardingLoadTest {
+    private static final int REQUESTS = 500;
+    //  Одинаковый бюджет соединений для обоих режимов; блокирующему - столько же потоков
+    private static final int CONNECTIONS = 50;
+    private static final Duration SERVER_DELAY = Duration.ofMillis(300);
+    private static final String ITEM_BODY = "{\"id\":1,\"name\":\"clock\"}";
+
+    private static DisposableServer server;
+    private static String baseUrl;
+
+    @BeforeAll
+    public static void startSlowServer() {
+        server = HttpServer.create()
+                .port(0)
+                .option(ChannelOption.SO_BACKLOG, REQUESTS)
+                .route(routes -> routes.get("/items/{itemId}", (request, response) -> response
+                        .header(HttpHeaders.CONTENT_TYPE, "application/json")
+                        .sendString(Mono.just(ITEM_BODY).delayElement(SERVER_DELAY))))
+                .bindNow();
+        baseUrl = "http://localhost:" + server.port() + "/items";
+    }
+
+    @AfterAll
+    public static void stopSlowServer() {
+        server.disposeNow();
+    }
+
+    private static HttpEntity<Object> request() {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", "1");
+        return new HttpEntity<>(headers);
+    }
+
+    private static ConnectionProvider reactiveConnections(final int maxConnections) {
+        return ConnectionProvider.builder("load-test")
+                .maxConnections(maxConnections)
+                .pendingAcquireMaxCount(REQUESTS)
+                .build();
+    }
+
+    private static ServerForwarder reactiveForwarder(final ConnectionProvider connectionProvider) {
+        return WebClientForwarder.factory(WebClient.builder()
+                        .clientConnector(new ReactorClientHttpConnector(HttpClient.create(connectionProvider)))
+                        .build())
+                .create(baseUrl);
+    }
+
+    @Test
+    public void test_T0010_PS01_reactiveMode_threadsBoundedByEventLoop() {
+        ConnectionProvider connectionProvider = reactiveConnections(REQUESTS);
+        ServerForwarder reactive = reactiveForwarder(connectionProvider);
+
+        try {
+            Set<String> reactiveThreads = ConcurrentHashMap.newKeySet();
+            List<ResponseEntity<byte[]>> responses = runReactive(reactive, REQUESTS, reactiveThreads);
+
+            assertEquals(REQUESTS, responses.size());
+            assertTrue(responses.stream().allMatch(response -> response.getStatusCode() == HttpStatus.OK));
+            assertTrue(reactiveThreads.size() <= LoopResources.DEFAULT_IO_WORKER_COUNT);
+        } finally {
+            connectionProvider.disposeLater().block();
+        }
+    }
+
+    @Test
+    @Tag("load")
+    public void test_T0020_PS01_reactiveAndBlockingModes_report() throws Exception {
+        ConnectionProvider connectionProvider = reactiveConnections(CONNECTIONS);
+        ServerForwarder reactive = reactiveForwarder(connectionProvider);
+
+        PoolingHttpClientConnectionManager connectionManager = new PoolingHttpClientConnectionManager();
+        connectionManager.setMaxTotal(CONNECTIONS);
+        connectionManager.setDefaultMaxPerRoute(CONNECTIONS);
+        ServerForwarder blocking = RestTemplateForwarder.factory(new RestTemplateBuilder()
+                        .requestFactory(() -> new HttpComponentsClientHttpRequestFactory(
+                                HttpClients.custom().setConnectionManager(connectionManager).build())))
+                .create(baseUrl);
+
+        try {
+            //  Прогрев: открываем соединения пулов, JIT
+            runReactive(reactive, CONNECTIONS, ConcurrentHashMap.newKeySet());
+            runBlocking(blocking, CONNECTIONS);
+
+            Set<String> reactiveThreads = ConcurrentHashMap.newKeySet();
+            long reactiveStart = System.nanoTime();
+            List<ResponseEntity<byte[]>> reactiveResponses = runReactive(reactive, REQUESTS, reactiveThreads);
+            Duration reactiveTime = Duration.ofNanos(System.nanoTime() - reactiveStart);
+
+            long blockingStart = System.nanoTime();
+            List<ResponseEntity<byte[]>> blockingResponses = runBlocking(blocking, REQUESTS);
+            Duration blockingTime = Duration.ofNanos(System.nanoTime() - blockingStart);
+
+            log.info("ForwardingLoadTest - {} requests, {} connections, server delay {} ms: "
+                            + "reactive {} ms on {} threads, blocking {} ms on {} threads",
+                    REQUESTS, CONNECTIONS, SERVER_DELAY.toMillis(),
+                    reactiveTime.toMillis(), reactiveThreads.size(), blockingTime.toMillis(), CONNECTIONS);
+
+            assertEquals(REQUESTS, reactiveResponses.size());
+            assertEquals(REQUESTS, blockingResponses.size());
+            assertTrue(reactiveResponses.stream().allMatch(response -> response.getStatusCode() == HttpStatus.OK));
+            assertTrue(blockingResponses.stream().allMatch(response -> response.getStatusCode() == HttpStatus.OK));
+        } finally {
+            connectionProvider.disposeLater().block();
+            connectionManager.close();
+        }
+    }
+
+    private static List<ResponseEntity<byte[]>> runReactive(final ServerForwarder forwarder, final int requests,
+                                                          final Set<String> threads) {
+        return Flux.range(1, requests)
+                .flatMap(i -> forwarder.exchange(HttpMethod.GET, "/1", null, request())
+                        .doOnNext(response -> threads.add(Thread.currentThread().getName())), requests)
+                .collectList()
+                .block();
+    }
+
+    private static List<ResponseEntity<byte[]>> runBlocking(final ServerForwarder forwarder, final int requests)
+            throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(CONNECTIONS);
+        try {
+            List<Callable<ResponseEntity<byte[]>>> calls = IntStream.range(0, requests)
+                    .<Callable<ResponseEntity<byte[]>>>mapToObj(i ->
+                            () -> forwarder.exchange(HttpMethod.GET, "/1", null, request()).block())
+                    .collect(Collectors.toList());
+
+            List<ResponseEntity<byte[]>> responses = new ArrayList<>();
+            for (Future<ResponseEntity<byte[]>> future : executor.invokeAll(calls))
+                responses.add(future.get());
+
+            return responses;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package ru.practicum.shareit.client;
+
+import io.netty.handler.codec.http2.Http2StreamChannel;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.autoconfigure.web.reactive.function.client.WebClientAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.ResponseEntity;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.HttpProtocol;
+import reactor.netty.http.server.HttpServer;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Пересылка по h2c в обоих режимах: сервер отвечает протоколом, по которому пришёл запрос, и считает TCP-соединения.
+ */
+public class H2cTransportTest {
+    private static final int REQUESTS = 50;
+    private static final String HTTP2 = "HTTP/2";
+
+    private static final AtomicInteger connections = new AtomicInteger();
+    private static DisposableServer server;
+    private static String baseUrl;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class,
+                    WebClientAutoConfiguration.class))
+            .withUserConfiguration(HttpClientConfig.class, ResilienceConfig.class, ForwardingConfig.class)
+            .withPropertyValues("shareit-gateway.http-client.protocol=h2c",
+                    "shareit-gateway.coalescing.enabled=false");
+
+    @BeforeAll
+    public static void startH2cServer() {
+        server = HttpServer.create()
+                .port(0)
+                .protocol(HttpProtocol.H2C, HttpProtocol.HTTP11)
+                .doOnChannelInit((observer, channel, remoteAddress) -> connections.incrementAndGet())
+                .route(routes -> routes.get("/items/{itemId}", (request, response) -> {
+                    AtomicReference<String> protocol = new AtomicReference<>();
+                    request.withConnection(connection -> protocol.set(
+                            connection.channel() instanceof Http2StreamChannel ? HTTP2 : "HTTP/1.1"));
+                    return response.sendString(Mono.just(protocol.get()).delayElement(Duration.ofMillis(50)));
+                }))
+                .bindNow();
+        baseUrl = "http://localhost:" + server.port() + "/items";
+    }
+
+    @AfterAll
+    public static void stopH2cServer() {
+        server.disposeNow();
+    }
+
+    @BeforeEach
+    public void resetConnections() {
+        connections.set(0);
+    }
+
+    @Test
+    public void test_T0010_PS01_blockingMode_multiplexedOverOneConnection() {
+        contextRunner.run(context -> assertMultiplexed(context.getBean(ServerForwarder.Factory.class).create(baseUrl), 1));
+    }
+
+    @Test
+    public void test_T0020_PS01_reactiveMode_multiplexedOverFewConnections() {
+        contextRunner
+                .withPropertyValues("shareit-gateway.forwarding.mode=reactive", "shareit-gateway.http-client.h2c-max-connections=2")
+                .run(context -> assertMultiplexed(context.getBean(ServerForwarder.Factory.class).create(baseUrl), 2));
+    }
+
+    private static void assertMultiplexed(final ServerForwarder forwarder, final int maxConnections) {
+        //  Первый запрос открывает соединение, остальные идут параллельными потоками HTTP/2
+        assertEquals(HTTP2, versionOf(forwarder.exchange(HttpMethod.GET, "/1", null, HttpEntity.EMPTY).block()));
+
+        List<ResponseEntity<byte[]>> responses = Flux.range(1, REQUESTS)
+                .flatMap(i -> forwarder.exchange(HttpMethod.GET, "/" + i, null, HttpEntity.EMPTY)
+                        .subscribeOn(Schedulers.boundedElastic()), REQUESTS)
+                .collectList()
+                .block();
+
+        assertEquals(REQUESTS, responses.size());
+        assertTrue(responses.stream().allMatch(response -> HTTP2.equals(versionOf(response))));
+        assertTrue(connections.get() <= maxConnections);
+    }
+
+    private static String versionOf(final ResponseEntity<byte[]> response) {
+        return new String(response.getBody(), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,49 @@
+package ru.practicum.shareit.client;
+
+import org.apache.http.impl.conn.PoolingHttpClientConnectionManager;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.autoconfigure.AutoConfigurations;
+import org.springframework.boot.autoconfigure.web.client.RestTemplateAutoConfiguration;
+import org.springframework.boot.convert.ApplicationConversionService;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.http.client.HttpComponentsClientHttpRequestFactory;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class HttpClientConfigTest {
+    //  Как и SpringApplication, переводим "2s" в Duration
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withInitializer(context -> context.getBeanFactory()
+                    .setConversionService(ApplicationConversionService.getSharedInstance()))
+            .withConfiguration(AutoConfigurations.of(RestTemplateAutoConfiguration.class))
+            .withUserConfiguration(HttpClientConfig.class);
+
+    @Test
+    public void test_T0010_PS01_poolLimits_fromProperties() {
+        contextRunner
+                .withPropertyValues(
+                        "shareit-gateway.http-client.max-total=50",
+                        "shareit-gateway.http-client.max-per-route=20")
+                .run(context -> {
+                    PoolingHttpClientConnectionManager connectionManager =
+                            context.getBean(PoolingHttpClientConnectionManager.class);
+
+                    assertEquals(50, connectionManager.getMaxTotal());
+                    assertEquals(20, connectionManager.getDefaultMaxPerRoute());
+                });
+    }
+
+    @Test
+    public void test_T0020_PS01_restTemplates_shareRequestFactory() {
+        contextRunner.run(context -> {
+            RestTemplateBuilder builder = context.getBean(RestTemplateBuilder.class);
+            HttpComponentsClientHttpRequestFactory requestFactory =
+                    context.getBean(HttpComponentsClientHttpRequestFactory.class);
+
+            assertSame(requestFactory, builder.build().getRequestFactory());
+            assertSame(requestFactory, builder.build().getRequestFactory());
+        });
+    }
+}
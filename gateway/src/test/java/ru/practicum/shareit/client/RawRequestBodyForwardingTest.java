@@ -0,0 +1,87 @@
+package ru.practicum.shareit.client;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.web.client.MockServerRestTemplateCustomizer;
+import org.springframework.boot.web.client.RestTemplateBuilder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.content;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.class, properties = "shareit-server.url=http://localhost:9090")
+@Import(RawRequestBodyForwardingTest.ClientConfig.class)
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class RawRequestBodyForwardingTest {
+    private static final String REQUEST_USER_HEADER = "X-Sharer-User-Id";
+    //  Пробелы и порядок полей показывают, что на сервер ушли исходные байты, а не повторная сериализация
+    private static final String ITEM_BODY = "{ \"description\" : \"random description\",\n"
+            + "  \"name\" : \"clock\", \"available\" : true }";
+
+    private final MockMvc mvc;
+    private final MockServerRestTemplateCustomizer serverCustomizer;
+
+    //  Без @Configuration: иначе класс подхватит сканирование в ShareItGatewayTests
+    static class ClientConfig {
+        @Bean
+        public MockServerRestTemplateCustomizer serverCustomizer() {
+            return new MockServerRestTemplateCustomizer();
+        }
+
+        @Bean
+        public ItemClient itemClient(@Value("${shareit-server.url}") final String serverUrl,
+                                     final MockServerRestTemplateCustomizer serverCustomizer) {
+            return new ItemClient(serverUrl,
+                    RestTemplateForwarder.factory(new RestTemplateBuilder().customizers(serverCustomizer)));
+        }
+    }
+
+    @AfterEach
+    public void verifyServer() {
+        serverCustomizer.getServer().verify();
+    }
+
+    @Test
+    public void test_T0010_PS01_validBody_forwardedAsOriginalBytes() throws Exception {
+        serverCustomizer.getServer().expect(requestTo("http://localhost:9090/items"))
+                .andExpect(method(HttpMethod.POST))
+                .andExpect(content().string(ITEM_BODY))
+                .andRespond(withSuccess("{\"id\":1}", MediaType.APPLICATION_JSON));
+
+        MvcResult result = mvc.perform(post("/items")
+                        .header(REQUEST_USER_HEADER, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(ITEM_BODY))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void test_T0020_NS01_invalidBody_notForwarded() throws Exception {
+        mvc.perform(post("/items")
+                        .header(REQUEST_USER_HEADER, 1)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"description\" : \"random description\", \"available\" : true }"))
+                .andExpect(status().isBadRequest());
+    }
+}
@@ -0,0 +1,115 @@
+package ru.practicum.shareit.client;
+
+import io.github.resilience4j.bulkhead.BulkheadConfig;
+import io.github.resilience4j.bulkhead.BulkheadFullException;
+import io.github.resilience4j.bulkhead.BulkheadRegistry;
+import io.github.resilience4j.circuitbreaker.CallNotPermittedException;
+import io.github.resilience4j.circuitbreaker.CircuitBreaker;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerConfig;
+import io.github.resilience4j.circuitbreaker.CircuitBreakerRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import reactor.core.Disposable;
+import reactor.core.publisher.Mono;
+import reactor.core.publisher.Sinks;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResilientForwarderTest {
+    private static final String SERVER = "http://localhost:9090";
+    private static final Duration OPEN_STATE_WAIT = Duration.ofMillis(100);
+
+    private CircuitBreakerRegistry circuitBreakers;
+    private BulkheadRegistry bulkheads;
+    private AtomicInteger serverCalls;
+    private AtomicReference<Mono<ResponseEntity<byte[]>>> serverResponse;
+    private ServerForwarder.Factory forwarders;
+
+    @BeforeEach
+    public void preTestInitialization() {
+        circuitBreakers = CircuitBreakerRegistry.of(CircuitBreakerConfig.custom()
+                .slidingWindowSize(4)
+                .minimumNumberOfCalls(4)
+                .failureRateThreshold(50)
+                .waitDurationInOpenState(OPEN_STATE_WAIT)
+                .permittedNumberOfCallsInHalfOpenState(1)
+                .ignoreExceptions(BulkheadFullException.class)
+                .build());
+        bulkheads = BulkheadRegistry.of(BulkheadConfig.custom()
+                .maxConcurrentCalls(2)
+                .maxWaitDuration(Duration.ZERO)
+                .build());
+
+        serverCalls = new AtomicInteger();
+        serverResponse = new AtomicReference<>(Mono.just(ResponseEntity.ok(new byte[0])));
+        ServerForwarder server = (method, path, parameters, request) -> Mono.defer(() -> {
+            serverCalls.incrementAndGet();
+            return serverResponse.get();
+        });
+
+        forwarders = ResilientForwarder.factory(baseUrl -> server, circuitBreakers, bulkheads);
+    }
+
+    private static ResponseEntity<byte[]> get(final ServerForwarder forwarder) {
+        return forwarder.exchange(HttpMethod.GET, "/1", null, HttpEntity.EMPTY).block();
+    }
+
+    @Test
+    public void test_T0010_PS01_serverErrors_openCircuit_fastFail() {
+        ServerForwarder items = forwarders.create(SERVER + "/items");
+        serverResponse.set(Mono.just(ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR).body(new byte[0])));
+
+        for (int i = 0; i < 4; i++)
+            assertEquals(HttpStatus.INTERNAL_SERVER_ERROR, get(items).getStatusCode());
+
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("items").getState());
+        assertThrows(CallNotPermittedException.class, () -> get(items));
+        assertEquals(4, serverCalls.get());
+    }
+
+    @Test
+    public void test_T0010_PS02_openCircuit_halfOpenProbe_closes() throws InterruptedException {
+        ServerForwarder items = forwarders.create(SERVER + "/items");
+        serverResponse.set(Mono.error(new IllegalStateException("connection refused")));
+        for (int i = 0; i < 4; i++)
+            assertThrows(IllegalStateException.class, () -> get(items));
+        assertEquals(CircuitBreaker.State.OPEN, circuitBreakers.circuitBreaker("items").getState());
+
+        Thread.sleep(OPEN_STATE_WAIT.toMillis() * 2);
+        serverResponse.set(Mono.just(ResponseEntity.ok(new byte[0])));
+
+        assertEquals(HttpStatus.OK, get(items).getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("items").getState());
+    }
+
+    @Test
+    public void test_T0020_PS01_fullBulkhead_rejectsOnlyOwnGroup() {
+        ServerForwarder bookings = forwarders.create(SERVER + "/bookings");
+        ServerForwarder items = forwarders.create(SERVER + "/items");
+        Sinks.One<ResponseEntity<byte[]>> slowServer = Sinks.one();
+        serverResponse.set(slowServer.asMono());
+
+        Disposable first = bookings.exchange(HttpMethod.GET, "/1", null, HttpEntity.EMPTY).subscribe();
+        Disposable second = bookings.exchange(HttpMethod.GET, "/2", null, HttpEntity.EMPTY).subscribe();
+
+        assertThrows(BulkheadFullException.class, () -> get(bookings));
+
+        serverResponse.set(Mono.just(ResponseEntity.ok(new byte[0])));
+        assertEquals(HttpStatus.OK, get(items).getStatusCode());
+        assertEquals(CircuitBreaker.State.CLOSED, circuitBreakers.circuitBreaker("bookings").getState());
+
+        slowServer.tryEmitValue(ResponseEntity.ok(new byte[0]));
+        first.dispose();
+        second.dispose();
+        assertEquals(2, bulkheads.bulkhead("bookings").getMetrics().getAvailableConcurrentCalls());
+    }
+}
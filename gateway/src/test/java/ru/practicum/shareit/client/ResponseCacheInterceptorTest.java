@@ -0,0 +1,162 @@
+package ru.practicum.shareit.client;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpEntity;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.client.ExpectedCount;
+import org.springframework.test.web.client.MockRestServiceServer;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.client.RestTemplate;
+
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.method;
+import static org.springframework.test.web.client.match.MockRestRequestMatchers.requestTo;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withStatus;
+import static org.springframework.test.web.client.response.MockRestResponseCreators.withSuccess;
+
+public class ResponseCacheInterceptorTest {
+    private static final String SERVER = "http://localhost:9090";
+    private static final String ITEM_BODY = "{\"id\":1,\"name\":\"clock\"}";
+
+    private RestTemplate rest;
+    private MockRestServiceServer server;
+    private MutableClock clock;
+    private ResponseCache cache;
+
+    private static class MutableClock extends Clock {
+        private Instant now = Instant.parse("2030-01-01T00:00:00Z");
+
+        @Override
+        public ZoneOffset getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public Instant instant() {
+            return now;
+        }
+    }
+
+    @BeforeEach
+    public void preTestInitialization() {
+        clock = new MutableClock();
+        cache = new ResponseCache(2, 1024, Duration.ofSeconds(5), clock);
+
+        rest = new RestTemplate();
+        rest.getInterceptors().add(new ResponseCacheInterceptor(cache));
+        server = MockRestServiceServer.bindTo(rest).build();
+    }
+
+    private String get(final String path, final long userId) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.set("X-Sharer-User-Id", String.valueOf(userId));
+        return rest.exchange(SERVER + path, HttpMethod.GET, new HttpEntity<>(headers), String.class).getBody();
+    }
+
+    @Test
+    public void test_T0010_PS01_repeatedGet_servedFromCache() {
+        server.expect(ExpectedCount.once(), requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess(ITEM_BODY, MediaType.APPLICATION_JSON));
+
+        assertEquals(ITEM_BODY, get("/items/1", 7));
+        assertEquals(ITEM_BODY, get("/items/1", 7));
+
+        server.verify();
+        assertEquals(1, cache.size());
+        assertEquals(ITEM_BODY.length(), cache.bytes());
+    }
+
+    @Test
+    public void test_T0010_PS02_otherUser_notServedFromCache() {
+        server.expect(ExpectedCount.twice(), requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess(ITEM_BODY, MediaType.APPLICATION_JSON));
+
+        get("/items/1", 7);
+        get("/items/1", 8);
+
+        server.verify();
+    }
+
+    @Test
+    public void test_T0020_PS01_mutation_invalidatesResourceAndDependents() {
+        server.expect(ExpectedCount.once(), requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess(ITEM_BODY, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo(SERVER + "/bookings"))
+                .andExpect(method(HttpMethod.POST))
+                .andRespond(withSuccess("{}", MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess(ITEM_BODY, MediaType.APPLICATION_JSON));
+
+        get("/items/1", 7);
+        rest.postForEntity(SERVER + "/bookings", "{}", String.class);
+        get("/items/1", 7);
+
+        server.verify();
+    }
+
+    @Test
+    public void test_T0030_PS01_expiredEntry_reloaded() {
+        server.expect(ExpectedCount.twice(), requestTo(SERVER + "/users/1"))
+                .andRespond(withSuccess(ITEM_BODY, MediaType.APPLICATION_JSON));
+
+        get("/users/1", 7);
+        clock.now = clock.now.plusSeconds(6);
+        get("/users/1", 7);
+
+        server.verify();
+    }
+
+    @Test
+    public void test_T0040_PS01_bounds_evictLeastRecentlyUsed() {
+        server.expect(ExpectedCount.once(), requestTo(SERVER + "/items/1"))
+                .andRespond(withSuccess(ITEM_BODY, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo(SERVER + "/items/2"))
+                .andRespond(withSuccess(ITEM_BODY, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo(SERVER + "/items/3"))
+                .andRespond(withSuccess(ITEM_BODY, MediaType.APPLICATION_JSON));
+        server.expect(ExpectedCount.once(), requestTo(SERVER + "/items/large"))
+                .andRespond(withSuccess("x".repeat(2048), MediaType.APPLICATION_JSON));
+
+        get("/items/1", 7);
+        get("/items/2", 7);
+        get("/items/1", 7);
+        get("/items/3", 7);
+        get("/items/large", 7);
+
+        server.verify();
+        assertEquals(2, cache.size());
+        assertEquals(2 * ITEM_BODY.length(), cache.bytes());
+    }
+
+    @Test
+    public void test_T0050_NS01_errorResponse_notCached() {
+        server.expect(ExpectedCount.twice(), requestTo(SERVER + "/items/404"))
+                .andRespond(withStatus(HttpStatus.NOT_FOUND));
+
+        for (int i = 0; i < 2; i++) {
+            try {
+                get("/items/404", 7);
+            } catch (HttpClientErrorException ignored) {
+                //  ожидаемый 404
+            }
+        }
+
+        server.verify();
+        assertEquals(0, cache.size());
+    }
+}
@@ -0,0 +1,90 @@
+package ru.practicum.shareit.common.batch;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+
+import javax.validation.Validation;
+import javax.validation.Validator;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class BatchRequestTest {
+    private static Validator validator;
+
+    private final ItemRequestDto validItem = ItemRequestDto.of("clock", "random description", true, null);
+    private final ItemRequestDto invalidItem = ItemRequestDto.of(" ", "random description", null, null);
+
+    @BeforeAll
+    public static void initValidator() {
+        validator = Validation.buildDefaultValidatorFactory().getValidator();
+    }
+
+    private static ResponseEntity<Object> serverResponse(final HttpStatus status, final String body) {
+        return ResponseEntity.status(status)
+                .contentType(MediaType.APPLICATION_JSON)
+                .body(body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static List<BatchResultDto> results(final ResponseEntity<Object> response) {
+        return (List<BatchResultDto>) response.getBody();
+    }
+
+    @Test
+    public void test_T0010_PS01_allValid_sameListAndServerResponsePassedThrough() {
+        List<ItemRequestDto> items = List.of(validItem, validItem);
+        ResponseEntity<Object> response = serverResponse(HttpStatus.OK, "[]");
+
+        BatchRequest<ItemRequestDto> batch = BatchRequest.validate(items, validator);
+
+        assertSame(items, batch.valid());
+        assertSame(response, batch.merge(response));
+    }
+
+    @Test
+    public void test_T0020_PS01_mixed_onlyValidSentAndResultsMergedInRequestOrder() {
+        BatchRequest<ItemRequestDto> batch = BatchRequest.validate(List.of(validItem, invalidItem, validItem), validator);
+
+        assertEquals(List.of(validItem, validItem), batch.valid());
+
+        ResponseEntity<Object> merged = batch.merge(serverResponse(HttpStatus.OK,
+                "[{\"index\":0,\"status\":201,\"body\":{\"id\":1}},{\"index\":1,\"status\":404,\"error\":{\"error\":\"e\"}}]"));
+
+        List<BatchResultDto> results = results(merged);
+        assertEquals(HttpStatus.OK, merged.getStatusCode());
+        assertEquals(List.of(0, 1, 2), results.stream().map(BatchResultDto::getIndex).collect(Collectors.toList()));
+        assertEquals(List.of(201, 400, 404), results.stream().map(BatchResultDto::getStatus).collect(Collectors.toList()));
+        assertTrue(results.get(1).getError().toString().contains("available"));
+        assertTrue(results.get(1).getError().toString().contains("name"));
+    }
+
+    @Test
+    public void test_T0030_PS01_noValid_rejectedOnly() {
+        BatchRequest<ItemRequestDto> batch = BatchRequest.validate(Arrays.asList(invalidItem, null), validator);
+
+        assertTrue(batch.valid().isEmpty());
+
+        List<BatchResultDto> results = results(batch.rejectedResponse());
+        assertEquals(2, results.size());
+        assertEquals(400, results.get(0).getStatus());
+        assertEquals(400, results.get(1).getStatus());
+    }
+
+    @Test
+    public void test_T0040_NS01_serverError_passedThrough() {
+        BatchRequest<ItemRequestDto> batch = BatchRequest.validate(List.of(validItem, invalidItem), validator);
+        ResponseEntity<Object> response = serverResponse(HttpStatus.NOT_FOUND, "{\"error\":\"user\"}");
+
+        assertSame(response, batch.merge(response));
+    }
+}
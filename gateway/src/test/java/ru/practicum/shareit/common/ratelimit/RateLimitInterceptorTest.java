@@ -0,0 +1,66 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import ru.practicum.shareit.item.ItemClient;
+import ru.practicum.shareit.item.ItemController;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(controllers = ItemController.class, properties = {
+        "shareit-gateway.rate-limit.item-search.capacity=2",
+        "shareit-gateway.rate-limit.item-search.tokens-per-second=0.5",
+        "shareit-gateway.rate-limit.batch.capacity=1",
+        "shareit-gateway.rate-limit.batch.tokens-per-second=0.1"})
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+public class RateLimitInterceptorTest {
+    private static final String REQUEST_USER_HEADER = "X-Sharer-User-Id";
+
+    private final MockMvc mvc;
+    @MockBean
+    private final ItemClient itemClient;
+
+    @Test
+    public void test_T0010_NS01_searchBudgetExhausted_tooManyRequests() throws Exception {
+        for (int i = 0; i < 2; i++) {
+            mvc.perform(get("/items/search?text=clock").header(REQUEST_USER_HEADER, 1))
+                    .andExpect(status().isOk());
+        }
+
+        mvc.perform(get("/items/search?text=clock").header(REQUEST_USER_HEADER, 1))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "2"));
+
+        mvc.perform(get("/items/search?text=clock").header(REQUEST_USER_HEADER, 2))
+                .andExpect(status().isOk());
+        mvc.perform(get("/items/1").header(REQUEST_USER_HEADER, 1))
+                .andExpect(status().isOk());
+    }
+
+    @Test
+    public void test_T0020_NS01_batchBudget_separateFromDefault() throws Exception {
+        String items = "[{\"name\":\"clock\",\"description\":\"wall clock\",\"available\":true}]";
+
+        mvc.perform(post("/items/batch").header(REQUEST_USER_HEADER, 1)
+                        .contentType(MediaType.APPLICATION_JSON).content(items))
+                .andExpect(status().isOk());
+
+        mvc.perform(post("/items/batch").header(REQUEST_USER_HEADER, 1)
+                        .contentType(MediaType.APPLICATION_JSON).content(items))
+                .andExpect(status().isTooManyRequests())
+                .andExpect(header().string(HttpHeaders.RETRY_AFTER, "10"));
+
+        mvc.perform(post("/items").header(REQUEST_USER_HEADER, 1)
+                        .contentType(MediaType.APPLICATION_JSON).content(items.substring(1, items.length() - 1)))
+                .andExpect(status().isOk());
+    }
+}
@@ -0,0 +1,66 @@
+package ru.practicum.shareit.common.ratelimit;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+    private static final RateLimitBudget SEARCH = new RateLimitBudget("item-search", 2, 4);
+    private static final RateLimitBudget DEFAULT = new RateLimitBudget("default", 100, 50);
+
+    private AtomicLong now;
+    private RateLimiter rateLimiter;
+
+    @BeforeEach
+    public void preTestInitialization() {
+        now = new AtomicLong(1_000_000_000_000L);
+        rateLimiter = new RateLimiter(3, now::get);
+    }
+
+    @Test
+    public void test_T0010_PS01_capacityExhausted_retryAfterUntilNextToken() {
+        assertTrue(rateLimiter.tryAcquire(SEARCH, "1").isZero());
+        assertTrue(rateLimiter.tryAcquire(SEARCH, "1").isZero());
+
+        assertEquals(Duration.ofMillis(250), rateLimiter.tryAcquire(SEARCH, "1"));
+    }
+
+    @Test
+    public void test_T0010_PS02_refill_allowsAgain() {
+        rateLimiter.tryAcquire(SEARCH, "1");
+        rateLimiter.tryAcquire(SEARCH, "1");
+
+        now.addAndGet(Duration.ofMillis(100).toNanos());
+        assertEquals(Duration.ofMillis(150), rateLimiter.tryAcquire(SEARCH, "1"));
+
+        now.addAndGet(Duration.ofMillis(150).toNanos());
+        assertTrue(rateLimiter.tryAcquire(SEARCH, "1").isZero());
+    }
+
+    @Test
+    public void test_T0020_PS01_otherUserAndBudget_notAffected() {
+        rateLimiter.tryAcquire(SEARCH, "1");
+        rateLimiter.tryAcquire(SEARCH, "1");
+
+        assertTrue(rateLimiter.tryAcquire(SEARCH, "2").isZero());
+        assertTrue(rateLimiter.tryAcquire(DEFAULT, "1").isZero());
+    }
+
+    @Test
+    public void test_T0030_PS01_maxBuckets_fullBucketsEvicted() {
+        rateLimiter.tryAcquire(SEARCH, "1");
+        rateLimiter.tryAcquire(SEARCH, "2");
+        rateLimiter.tryAcquire(SEARCH, "3");
+        assertEquals(3, rateLimiter.size());
+
+        now.addAndGet(Duration.ofSeconds(1).toNanos());
+        rateLimiter.tryAcquire(SEARCH, "4");
+
+        assertEquals(1, rateLimiter.size());
+    }
+}
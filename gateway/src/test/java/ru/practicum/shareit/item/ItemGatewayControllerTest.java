@@ -7,11 +7,14 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.Arguments;
 import org.junit.jupiter.params.provider.MethodSource;
+import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.test.web.servlet.MockMvc;
+import reactor.core.publisher.Mono;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
@@ -298,6 +301,34 @@ public class ItemGatewayControllerTest {
         assertTrue(response.contains("Required request parameter"));
     }
 
+    @Test
+    public void test_T0050_NS04_searchItems_cursorMode_notPositiveAfter() throws Exception {
+        mvc.perform(get("/items/search")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_USER_HEADER, anyOwnerId)
+                        .param("mode", "cursor")
+                        .param("text", "any text")
+                        .param("after", String.valueOf(0)))
+                .andExpect(status().isBadRequest());
+
+        Mockito.verifyNoInteractions(itemClient);
+    }
+
+    @Test
+    public void test_T0050_PS01_searchItems_cursorMode_firstPage() throws Exception {
+        Mockito.when(itemClient.serachItems(anyOwnerId, "any text", null, 10))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        mvc.perform(get("/items/search")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_USER_HEADER, anyOwnerId)
+                        .param("mode", "cursor")
+                        .param("text", "any text"))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemClient, Mockito.only()).serachItems(anyOwnerId, "any text", null, 10);
+    }
+
     @Test
     public void test_T0060_NS01_createComment_noRequestHeader_ownerId() throws Exception {
         String response = mvc.perform(post("/items/" + anyItemId + "/comment")
@@ -363,4 +394,47 @@ public class ItemGatewayControllerTest {
 
         assertTrue(response.contains("Validation failed for argument"));
     }
+
+    @Test
+    public void test_T0070_NS01_createItems_emptyBatch() throws Exception {
+        String response = mvc.perform(post("/items/batch")
+                        .content("[]")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_USER_HEADER, anyOwnerId))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(response.contains("createItems.items"));
+    }
+
+    @Test
+    public void test_T0080_PS01_getItemAvailability_isoDateTimeParams() throws Exception {
+        Mockito.when(itemClient.getItemAvailability(anyItemId, anyOwnerId, ldt, ldt.plusDays(7)))
+                .thenReturn(Mono.just(ResponseEntity.ok().build()));
+
+        mvc.perform(get("/items/" + anyItemId + "/availability")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_USER_HEADER, anyOwnerId)
+                        .param("from", ldt.toString())
+                        .param("to", ldt.plusDays(7).toString()))
+                .andExpect(status().isOk());
+
+        Mockito.verify(itemClient).getItemAvailability(anyItemId, anyOwnerId, ldt, ldt.plusDays(7));
+    }
+
+    @Test
+    public void test_T0080_NS01_getItemAvailability_invalidDateTime() throws Exception {
+        String response = mvc.perform(get("/items/" + anyItemId + "/availability")
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_USER_HEADER, anyOwnerId)
+                        .param("from", "12.10.2020")
+                        .param("to", ldt.toString()))
+                .andExpect(status().isBadRequest())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(response.contains("Failed to convert value"));
+        Mockito.verifyNoInteractions(itemClient);
+    }
 }
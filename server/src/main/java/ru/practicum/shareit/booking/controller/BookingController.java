@@ -8,6 +8,7 @@ import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.batch.BatchResultDto;
 
 import java.util.List;
 
@@ -27,6 +28,14 @@ public class BookingController {
         return bookingService.createBooking(bookingDto, bookerId);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResultDto<BookingResponseDto>> createBookings(@RequestBody final List<BookingRequestDto> bookingDtos,
+                                                                   @RequestHeader("X-Sharer-User-Id") final Long bookerId) {
+        log.debug("/bookings/batch - POST: createBookings({}, {})", bookingDtos.size(), bookerId);
+
+        return bookingService.createBookings(bookingDtos, bookerId);
+    }
+
     @PatchMapping("/{bookingId}")
     public BookingResponseDto toBook(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                      @PathVariable final long bookingId,
@@ -60,4 +69,22 @@ public class BookingController {
         log.debug("/bookings/owner?state={}&from={}&size={} - GET: getAllBookingByUser({}, {}, {}, {})", state, from, size, ownerId, state, from, size);
         return bookingService.getAllBookingByOwner(ownerId, state, from, size);
     }
+
+    @GetMapping(params = "mode=cursor")
+    public List<BookingResponseDto> getAllBookingByBooker(@RequestHeader("X-Sharer-User-Id") final Long bookerId,
+                                                          @RequestParam final State state,
+                                                          @RequestParam(required = false) final String after,
+                                                          @RequestParam final int size) {
+        log.debug("/bookings?mode=cursor&state={}&after={}&size={} - GET: getAllBookingByUser({}, {}, {}, {})", state, after, size, bookerId, state, after, size);
+        return bookingService.getAllBookingByBooker(bookerId, state, after, size);
+    }
+
+    @GetMapping(path = "/owner", params = "mode=cursor")
+    public List<BookingResponseDto> getAllBookingByOwner(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                                         @RequestParam final State state,
+                                                         @RequestParam(required = false) final String after,
+                                                         @RequestParam final int size) {
+        log.debug("/bookings/owner?mode=cursor&state={}&after={}&size={} - GET: getAllBookingByUser({}, {}, {}, {})", state, after, size, ownerId, state, after, size);
+        return bookingService.getAllBookingByOwner(ownerId, state, after, size);
+    }
 }
@@ -0,0 +1,36 @@
+package ru.practicum.shareit.booking.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import ru.practicum.shareit.booking.exception.BookingCursorFormatException;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+
+//  Курсор keyset-пагинации: "<start>,<id>" последней полученной брони (start в ISO, как в JSON ответа)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class BookingCursor {
+    private static final String INCORRECT_CURSOR = "Некорректное значение курсора after - '%s', ожидается <start>,<id>";
+
+    private LocalDateTime start;
+    private long id;
+
+    public static BookingCursor parse(final String after) {
+        final int delimiter = after.lastIndexOf(',');
+
+        if (delimiter < 0)
+            throw new BookingCursorFormatException(String.format(INCORRECT_CURSOR, after));
+
+        try {
+            return new BookingCursor(LocalDateTime.parse(after.substring(0, delimiter).trim()),
+                    Long.parseLong(after.substring(delimiter + 1).trim()));
+        } catch (DateTimeParseException | NumberFormatException e) {
+            throw new BookingCursorFormatException(String.format(INCORRECT_CURSOR, after));
+        }
+    }
+}
@@ -39,6 +39,15 @@ public class BookingMapper {
         return dtos;
     }
 
+    public static BookingOrderResponseDto mapToBookingOrderResponseDto(final BookingOrderItemView view) {
+        return BookingOrderResponseDto.builder()
+                .id(view.getId())
+                .bookerId(view.getBookerId())
+                .start(view.getBookingStart())
+                .end(view.getBookingEnd())
+                .build();
+    }
+
     public static Booking mapToBooking(final BookingRequestDto bookingDto, final long userId) {
         return Booking.builder()
                 .start(bookingDto.getStart())
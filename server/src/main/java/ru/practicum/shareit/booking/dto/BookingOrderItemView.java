@@ -0,0 +1,21 @@
+package ru.practicum.shareit.booking.dto;
+
+import java.time.LocalDateTime;
+
+public interface BookingOrderItemView {
+    String KIND_NEXT = "NEXT";
+    String KIND_LAST = "LAST";
+    String KIND_CURRENT = "CURRENT";
+
+    String getKind();
+
+    Long getItemId();
+
+    Long getId();
+
+    Long getBookerId();
+
+    LocalDateTime getBookingStart();
+
+    LocalDateTime getBookingEnd();
+}
@@ -21,4 +21,10 @@ public class BookingResponseDto {
     private ItemBookingDto item;
     private UserBookingDto booker;
     private Status status;
+
+    //  Для JPQL-проекции (select new ...) в выборках бронирований владельца
+    public BookingResponseDto(final long id, final LocalDateTime start, final LocalDateTime end,
+                              final long itemId, final String itemName, final long bookerId, final Status status) {
+        this(id, start, end, new ItemBookingDto(itemId, itemName), new UserBookingDto(bookerId), status);
+    }
 }
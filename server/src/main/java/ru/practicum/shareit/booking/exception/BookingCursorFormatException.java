@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.exception;
+
+public class BookingCursorFormatException extends RuntimeException {
+
+    public BookingCursorFormatException(String message) {
+        super(message);
+    }
+}
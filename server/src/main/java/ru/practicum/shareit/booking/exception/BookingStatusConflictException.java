@@ -0,0 +1,8 @@
+package ru.practicum.shareit.booking.exception;
+
+public class BookingStatusConflictException extends RuntimeException {
+
+    public BookingStatusConflictException(String message) {
+        super(message);
+    }
+}
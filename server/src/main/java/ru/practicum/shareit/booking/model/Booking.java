@@ -17,7 +17,8 @@ import java.time.LocalDateTime;
 @Table(name = "booking")
 public class Booking {
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "booking_seq")
+    @SequenceGenerator(name = "booking_seq", sequenceName = "booking_seq", allocationSize = 50)
     private long id;
 
     @Column(name = "booking_start", nullable = false)
@@ -40,6 +41,16 @@ public class Booking {
     @Enumerated(EnumType.STRING)
     private Status status;
 
+    //  Досчитывается при вставке, дальше её продвигает только BookingPhaseScheduler: сохранение сущности
+    //  с прочитанной раньше фазой не должно откатывать его перевод
+    @Column(name = "phase", length = 10, nullable = false, updatable = false)
+    @Enumerated(EnumType.STRING)
+    private Phase phase;
+
+    @Version
+    @Column(name = "version", nullable = false)
+    private long version;
+
     public Booking(final Booking booking) {
         this.id = booking.id;
         this.start = booking.start;
@@ -47,5 +58,13 @@ public class Booking {
         this.item = booking.item;
         this.booker = booking.booker;
         this.status = booking.status;
+        this.phase = booking.phase;
+        this.version = booking.version;
+    }
+
+    @PrePersist
+    private void initPhase() {
+        if (phase == null)
+            phase = Phase.at(start, end, LocalDateTime.now());
     }
 }
@@ -0,0 +1,22 @@
+package ru.practicum.shareit.booking.model;
+
+import java.time.LocalDateTime;
+
+/**
+ * Фаза брони во времени, хранится в booking.phase и только растёт: FUTURE -> CURRENT -> PAST.
+ */
+public enum Phase {
+    FUTURE,
+    CURRENT,
+    PAST;
+
+    public static Phase at(final LocalDateTime start, final LocalDateTime end, final LocalDateTime now) {
+        if (end.isBefore(now))
+            return PAST;
+
+        if (start.isAfter(now))
+            return FUTURE;
+
+        return CURRENT;
+    }
+}
@@ -2,12 +2,16 @@ package ru.practicum.shareit.booking.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Phase;
 import ru.practicum.shareit.booking.model.Status;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -23,46 +27,244 @@ public interface BookingRepository extends JpaRepository<Booking, Long> {
     Optional<Booking> findByIdAndBookerIdOrOwnerId(@Param("booking_id") final long bookingId,
                                                    @Param("user_id") final long bookerOrOwnerId);
 
+    //  Условия пишутся по внешним ключам booking (b.booker.id / b.item.owner.id) явно: производные запросы
+    //  Spring Data строят LEFT JOIN к person и фильтруют по person.id, что не даёт использовать индексы booking
+    String ORDER_BY_START = "ORDER BY b.start DESC, b.id DESC";
+
+    //  Выборки владельца сразу собирают BookingResponseDto: item и booker не догружаются по одному на строку
+    String SELECT_OWNER_BOOKING_DTO = "select new ru.practicum.shareit.booking.dto.BookingResponseDto(" +
+            "b.id, b.start, b.end, it.id, it.name, b.booker.id, b.status) " +
+            "from Booking as b JOIN b.item as it ";
+
+    //  Состояния PAST/CURRENT/FUTURE выбираются только по фазе брони (booking.phase) - равенством по индексу,
+    //  без сравнения со временем. Фазу продвигает BookingPhaseScheduler, поэтому бронь, которая только что
+    //  началась или закончилась, остаётся в прежнем состоянии до его следующего прохода
+    //  (не дольше shareit.booking.phase.interval плюс время прохода)
+    String PHASE = "ru.practicum.shareit.booking.model.Phase.";
+    String PAST_PHASE = "b.phase = " + PHASE + "PAST ";
+    String CURRENT_PHASE = "b.phase = " + PHASE + "CURRENT ";
+    String FUTURE_PHASE = "b.phase = " + PHASE + "FUTURE ";
+
     // State.Past
-    List<Booking> findByBookerIdAndEndLessThanOrderByStartDesc(
-            final long bookerId, final LocalDateTime currentDateTime, final Pageable pageable);
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id AND " + PAST_PHASE +
+            ORDER_BY_START)
+    List<Booking> findPastByBookerId(@Param("booker_id") final long bookerId, final Pageable pageable);
 
     // State.Current
-    List<Booking> findByBookerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(
-            final long bookerId, final LocalDateTime currentDateTime1, final LocalDateTime currentDateTime2, final Pageable pageable);
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id AND " + CURRENT_PHASE +
+            ORDER_BY_START)
+    List<Booking> findCurrentByBookerId(@Param("booker_id") final long bookerId, final Pageable pageable);
 
     // State.   Future
-    List<Booking> findByBookerIdAndStartGreaterThanEqualOrderByStartDesc(
-            final long bookerId, final LocalDateTime currentDateTime, final Pageable pageable);
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id AND " + FUTURE_PHASE +
+            ORDER_BY_START)
+    List<Booking> findFutureByBookerId(@Param("booker_id") final long bookerId, final Pageable pageable);
 
     // State.Status
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id AND b.status = :status " +
+            ORDER_BY_START)
     List<Booking> findByBookerIdAndStatusOrderByStartDesc(
-            final long bookerId, final Status status, final Pageable pageable);
+            @Param("booker_id") final long bookerId, @Param("status") final Status status, final Pageable pageable);
 
     // State.All
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id " +
+            ORDER_BY_START)
     List<Booking> findByBookerIdOrderByStartDesc(
-            final long bookerId, Pageable pageable);
+            @Param("booker_id") final long bookerId, Pageable pageable);
 
     //  State.Past
-    List<Booking> findByItemOwnerIdAndEndLessThanOrderByStartDesc(
-            final long bookerId, final LocalDateTime currentDateTime, final Pageable pageable);
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id AND " + PAST_PHASE +
+            ORDER_BY_START)
+    List<BookingResponseDto> findPastByItemOwnerId(@Param("owner_id") final long ownerId, final Pageable pageable);
 
     //  State.Current
-    List<Booking> findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(
-            final long bookerId, final LocalDateTime currentDateTime1, final LocalDateTime currentDateTime2, final Pageable pageable);
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id AND " + CURRENT_PHASE +
+            ORDER_BY_START)
+    List<BookingResponseDto> findCurrentByItemOwnerId(@Param("owner_id") final long ownerId, final Pageable pageable);
 
     //  State.Future
-    List<Booking> findByItemOwnerIdAndStartGreaterThanEqualOrderByStartDesc(
-            final long bookerId, final LocalDateTime currentDateTime, final Pageable pageable);
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id AND " + FUTURE_PHASE +
+            ORDER_BY_START)
+    List<BookingResponseDto> findFutureByItemOwnerId(@Param("owner_id") final long ownerId, final Pageable pageable);
 
     //  State.Status
-    List<Booking> findByItemOwnerIdAndStatusOrderByStartDesc(
-            final long bookerId, final Status status, final Pageable pageable);
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id AND b.status = :status " +
+            ORDER_BY_START)
+    List<BookingResponseDto> findByItemOwnerIdAndStatusOrderByStartDesc(
+            @Param("owner_id") final long bookerId, @Param("status") final Status status, final Pageable pageable);
 
     //  State.All
-    List<Booking> findByItemOwnerIdOrderByStartDesc(
-            final long ownerId, final Pageable pageable);
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id " +
+            ORDER_BY_START)
+    List<BookingResponseDto> findByItemOwnerIdOrderByStartDesc(
+            @Param("owner_id") final long ownerId, final Pageable pageable);
 
     boolean existsBookingByItemIdAndBookerIdAndStatusIsNotAndEndLessThan(
             final long itemId, final long bookerId, final Status status, final LocalDateTime ldc);
+
+    //  Keyset-пагинация: (booking_start, id) строго меньше курсора, сортировка start DESC, id DESC. Избыточное
+    //  b.start <= :cursor_start даёт планировщику границу диапазона по индексу (..., booking_start DESC, id DESC):
+    //  без него OR не становится условием индекса, и страница читается с начала индекса с фильтрацией
+    String BEFORE_CURSOR = "AND b.start <= :cursor_start " +
+            "AND (b.start < :cursor_start OR (b.start = :cursor_start AND b.id < :cursor_id)) ";
+    String ORDER_BY_CURSOR = "ORDER BY b.start DESC, b.id DESC";
+
+    // State.Past
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id AND " + PAST_PHASE +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<Booking> findPastByBookerIdBeforeCursor(@Param("booker_id") final long bookerId,
+                                                 @Param("cursor_start") final LocalDateTime cursorStart,
+                                                 @Param("cursor_id") final long cursorId,
+                                                 final Pageable pageable);
+
+    // State.Current
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id AND " + CURRENT_PHASE +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<Booking> findCurrentByBookerIdBeforeCursor(@Param("booker_id") final long bookerId,
+                                                    @Param("cursor_start") final LocalDateTime cursorStart,
+                                                    @Param("cursor_id") final long cursorId,
+                                                    final Pageable pageable);
+
+    // State.Future
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id AND " + FUTURE_PHASE +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<Booking> findFutureByBookerIdBeforeCursor(@Param("booker_id") final long bookerId,
+                                                   @Param("cursor_start") final LocalDateTime cursorStart,
+                                                   @Param("cursor_id") final long cursorId,
+                                                   final Pageable pageable);
+
+    // State.Status
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id AND b.status = :status " +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<Booking> findByBookerIdAndStatusBeforeCursor(@Param("booker_id") final long bookerId,
+                                                      @Param("status") final Status status,
+                                                      @Param("cursor_start") final LocalDateTime cursorStart,
+                                                      @Param("cursor_id") final long cursorId,
+                                                      final Pageable pageable);
+
+    // State.All
+    @Query("select b from Booking as b " +
+            "where b.booker.id = :booker_id " +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<Booking> findByBookerIdBeforeCursor(@Param("booker_id") final long bookerId,
+                                             @Param("cursor_start") final LocalDateTime cursorStart,
+                                             @Param("cursor_id") final long cursorId,
+                                             final Pageable pageable);
+
+    //  State.Past
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id AND " + PAST_PHASE +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingResponseDto> findPastByItemOwnerIdBeforeCursor(@Param("owner_id") final long ownerId,
+                                                               @Param("cursor_start") final LocalDateTime cursorStart,
+                                                               @Param("cursor_id") final long cursorId,
+                                                               final Pageable pageable);
+
+    //  State.Current
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id AND " + CURRENT_PHASE +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingResponseDto> findCurrentByItemOwnerIdBeforeCursor(@Param("owner_id") final long ownerId,
+                                                                  @Param("cursor_start") final LocalDateTime cursorStart,
+                                                                  @Param("cursor_id") final long cursorId,
+                                                                  final Pageable pageable);
+
+    //  State.Future
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id AND " + FUTURE_PHASE +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingResponseDto> findFutureByItemOwnerIdBeforeCursor(@Param("owner_id") final long ownerId,
+                                                                 @Param("cursor_start") final LocalDateTime cursorStart,
+                                                                 @Param("cursor_id") final long cursorId,
+                                                                 final Pageable pageable);
+
+    //  State.Status
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id AND b.status = :status " +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingResponseDto> findByItemOwnerIdAndStatusBeforeCursor(@Param("owner_id") final long ownerId,
+                                                                    @Param("status") final Status status,
+                                                                    @Param("cursor_start") final LocalDateTime cursorStart,
+                                                                    @Param("cursor_id") final long cursorId,
+                                                                    final Pageable pageable);
+
+    //  State.All
+    @Query(SELECT_OWNER_BOOKING_DTO +
+            "where it.owner.id = :owner_id " +
+            BEFORE_CURSOR + ORDER_BY_CURSOR)
+    List<BookingResponseDto> findByItemOwnerIdBeforeCursor(@Param("owner_id") final long ownerId,
+                                                           @Param("cursor_start") final LocalDateTime cursorStart,
+                                                           @Param("cursor_id") final long cursorId,
+                                                           final Pageable pageable);
+
+    //  Полуинтервалы [start, end): смежные брони не пересекаются
+    @Query("select b from Booking as b " +
+            "where b.item.id IN :item_ids AND b.status IN :statuses " +
+            "AND b.start < :end_time AND b.end > :start_time")
+    List<Booking> findOverlapping(@Param("item_ids") final Collection<Long> itemIds,
+                                  @Param("start_time") final LocalDateTime start,
+                                  @Param("end_time") final LocalDateTime end,
+                                  @Param("statuses") final Collection<Status> statuses);
+
+    @Query("select b from Booking as b " +
+            "where b.item.id = :item_id AND b.status IN :statuses")
+    List<Booking> findByItemIdAndStatusIn(@Param("item_id") final long itemId,
+                                          @Param("statuses") final Collection<Status> statuses);
+
+    @Query(SELECT_OWNER_BOOKING_DTO + "where b.id = :booking_id")
+    Optional<BookingResponseDto> findBookingDtoById(@Param("booking_id") final long bookingId);
+
+    //  Статус меняется одним UPDATE, только если бронь владельца всё ещё в статусе current; version растёт
+    //  так же, как при сохранении сущности, и параллельное изменение через Booking получит OptimisticLockException
+    @Modifying
+    @Query("update Booking as b set b.status = :status, b.version = b.version + 1 " +
+            "where b.id = :booking_id AND b.status = :current " +
+            "AND b.item.id IN (select it.id from Item as it where it.owner.id = :owner_id)")
+    int updateStatusIfCurrent(@Param("booking_id") final long bookingId,
+                              @Param("owner_id") final long ownerId,
+                              @Param("current") final Status current,
+                              @Param("status") final Status status);
+
+    //  Выборки BookingPhaseScheduler: брони, чья фаза отстала от времени, в порядке наступления перехода
+    @Query("select b.id from Booking as b " +
+            "where b.phase IN :phases AND b.end < :now_time ORDER BY b.end")
+    List<Long> findIdsByPhaseInAndEndBefore(@Param("phases") final Collection<Phase> phases,
+                                            @Param("now_time") final LocalDateTime now,
+                                            final Pageable pageable);
+
+    @Query("select b.id from Booking as b " +
+            "where b.phase = :phase AND b.start <= :now_time ORDER BY b.start")
+    List<Long> findIdsByPhaseAndStartNotAfter(@Param("phase") final Phase phase,
+                                              @Param("now_time") final LocalDateTime now,
+                                              final Pageable pageable);
+
+    //  Минимум по одной фазе: равенство даёт чтение первой записи booking_phase_end_idx, IN - проход по таблице
+    @Query("select min(b.end) from Booking as b where b.phase = :phase")
+    Optional<LocalDateTime> findMinEndByPhase(@Param("phase") final Phase phase);
+
+    @Query("select min(b.start) from Booking as b where b.phase = :phase")
+    Optional<LocalDateTime> findMinStartByPhase(@Param("phase") final Phase phase);
+
+    //  Фаза только растёт: условие по фазе делает повторный перевод (например, другим экземпляром сервера) пустым.
+    //  version не меняется: сущность Booking фазу не записывает (updatable = false) и с переводом не конфликтует
+    @Modifying
+    @Query("update Booking as b set b.phase = :phase " +
+            "where b.id IN :ids AND b.phase IN :from_phases")
+    int updatePhase(@Param("ids") final Collection<Long> ids,
+                    @Param("from_phases") final Collection<Phase> fromPhases,
+                    @Param("phase") final Phase phase);
 }
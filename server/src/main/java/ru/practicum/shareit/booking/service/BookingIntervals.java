@@ -0,0 +1,87 @@
+package ru.practicum.shareit.booking.service;
+
+import ru.practicum.shareit.booking.model.Booking;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Занятое время предметов: для каждого предмета - непересекающиеся полуинтервалы [start, end),
+ * упорядоченные по началу. Пересекающиеся и смежные брони сливаются в один интервал, поэтому
+ * пересечение с новым интервалом проверяется одним поиском соседа слева от его конца.
+ */
+public class BookingIntervals {
+    private final Map<Long, TreeMap<LocalDateTime, LocalDateTime>> busy = new HashMap<>();
+
+    public static BookingIntervals of(final Iterable<Booking> bookings) {
+        final BookingIntervals intervals = new BookingIntervals();
+
+        for (Booking booking : bookings) {
+            intervals.add(booking.getItem().getId(), booking.getStart(), booking.getEnd());
+        }
+
+        return intervals;
+    }
+
+    public BookingIntervals copy() {
+        final BookingIntervals copy = new BookingIntervals();
+        busy.forEach((itemId, itemBusy) -> copy.busy.put(itemId, new TreeMap<>(itemBusy)));
+        return copy;
+    }
+
+    //  Интервалы предмета, пересекающие [from, to), без обрезки по границам окна
+    public NavigableMap<LocalDateTime, LocalDateTime> busy(final long itemId,
+                                                           final LocalDateTime from, final LocalDateTime to) {
+        final TreeMap<LocalDateTime, LocalDateTime> itemBusy = busy.get(itemId);
+
+        if (itemBusy == null || !from.isBefore(to))
+            return Collections.emptyNavigableMap();
+
+        final Map.Entry<LocalDateTime, LocalDateTime> left = itemBusy.lowerEntry(from);
+        final LocalDateTime first = left != null && left.getValue().isAfter(from) ? left.getKey() : from;
+
+        return Collections.unmodifiableNavigableMap(itemBusy.subMap(first, true, to, false));
+    }
+
+    public boolean overlaps(final long itemId, final LocalDateTime start, final LocalDateTime end) {
+        final TreeMap<LocalDateTime, LocalDateTime> itemBusy = busy.get(itemId);
+
+        if (itemBusy == null)
+            return false;
+
+        final Map.Entry<LocalDateTime, LocalDateTime> left = itemBusy.lowerEntry(end);
+
+        return left != null && left.getValue().isAfter(start);
+    }
+
+    public void add(final long itemId, final LocalDateTime start, final LocalDateTime end) {
+        final TreeMap<LocalDateTime, LocalDateTime> itemBusy = busy.computeIfAbsent(itemId, id -> new TreeMap<>());
+
+        LocalDateTime mergedStart = start;
+        LocalDateTime mergedEnd = end;
+
+        final Map.Entry<LocalDateTime, LocalDateTime> left = itemBusy.floorEntry(start);
+        if (left != null && !left.getValue().isBefore(start)) {
+            mergedStart = left.getKey();
+            mergedEnd = max(mergedEnd, left.getValue());
+            itemBusy.remove(left.getKey());
+        }
+
+        for (Map.Entry<LocalDateTime, LocalDateTime> right = itemBusy.ceilingEntry(mergedStart);
+             right != null && !right.getKey().isAfter(mergedEnd);
+             right = itemBusy.ceilingEntry(mergedStart)) {
+            mergedEnd = max(mergedEnd, right.getValue());
+            itemBusy.remove(right.getKey());
+        }
+
+        itemBusy.put(mergedStart, mergedEnd);
+    }
+
+    private static LocalDateTime max(final LocalDateTime first, final LocalDateTime second) {
+        return first.isAfter(second) ? first : second;
+    }
+}
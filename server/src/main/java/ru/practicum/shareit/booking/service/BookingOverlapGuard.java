@@ -0,0 +1,72 @@
+package ru.practicum.shareit.booking.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Function;
+
+/**
+ * Не даёт забронировать предмет на время, пересекающееся с WAITING/APPROVED бронями. Предметы запроса
+ * блокируются полосами из фиксированного набора ReentrantLock до начала транзакции и освобождаются после
+ * её завершения: проверка пересечений и вставка брони атомарны, брони других предметов идут параллельно,
+ * а ожидающие очереди запросы не держат соединения с БД. Между экземплярами сервера пересечения отсекает
+ * ограничение booking_no_overlap в PostgreSQL.
+ */
+@Component
+@Slf4j
+public class BookingOverlapGuard {
+    public static final List<Status> BLOCKING_STATUSES = List.of(Status.WAITING, Status.APPROVED);
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final ReentrantLock[] stripes;
+
+    public BookingOverlapGuard(final BookingRepository bookingRepository,
+                               final TransactionTemplate transactionTemplate,
+                               @Value("${shareit.booking.lock-stripes:1024}") final int stripes) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.stripes = new ReentrantLock[stripes];
+
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    /**
+     * Выполняет action в новой транзакции, пока предметы itemIds заблокированы. action получает занятое время
+     * этих предметов в окне [from, to) и дополняет его бронями, которые создаёт.
+     */
+    public <T> T reserve(final Collection<Long> itemIds, final LocalDateTime from, final LocalDateTime to,
+                         final Function<BookingIntervals, T> action) {
+        log.debug("BookingOverlapGuard - reserve({}, {}, {})", itemIds, from, to);
+
+        //  Полосы берутся по возрастанию номера - пакеты с общими предметами не блокируют друг друга навечно
+        final int[] locked = itemIds.stream()
+                .mapToInt(itemId -> Math.floorMod(Long.hashCode(itemId), stripes.length))
+                .distinct()
+                .sorted()
+                .toArray();
+
+        for (int stripe : locked) {
+            stripes[stripe].lock();
+        }
+
+        try {
+            return transactionTemplate.execute(status -> action.apply(itemIds.isEmpty() ? new BookingIntervals()
+                    : BookingIntervals.of(bookingRepository.findOverlapping(itemIds, from, to, BLOCKING_STATUSES))));
+        } finally {
+            for (int i = locked.length - 1; i >= 0; i--) {
+                stripes[locked[i]].unlock();
+            }
+        }
+    }
+}
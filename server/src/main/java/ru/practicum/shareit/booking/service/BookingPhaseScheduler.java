@@ -0,0 +1,130 @@
+package ru.practicum.shareit.booking.service;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Pageable;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Phase;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Supplier;
+
+/**
+ * Продвигает фазу броней (booking.phase) по времени: FUTURE/CURRENT -> PAST, затем FUTURE -> CURRENT.
+ * Брони переводятся пачками по shareit.booking.phase.batch-size, каждая пачка - отдельная короткая транзакция.
+ * Выборки по состоянию смотрят только на фазу, поэтому отстают от времени на интервал между проходами
+ * (shareit.booking.phase.interval) плюс длительность прохода.
+ * Метрики: shareit.booking.phase.transitions{phase} - число переведённых броней, shareit.booking.phase.lag -
+ * насколько фаза отставала от времени перед последним проходом, shareit.booking.phase.run.duration - его длительность.
+ */
+@Component
+@Slf4j
+public class BookingPhaseScheduler implements MeterBinder {
+    private static final List<Phase> NOT_PAST = List.of(Phase.FUTURE, Phase.CURRENT);
+    private static final List<Phase> FUTURE = List.of(Phase.FUTURE);
+
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+    private final int batchSize;
+    private final Supplier<LocalDateTime> clock;
+
+    private final Map<Phase, AtomicLong> transitions = new EnumMap<>(Phase.class);
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final AtomicLong runMillis = new AtomicLong();
+
+    @Autowired
+    public BookingPhaseScheduler(final BookingRepository bookingRepository,
+                                 final TransactionTemplate transactionTemplate,
+                                 @Value("${shareit.booking.phase.batch-size:500}") final int batchSize) {
+        this(bookingRepository, transactionTemplate, batchSize, LocalDateTime::now);
+    }
+
+    public BookingPhaseScheduler(final BookingRepository bookingRepository,
+                                 final TransactionTemplate transactionTemplate,
+                                 final int batchSize, final Supplier<LocalDateTime> clock) {
+        this.bookingRepository = bookingRepository;
+        this.transactionTemplate = transactionTemplate;
+        this.batchSize = batchSize;
+        this.clock = clock;
+
+        transitions.put(Phase.CURRENT, new AtomicLong());
+        transitions.put(Phase.PAST, new AtomicLong());
+    }
+
+    @Scheduled(fixedDelayString = "${shareit.booking.phase.interval:PT1S}")
+    public void advance() {
+        final long startNanos = System.nanoTime();
+        final LocalDateTime now = clock.get();
+
+        lagMillis.set(Math.max(Math.max(
+                lagMillis(bookingRepository.findMinEndByPhase(Phase.FUTURE), now),
+                lagMillis(bookingRepository.findMinEndByPhase(Phase.CURRENT), now)),
+                lagMillis(bookingRepository.findMinStartByPhase(Phase.FUTURE), now)));
+
+        final int past = advance(NOT_PAST, Phase.PAST,
+                () -> bookingRepository.findIdsByPhaseInAndEndBefore(NOT_PAST, now, Pageable.ofSize(batchSize)));
+        final int current = advance(FUTURE, Phase.CURRENT,
+                () -> bookingRepository.findIdsByPhaseAndStartNotAfter(Phase.FUTURE, now, Pageable.ofSize(batchSize)));
+
+        runMillis.set(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+
+        if (past + current > 0)
+            log.debug("BookingPhaseScheduler - advance(): CURRENT {}, PAST {} за {} мс", current, past, runMillis.get());
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        transitions.forEach((phase, counter) -> FunctionCounter.builder("shareit.booking.phase.transitions", counter, AtomicLong::get)
+                .tag("phase", phase.name())
+                .register(registry));
+        TimeGauge.builder("shareit.booking.phase.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(registry);
+        TimeGauge.builder("shareit.booking.phase.run.duration", runMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+                .register(registry);
+    }
+
+    public long transitions(final Phase phase) {
+        return transitions.get(phase).get();
+    }
+
+    public Duration lag() {
+        return Duration.ofMillis(lagMillis.get());
+    }
+
+    private int advance(final List<Phase> fromPhases, final Phase phase, final Supplier<List<Long>> dueIds) {
+        int total = 0;
+        int advanced;
+
+        do {
+            advanced = transactionTemplate.execute(status -> {
+                final List<Long> ids = dueIds.get();
+                return ids.isEmpty() ? 0 : bookingRepository.updatePhase(ids, fromPhases, phase);
+            });
+            transitions.get(phase).addAndGet(advanced);
+            total += advanced;
+        } while (advanced == batchSize);
+
+        return total;
+    }
+
+    private static long lagMillis(final Optional<LocalDateTime> due, final LocalDateTime now) {
+        return due.filter(moment -> moment.isBefore(now))
+                .map(moment -> Duration.between(moment, now).toMillis())
+                .orElse(0L);
+    }
+}
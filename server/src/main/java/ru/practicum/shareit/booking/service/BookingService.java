@@ -4,6 +4,7 @@ import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.common.batch.BatchResultDto;
 
 import java.util.List;
 import java.util.Optional;
@@ -14,6 +15,8 @@ public interface BookingService {
 
     BookingResponseDto createBooking(final BookingRequestDto bookingDto, final long bookerId);
 
+    List<BatchResultDto<BookingResponseDto>> createBookings(final List<BookingRequestDto> bookingDtos, final long bookerId);
+
     BookingResponseDto toBook(final long ownerId, final long bookingId, final boolean approved);
 
     Booking getBookingByIdAndOwnerIdOrBookerId(final long bookingId, final long bookerOrOwnerId);
@@ -31,4 +34,14 @@ public interface BookingService {
                                                   final State state,
                                                   final int from,
                                                   final int size);
+
+    List<BookingResponseDto> getAllBookingByBooker(final long userId,
+                                                   final State state,
+                                                   final String after,
+                                                   final int size);
+
+    List<BookingResponseDto> getAllBookingByOwner(final long ownerId,
+                                                  final State state,
+                                                  final String after,
+                                                  final int size);
 }
@@ -5,7 +5,9 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Propagation;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingCursor;
 import ru.practicum.shareit.booking.dto.BookingMapper;
 import ru.practicum.shareit.booking.dto.BookingRequestDto;
 import ru.practicum.shareit.booking.dto.BookingResponseDto;
@@ -14,6 +16,9 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.batch.BatchRequests;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.exception.ItemOwnerIncorrectException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
@@ -21,8 +26,15 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -32,8 +44,11 @@ public class BookingServiceImpl implements BookingService {
     private final BookingRepository bookingRepository;
     private final UserService userService;
     private final ItemService itemService;
+    private final BookingOverlapGuard overlapGuard;
+    private final ItemAvailabilityCache availabilityCache;
 
     private static final String NO_FOUND_BOOKING = "Такого брони с id: %d не существует в хранилище";
+    private static final String NO_FOUND_ITEM = "Такого предмета с id: %d не существует в хранилище";
 
     private Optional<Booking> findBookingById(long bookingId) {
         return bookingRepository.findById(bookingId);
@@ -45,52 +60,149 @@ public class BookingServiceImpl implements BookingService {
                 .orElseThrow(() -> new BookingByIdAndOwnerIdNotFoundException(String.format(NO_FOUND_BOOKING, bookingId)));
     }
 
-    @Transactional
+    //  Транзакцию открывает BookingOverlapGuard, когда предмет уже заблокирован
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
     @Override
     public BookingResponseDto createBooking(final BookingRequestDto bookingRequestDto, final long bookerId) {
 
         fieldRequestValidation(bookingRequestDto);
 
-        final Item item = itemService.getItemById(bookingRequestDto.getItemId());
-        itemToCreateBookValidation(item, bookerId);
+        return overlapGuard.reserve(List.of(bookingRequestDto.getItemId()),
+                bookingRequestDto.getStart(), bookingRequestDto.getEnd(), intervals -> {
+
+                    final Item item = itemService.getItemById(bookingRequestDto.getItemId());
+                    itemToCreateBookValidation(item, bookerId);
+                    overlapValidation(intervals, bookingRequestDto);
+
+                    final User user = userService.getUserById(bookerId);
 
-        final User user = userService.getUserById(bookerId);
+                    final Booking booking = BookingMapper.mapToBooking(bookingRequestDto, bookerId);
+                    booking.setBooker(user);
+                    booking.setItem(item);
 
-        final Booking booking = BookingMapper.mapToBooking(bookingRequestDto, bookerId);
-        booking.setBooker(user);
-        booking.setItem(item);
+                    final Booking savedBooking = bookingRepository.save(booking);
+                    availabilityCache.add(item.getId(), savedBooking.getStart(), savedBooking.getEnd());
 
-        return BookingMapper.mapToBookingResponseDto(bookingRepository.save(booking));
+                    return BookingMapper.mapToBookingResponseDto(savedBooking);
+                });
     }
 
+    //  Те же проверки, что и в createBooking, но ошибка отклоняет только свой элемент пакета;
+    //  брони пакета проверяются на пересечение и друг с другом.
+    //  Поля проверяются до блокировки: предметы и границы интервала берутся только из прошедших проверку элементов
+    @Transactional(propagation = Propagation.NOT_SUPPORTED)
+    @Override
+    public List<BatchResultDto<BookingResponseDto>> createBookings(final List<BookingRequestDto> bookingDtos,
+                                                                   final long bookerId) {
+        log.debug("BookingServiceImpl - service.createBookings({}, {})", bookingDtos.size(), bookerId);
+
+        BatchRequests.checkSize(bookingDtos);
+
+        final List<BatchResultDto<BookingResponseDto>> results =
+                new ArrayList<>(Collections.nCopies(bookingDtos.size(), null));
+        final List<Integer> validIndices = new ArrayList<>();
+
+        for (int i = 0; i < bookingDtos.size(); i++) {
+            try {
+                fieldRequestValidation(bookingDtos.get(i));
+                validIndices.add(i);
+            } catch (BookingFieldValidationException e) {
+                results.set(i, BatchResultDto.rejected(i, e));
+            }
+        }
+
+        final Set<Long> itemIds = validIndices.stream()
+                .map(i -> bookingDtos.get(i).getItemId())
+                .collect(Collectors.toSet());
+        final LocalDateTime from = validIndices.stream()
+                .map(i -> bookingDtos.get(i).getStart())
+                .min(Comparator.naturalOrder())
+                .orElse(LocalDateTime.MIN);
+        final LocalDateTime to = validIndices.stream()
+                .map(i -> bookingDtos.get(i).getEnd())
+                .max(Comparator.naturalOrder())
+                .orElse(LocalDateTime.MAX);
+
+        return overlapGuard.reserve(itemIds, from, to, intervals -> {
+            final User user = userService.getUserById(bookerId);
+            final Map<Long, Item> items = itemIds.isEmpty() ? Map.of() : itemService.getItemsByIds(itemIds).stream()
+                    .collect(Collectors.toMap(Item::getId, Function.identity()));
+
+            final List<Integer> indices = new ArrayList<>();
+            final List<Booking> bookings = new ArrayList<>();
+
+            for (int i : validIndices) {
+                final BookingRequestDto bookingDto = bookingDtos.get(i);
+
+                try {
+                    final Item item = items.get(bookingDto.getItemId());
+                    if (item == null)
+                        throw new ItemNotFoundException(String.format(NO_FOUND_ITEM, bookingDto.getItemId()));
+
+                    itemToCreateBookValidation(item, bookerId);
+                    overlapValidation(intervals, bookingDto);
+
+                    final Booking booking = BookingMapper.mapToBooking(bookingDto, bookerId);
+                    booking.setBooker(user);
+                    booking.setItem(item);
+
+                    intervals.add(item.getId(), booking.getStart(), booking.getEnd());
+                    indices.add(i);
+                    bookings.add(booking);
+                } catch (ItemNotFoundException | BookingItemUnavailableException
+                         | SameBookerAndOwnerException | BookingOverlapException e) {
+                    results.set(i, BatchResultDto.rejected(i, e));
+                }
+            }
+
+            final List<Booking> savedBookings = bookingRepository.saveAll(bookings);
+
+            for (int i = 0; i < savedBookings.size(); i++) {
+                final Booking savedBooking = savedBookings.get(i);
+                availabilityCache.add(savedBooking.getItem().getId(), savedBooking.getStart(), savedBooking.getEnd());
+
+                final int index = indices.get(i);
+                results.set(index, BatchResultDto.created(index, BookingMapper.mapToBookingResponseDto(savedBooking)));
+            }
+
+            return results;
+        });
+    }
+
+    //  Решение владельца принимается по брони в статусе WAITING одним условным UPDATE, без загрузки сущностей.
+    //  Если строка не обновилась, причина выясняется по текущему состоянию брони: из двух параллельных
+    //  решений по одной брони проходит только первое, второе получает конфликт
     @Transactional
     @Override
     public BookingResponseDto toBook(long ownerId, long bookingId, boolean approved) {
 
         userService.userExists(ownerId);
 
-        final Booking booking = getBookingById(bookingId);
+        final Status status = approved ? Status.APPROVED : Status.REJECTED;
+
+        if (bookingRepository.updateStatusIfCurrent(bookingId, ownerId, Status.WAITING, status) == 0) {
+            final Booking booking = getBookingById(bookingId);
 
-        try {
-            itemService.ownerOwnsItem(booking.getItem().getId(), ownerId);
-        } catch (ItemOwnerIncorrectException e) {
+            try {
+                itemService.ownerOwnsItem(booking.getItem().getId(), ownerId);
+            } catch (ItemOwnerIncorrectException e) {
 //            Дублирую, так как в этом случае Postman тесту нужен не 403, а 404
-            String message =
-                    String.format("Пользователь c id %d  - не является владельцем вещи id %d", booking.getItem().getId(), ownerId);
-            log.warn(message);
-            throw new BookingItemOwnerIncorrectException(message);
-        }
+                String message =
+                        String.format("Пользователь c id %d  - не является владельцем вещи id %d", booking.getItem().getId(), ownerId);
+                log.warn(message);
+                throw new BookingItemOwnerIncorrectException(message);
+            }
 
-        statusToBookValidation(booking.getStatus(), approved);
+            statusToBookValidation(booking.getStatus(), approved);
+        }
 
-        if (approved)
-            booking.setStatus(Status.APPROVED);
-        else
-            booking.setStatus(Status.REJECTED);
+        final BookingResponseDto bookingDto = bookingRepository.findBookingDtoById(bookingId)
+                .orElseThrow(() -> new BookingByIdAndOwnerIdNotFoundException(String.format(NO_FOUND_BOOKING, bookingId)));
 
-        final Booking approvedBooking = bookingRepository.save(booking);
+        if (!BookingOverlapGuard.BLOCKING_STATUSES.contains(status))
+            availabilityCache.evict(bookingDto.getItem().getId());
 
-        return BookingMapper.mapToBookingResponseDto(approvedBooking);
+        return bookingDto;
     }
 
     @Override
@@ -124,21 +236,20 @@ public class BookingServiceImpl implements BookingService {
         userService.userExists(bookerId);
 
         List<Booking> result;
-        var now = LocalDateTime.now();
         Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size);
 
         switch (state) {
             case PAST:
                 result = bookingRepository
-                        .findByBookerIdAndEndLessThanOrderByStartDesc(bookerId, now, pageable);
+                        .findPastByBookerId(bookerId, pageable);
                 break;
             case CURRENT:
                 result = bookingRepository
-                        .findByBookerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(bookerId, now, now, pageable);
+                        .findCurrentByBookerId(bookerId, pageable);
                 break;
             case FUTURE:
                 result = bookingRepository
-                        .findByBookerIdAndStartGreaterThanEqualOrderByStartDesc(bookerId, now, pageable);
+                        .findFutureByBookerId(bookerId, pageable);
                 break;
             case WAITING:
                 result = bookingRepository
@@ -164,22 +275,21 @@ public class BookingServiceImpl implements BookingService {
 
         userService.userExists(ownerId);
 
-        List<Booking> result;
-        var now = LocalDateTime.now();
+        List<BookingResponseDto> result;
         Pageable pageable = PageRequest.of(from > 0 ? from / size : 0, size);
 
         switch (state) {
             case PAST:
                 result = bookingRepository
-                        .findByItemOwnerIdAndEndLessThanOrderByStartDesc(ownerId, now, pageable);
+                        .findPastByItemOwnerId(ownerId, pageable);
                 break;
             case CURRENT:
                 result = bookingRepository
-                        .findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(ownerId, now, now, pageable);
+                        .findCurrentByItemOwnerId(ownerId, pageable);
                 break;
             case FUTURE:
                 result = bookingRepository
-                        .findByItemOwnerIdAndStartGreaterThanEqualOrderByStartDesc(ownerId, now, pageable);
+                        .findFutureByItemOwnerId(ownerId, pageable);
                 break;
             case WAITING:
                 result = bookingRepository
@@ -194,9 +304,107 @@ public class BookingServiceImpl implements BookingService {
                         .findByItemOwnerIdOrderByStartDesc(ownerId, pageable);
         }
 
+        return result;
+    }
+
+    @Override
+    public List<BookingResponseDto> getAllBookingByBooker(final long bookerId,
+                                                          final State state,
+                                                          final String after,
+                                                          final int size) {
+        log.debug("BookingServiceImpl - service.getAllBookingByBooker({}, {}, {}, {})", bookerId, state, after, size);
+
+        //  Первая страница курсорного режима совпадает с первой страницей from/size
+        if (after == null)
+            return getAllBookingByBooker(bookerId, state, 0, size);
+
+        final BookingCursor cursor = BookingCursor.parse(after);
+
+        userService.userExists(bookerId);
+
+        List<Booking> result;
+        var start = cursor.getStart();
+        var id = cursor.getId();
+        Pageable pageable = Pageable.ofSize(size);
+
+        switch (state) {
+            case PAST:
+                result = bookingRepository
+                        .findPastByBookerIdBeforeCursor(bookerId, start, id, pageable);
+                break;
+            case CURRENT:
+                result = bookingRepository
+                        .findCurrentByBookerIdBeforeCursor(bookerId, start, id, pageable);
+                break;
+            case FUTURE:
+                result = bookingRepository
+                        .findFutureByBookerIdBeforeCursor(bookerId, start, id, pageable);
+                break;
+            case WAITING:
+                result = bookingRepository
+                        .findByBookerIdAndStatusBeforeCursor(bookerId, Status.WAITING, start, id, pageable);
+                break;
+            case REJECTED:
+                result = bookingRepository
+                        .findByBookerIdAndStatusBeforeCursor(bookerId, Status.REJECTED, start, id, pageable);
+                break;
+            default:
+                result = bookingRepository
+                        .findByBookerIdBeforeCursor(bookerId, start, id, pageable);
+        }
+
         return BookingMapper.mapToBookingResponseDto(result);
     }
 
+    @Override
+    public List<BookingResponseDto> getAllBookingByOwner(final long ownerId,
+                                                         final State state,
+                                                         final String after,
+                                                         final int size) {
+        log.debug("BookingServiceImpl - service.getAllBookingByOwner({}, {}, {}, {})", ownerId, state, after, size);
+
+        //  Первая страница курсорного режима совпадает с первой страницей from/size
+        if (after == null)
+            return getAllBookingByOwner(ownerId, state, 0, size);
+
+        final BookingCursor cursor = BookingCursor.parse(after);
+
+        userService.userExists(ownerId);
+
+        List<BookingResponseDto> result;
+        var start = cursor.getStart();
+        var id = cursor.getId();
+        Pageable pageable = Pageable.ofSize(size);
+
+        switch (state) {
+            case PAST:
+                result = bookingRepository
+                        .findPastByItemOwnerIdBeforeCursor(ownerId, start, id, pageable);
+                break;
+            case CURRENT:
+                result = bookingRepository
+                        .findCurrentByItemOwnerIdBeforeCursor(ownerId, start, id, pageable);
+                break;
+            case FUTURE:
+                result = bookingRepository
+                        .findFutureByItemOwnerIdBeforeCursor(ownerId, start, id, pageable);
+                break;
+            case WAITING:
+                result = bookingRepository
+                        .findByItemOwnerIdAndStatusBeforeCursor(ownerId, Status.WAITING, start, id, pageable);
+                break;
+            case REJECTED:
+                result = bookingRepository
+                        .findByItemOwnerIdAndStatusBeforeCursor(ownerId, Status.REJECTED, start, id, pageable);
+                break;
+            default:
+                result = bookingRepository
+                        .findByItemOwnerIdBeforeCursor(ownerId, start, id, pageable);
+        }
+
+        return result;
+    }
+
     private void itemToCreateBookValidation(final Item item, final long bookerId) {
         log.debug("BookingServiceImpl - service.itemIsAvailable({})", item);
 
@@ -221,18 +429,33 @@ public class BookingServiceImpl implements BookingService {
         LocalDateTime start = bookingRequestDto.getStart();
         LocalDateTime end = bookingRequestDto.getEnd();
 
-        if (end.isBefore(start) || end.equals(start) || start.isBefore(LocalDateTime.now())) {
+        if (bookingRequestDto.getItemId() == null || start == null || end == null
+                || end.isBefore(start) || end.equals(start) || start.isBefore(LocalDateTime.now())) {
             String message = "Не верные значения даты для бронирования - " + bookingRequestDto;
             log.warn(message);
             throw new BookingFieldValidationException(message);
         }
     }
 
+    private void overlapValidation(final BookingIntervals intervals, final BookingRequestDto bookingRequestDto) {
+        if (intervals.overlaps(bookingRequestDto.getItemId(), bookingRequestDto.getStart(), bookingRequestDto.getEnd())) {
+            String message = "Вещь уже забронирована на пересекающееся время - " + bookingRequestDto;
+            log.warn(message);
+            throw new BookingOverlapException(message);
+        }
+    }
+
     private void statusToBookValidation(final Status status, final boolean approve) {
         if (status.equals(Status.APPROVED) && approve) {
             String message = "Запись уже подтверждена - " + status;
             log.warn(message);
             throw new YetAprrovedBookingException(message);
         }
+
+        if (!status.equals(Status.WAITING)) {
+            String message = "Бронь уже рассмотрена владельцем - " + status;
+            log.warn(message);
+            throw new BookingStatusConflictException(message);
+        }
     }
 }
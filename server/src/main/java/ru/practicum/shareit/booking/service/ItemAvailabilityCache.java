@@ -0,0 +1,123 @@
+package ru.practicum.shareit.booking.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+
+/**
+ * Занятое время предметов для календаря доступности: WAITING/APPROVED брони предмета загружаются из БД при
+ * первом обращении и дальше обновляются созданием и подтверждением броней на этом экземпляре сервера.
+ * Закэшированные интервалы не изменяются - обновление подменяет их копией, поэтому чтение идёт без блокировок.
+ * Брони с других экземпляров сервера сюда не попадают: запись живёт shareit.availability-cache.ttl с момента загрузки
+ * из БД, ни чтения, ни локальные обновления этот срок не продлевают. Метрики - cache.gets{cache="item-availability"}.
+ */
+@Component
+@Slf4j
+public class ItemAvailabilityCache implements MeterBinder {
+    private static final String CACHE_NAME = "item-availability";
+
+    private final BookingRepository bookingRepository;
+    private final Cache<Long, BookingIntervals> intervals;
+
+    @Autowired
+    public ItemAvailabilityCache(final BookingRepository bookingRepository,
+                                 @Value("${shareit.availability-cache.max-size:10000}") final long maxSize,
+                                 @Value("${shareit.availability-cache.ttl:1m}") final Duration ttl) {
+        this(bookingRepository, maxSize, ttl, Ticker.systemTicker());
+    }
+
+    public ItemAvailabilityCache(final BookingRepository bookingRepository, final long maxSize, final Duration ttl,
+                                 final Ticker ticker) {
+        this.bookingRepository = bookingRepository;
+        this.intervals = Caffeine.newBuilder()
+                .maximumSize(maxSize)
+                .expireAfter(new ExpireAfterLoad(ttl.toNanos()))
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    public BookingIntervals get(final long itemId) {
+        return intervals.get(itemId, this::load);
+    }
+
+    //  Только после фиксации транзакции: откатившаяся бронь не должна попасть в календарь.
+    //  Параллельная загрузка того же предмета завершается раньше, поэтому бронь не теряется
+    public void add(final long itemId, final LocalDateTime start, final LocalDateTime end) {
+        afterCommit(() -> intervals.asMap().computeIfPresent(itemId, (id, cached) -> {
+            final BookingIntervals updated = cached.copy();
+            updated.add(id, start, end);
+            return updated;
+        }));
+    }
+
+    //  Слитые интервалы нельзя уменьшить на одну бронь - предмет загрузится заново при следующем запросе
+    public void evict(final long itemId) {
+        log.debug("ItemAvailabilityCache - evict({})", itemId);
+        afterCommit(() -> intervals.invalidate(itemId));
+    }
+
+    @Override
+    public void bindTo(final MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, intervals, CACHE_NAME);
+    }
+
+    private BookingIntervals load(final long itemId) {
+        log.debug("ItemAvailabilityCache - load({})", itemId);
+        return BookingIntervals.of(bookingRepository.findByItemIdAndStatusIn(itemId, BookingOverlapGuard.BLOCKING_STATUSES));
+    }
+
+    private static void afterCommit(final Runnable action) {
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                action.run();
+            }
+        });
+    }
+
+    //  expireAfterWrite продлевал бы запись при каждом add: срок отсчитывается только от загрузки из БД
+    private static final class ExpireAfterLoad implements Expiry<Long, BookingIntervals> {
+        private final long ttlNanos;
+
+        private ExpireAfterLoad(final long ttlNanos) {
+            this.ttlNanos = ttlNanos;
+        }
+
+        @Override
+        public long expireAfterCreate(final Long itemId, final BookingIntervals value, final long currentTime) {
+            return ttlNanos;
+        }
+
+        @Override
+        public long expireAfterUpdate(final Long itemId, final BookingIntervals value, final long currentTime,
+                                      final long currentDuration) {
+            return currentDuration;
+        }
+
+        @Override
+        public long expireAfterRead(final Long itemId, final BookingIntervals value, final long currentTime,
+                                    final long currentDuration) {
+            return currentDuration;
+        }
+    }
+}
@@ -1,8 +1,19 @@
 package ru.practicum.shareit.comment.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import ru.practicum.shareit.comment.model.Comment;
 
+import java.util.Collection;
+import java.util.List;
+
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
+    @Query("select c " +
+            "from Comment as c " +
+            "JOIN FETCH c.author " +
+            "where c.item.id IN (:item_ids) " +
+            "ORDER BY c.id ASC")
+    List<Comment> findAllByItemIdIn(@Param("item_ids") final Collection<Long> itemIds);
 }
@@ -0,0 +1,20 @@
+package ru.practicum.shareit.common.batch;
+
+import ru.practicum.shareit.common.exception.InvalidBatchSizeException;
+
+import java.util.List;
+
+/**
+ * Ограничение размера пакетного запроса. Шлюз проверяет тот же предел, но сервер доступен и напрямую.
+ */
+public final class BatchRequests {
+    public static final int MAX_SIZE = 1000;
+
+    private BatchRequests() {
+    }
+
+    public static void checkSize(final List<?> elements) {
+        if (elements.isEmpty() || elements.size() > MAX_SIZE)
+            throw new InvalidBatchSizeException("Размер пакета - " + elements.size());
+    }
+}
@@ -0,0 +1,107 @@
+package ru.practicum.shareit.common.batch;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.ResolvableType;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.server.ServerHttpRequest;
+import org.springframework.http.server.ServerHttpResponse;
+import org.springframework.lang.NonNull;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyAdvice;
+import ru.practicum.shareit.booking.exception.BookingFieldValidationException;
+import ru.practicum.shareit.booking.exception.BookingItemUnavailableException;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
+import ru.practicum.shareit.booking.exception.SameBookerAndOwnerException;
+import ru.practicum.shareit.common.error.ErrorResponse;
+import ru.practicum.shareit.common.handler.CommonControllerAdvice;
+import ru.practicum.shareit.item.exception.ItemFieldValidationException;
+import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.request.exception.RequestNotFoundException;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Отклонённые элементы пакета получают тот же статус и ErrorResponse, что и одиночный запрос.
+ * Исключения элементов перечислены здесь явно: статус совпадает с @ResponseStatus обработчика
+ * из {@link CommonControllerAdvice}, тело строит сам обработчик.
+ */
+@Slf4j
+@ControllerAdvice(basePackages = "ru.practicum.shareit")
+public class BatchResultBodyAdvice implements ResponseBodyAdvice<Object> {
+    private final Map<Class<? extends RuntimeException>, ElementError> errors = new HashMap<>();
+
+    public BatchResultBodyAdvice(final CommonControllerAdvice advice) {
+        register(ItemNotFoundException.class, HttpStatus.NOT_FOUND, advice::handleItemNotFoundException);
+        register(ItemFieldValidationException.class, HttpStatus.BAD_REQUEST,
+                advice::handleItemFieldValidationException);
+        register(RequestNotFoundException.class, HttpStatus.NOT_FOUND, advice::handleRequestNotFoundException);
+        register(BookingFieldValidationException.class, HttpStatus.BAD_REQUEST,
+                advice::handleBookingFieldValidationException);
+        register(BookingItemUnavailableException.class, HttpStatus.BAD_REQUEST,
+                advice::handleBookingItemUnavailableException);
+        register(SameBookerAndOwnerException.class, HttpStatus.NOT_FOUND, advice::handleSameBookerAndOwnerException);
+        register(BookingOverlapException.class, HttpStatus.CONFLICT, advice::handleBookingOverlapException);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <E extends RuntimeException> void register(final Class<E> type, final HttpStatus status,
+                                                       final Function<E, ErrorResponse> handler) {
+        errors.put(type, new ElementError(status, exception -> handler.apply((E) exception)));
+    }
+
+    Set<Class<? extends RuntimeException>> elementExceptions() {
+        return errors.keySet();
+    }
+
+    @Override
+    public boolean supports(@NonNull final MethodParameter returnType,
+                            @NonNull final Class<? extends HttpMessageConverter<?>> converterType) {
+        final ResolvableType type = ResolvableType.forMethodParameter(returnType);
+
+        return List.class.isAssignableFrom(returnType.getParameterType())
+                && BatchResultDto.class.equals(type.asCollection().getGeneric(0).resolve());
+    }
+
+    @Override
+    public Object beforeBodyWrite(final Object body, @NonNull final MethodParameter returnType,
+                                  @NonNull final MediaType selectedContentType,
+                                  @NonNull final Class<? extends HttpMessageConverter<?>> selectedConverterType,
+                                  @NonNull final ServerHttpRequest request, @NonNull final ServerHttpResponse response) {
+        if (body instanceof List) {
+            for (Object result : (List<?>) body) {
+                if (result instanceof BatchResultDto && ((BatchResultDto<?>) result).getException() != null)
+                    resolve((BatchResultDto<?>) result);
+            }
+        }
+
+        return body;
+    }
+
+    //  Неперечисленное исключение - не ошибка элемента, оно уходит дальше как есть
+    void resolve(final BatchResultDto<?> result) {
+        final RuntimeException exception = result.getException();
+        final ElementError error = errors.get(exception.getClass());
+
+        if (error == null)
+            throw exception;
+
+        log.debug("BatchResultBodyAdvice - resolve({}, {})", result.getIndex(), exception.getClass().getSimpleName());
+
+        result.setStatus(error.status.value());
+        result.setError(error.handler.apply(exception));
+    }
+
+    @RequiredArgsConstructor
+    private static final class ElementError {
+        private final HttpStatus status;
+        private final Function<RuntimeException, ErrorResponse> handler;
+    }
+}
@@ -0,0 +1,44 @@
+package ru.practicum.shareit.common.batch;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.http.HttpStatus;
+import ru.practicum.shareit.common.error.ErrorResponse;
+
+/**
+ * Результат одного элемента пакетного запроса: index - позиция элемента в теле запроса,
+ * status - HTTP-статус, который получил бы одиночный запрос, body или error - его ответ.
+ * Статус и ошибку отклонённого элемента по exception заполняет {@link BatchResultBodyAdvice}.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public class BatchResultDto<T> {
+    private int index;
+    private int status;
+    private T body;
+    private ErrorResponse error;
+    @JsonIgnore
+    private RuntimeException exception;
+
+    public static <T> BatchResultDto<T> created(final int index, final T body) {
+        return BatchResultDto.<T>builder()
+                .index(index)
+                .status(HttpStatus.CREATED.value())
+                .body(body)
+                .build();
+    }
+
+    public static <T> BatchResultDto<T> rejected(final int index, final RuntimeException exception) {
+        return BatchResultDto.<T>builder()
+                .index(index)
+                .exception(exception)
+                .build();
+    }
+}
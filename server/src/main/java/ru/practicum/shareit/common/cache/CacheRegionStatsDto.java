@@ -0,0 +1,22 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Статистика региона кэша второго уровня с момента запуска: type - entity или query,
+ * hits/misses/puts - попадания, промахи и записи в регион.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder(toBuilder = true)
+public class CacheRegionStatsDto {
+    private String region;
+    private String type;
+    private long hits;
+    private long misses;
+    private long puts;
+}
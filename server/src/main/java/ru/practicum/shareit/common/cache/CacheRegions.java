@@ -0,0 +1,35 @@
+package ru.practicum.shareit.common.cache;
+
+import org.hibernate.cache.spi.RegionFactory;
+import org.hibernate.jpa.QueryHints;
+
+import java.util.List;
+
+/**
+ * Регионы кэша второго уровня Hibernate. Все регионы создаются заранее в SecondLevelCacheConfig,
+ * поэтому новый регион нужно добавить и сюда, иначе фабрика сессий не запустится.
+ */
+public final class CacheRegions {
+    public static final String USER = "user";
+    public static final String ITEM = "item";
+    public static final String REQUEST = "request";
+
+    public static final String USER_BY_EMAIL = "query.user-by-email";
+    public static final String ITEM_BY_OWNER = "query.item-by-owner";
+    public static final String ITEMS_BY_REQUEST = "query.items-by-request";
+    public static final String REQUESTS_BY_REQUESTER = "query.requests-by-requester";
+
+    public static final String QUERY_RESULTS = RegionFactory.DEFAULT_QUERY_RESULTS_REGION_UNQUALIFIED_NAME;
+    public static final String UPDATE_TIMESTAMPS = RegionFactory.DEFAULT_UPDATE_TIMESTAMPS_REGION_UNQUALIFIED_NAME;
+
+    //  Подсказки для @QueryHints горячих запросов
+    public static final String HINT_CACHEABLE = QueryHints.HINT_CACHEABLE;
+    public static final String HINT_REGION = QueryHints.HINT_CACHE_REGION;
+
+    public static final List<String> ENTITY_REGIONS = List.of(USER, ITEM, REQUEST);
+    public static final List<String> QUERY_REGIONS = List.of(USER_BY_EMAIL, ITEM_BY_OWNER, ITEMS_BY_REQUEST,
+            REQUESTS_BY_REQUESTER, QUERY_RESULTS);
+
+    private CacheRegions() {
+    }
+}
@@ -0,0 +1,75 @@
+package ru.practicum.shareit.common.cache;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.boot.actuate.endpoint.annotation.Selector;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+/**
+ * /actuator/l2cache - статистика регионов кэша второго уровня Hibernate, /actuator/l2cache/{region} - одного региона.
+ * Есть только при shareit.l2-cache.stats.enabled=true - это свойство включает и статистику Hibernate.
+ */
+@Component
+@ConditionalOnProperty(name = "shareit.l2-cache.stats.enabled", havingValue = "true")
+@Endpoint(id = "l2cache")
+public class SecondLevelCacheEndpoint {
+    private static final String ENTITY = "entity";
+    private static final String QUERY = "query";
+
+    private final Statistics statistics;
+
+    public SecondLevelCacheEndpoint(final EntityManagerFactory entityManagerFactory) {
+        this.statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    @ReadOperation
+    public List<CacheRegionStatsDto> regions() {
+        return Stream.concat(CacheRegions.ENTITY_REGIONS.stream(), CacheRegions.QUERY_REGIONS.stream())
+                .map(this::findRegion)
+                .flatMap(Optional::stream)
+                .collect(Collectors.toList());
+    }
+
+    @ReadOperation
+    public CacheRegionStatsDto region(@Selector final String region) {
+        return findRegion(region).orElse(null);
+    }
+
+    private Optional<CacheRegionStatsDto> findRegion(final String region) {
+        if (CacheRegions.ENTITY_REGIONS.contains(region))
+            return Optional.of(mapToStatsDto(region, ENTITY, statistics.getDomainDataRegionStatistics(region)));
+
+        if (CacheRegions.QUERY_REGIONS.contains(region))
+            return Optional.of(mapToStatsDto(region, QUERY, statistics.getQueryRegionStatistics(region)));
+
+        return Optional.empty();
+    }
+
+    //  Регион запросов Hibernate поднимает при первом запросе к нему - до этого статистики нет
+    private static CacheRegionStatsDto mapToStatsDto(final String region, final String type,
+                                                     final CacheRegionStatistics regionStatistics) {
+        final CacheRegionStatsDto stats = CacheRegionStatsDto.builder()
+                .region(region)
+                .type(type)
+                .build();
+
+        if (regionStatistics == null)
+            return stats;
+
+        return stats.toBuilder()
+                .hits(regionStatistics.getHitCount())
+                .misses(regionStatistics.getMissCount())
+                .puts(regionStatistics.getPutCount())
+                .build();
+    }
+}
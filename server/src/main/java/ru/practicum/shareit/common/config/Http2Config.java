@@ -0,0 +1,34 @@
+package ru.practicum.shareit.common.config;
+
+import org.apache.coyote.UpgradeProtocol;
+import org.apache.coyote.http2.Http2Protocol;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.web.embedded.tomcat.TomcatServletWebServerFactory;
+import org.springframework.boot.web.server.WebServerFactoryCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * HTTP/2 без TLS (h2c) для шлюза: при server.http2.enabled=true Tomcat принимает h2c и через Upgrade,
+ * и сразу с преамбулы HTTP/2 (prior knowledge). Лимиты потоков на соединение подняты, чтобы запросы
+ * шлюза мультиплексировались в нескольких соединениях, а не ждали по 20 одновременно исполняемых.
+ */
+@Configuration
+@ConditionalOnProperty(name = "server.http2.enabled", havingValue = "true")
+public class Http2Config {
+
+    @Bean
+    public WebServerFactoryCustomizer<TomcatServletWebServerFactory> http2StreamsCustomizer(
+            @Value("${shareit.http2.max-concurrent-streams:200}") final long maxConcurrentStreams,
+            @Value("${shareit.http2.max-concurrent-stream-execution:200}") final int maxConcurrentStreamExecution) {
+        return factory -> factory.addConnectorCustomizers(connector -> {
+            for (UpgradeProtocol protocol : connector.findUpgradeProtocols()) {
+                if (protocol instanceof Http2Protocol) {
+                    ((Http2Protocol) protocol).setMaxConcurrentStreams(maxConcurrentStreams);
+                    ((Http2Protocol) protocol).setMaxConcurrentStreamExecution(maxConcurrentStreamExecution);
+                }
+            }
+        });
+    }
+}
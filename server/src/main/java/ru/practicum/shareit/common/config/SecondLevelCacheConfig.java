@@ -0,0 +1,77 @@
+package ru.practicum.shareit.common.config;
+
+import com.github.benmanes.caffeine.jcache.configuration.CaffeineConfiguration;
+import com.github.benmanes.caffeine.jcache.spi.CaffeineCachingProvider;
+import org.hibernate.cache.jcache.ConfigSettings;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.env.Environment;
+
+import javax.cache.CacheManager;
+import javax.cache.Caching;
+import java.net.URI;
+import java.time.Duration;
+import java.util.OptionalLong;
+import java.util.UUID;
+import java.util.stream.Stream;
+
+import static ru.practicum.shareit.common.cache.CacheRegions.ENTITY_REGIONS;
+import static ru.practicum.shareit.common.cache.CacheRegions.QUERY_REGIONS;
+import static ru.practicum.shareit.common.cache.CacheRegions.UPDATE_TIMESTAMPS;
+
+/**
+ * Кэш второго уровня Hibernate на JCache (Caffeine). Регионы создаются здесь с ограничением размера
+ * shareit.l2-cache.{регион}.max-size (по умолчанию shareit.l2-cache.max-size) и временем жизни
+ * shareit.l2-cache.ttl: кэш локален для экземпляра, поэтому изменения с других экземпляров видны не позже ttl.
+ * Регион меток обновления таблиц не ограничивается - иначе кэш запросов мог бы вернуть устаревший результат.
+ * Срезы @DataJpaTest подключают конфигурацию через @Import: без неё Hibernate не найдёт регионы
+ * (hibernate.javax.cache.missing_cache_strategy=fail).
+ * Статистика Hibernate для /actuator/l2cache включается свойством shareit.l2-cache.stats.enabled=true.
+ */
+@Configuration
+public class SecondLevelCacheConfig {
+    private static final String REGION_MAX_SIZE = "shareit.l2-cache.%s.max-size";
+
+    //  Свой менеджер на каждый контекст: общий менеджер провайдера пережил бы пересоздание контекста в тестах
+    @Bean(destroyMethod = "close")
+    public CacheManager secondLevelCacheManager(final Environment environment,
+                                                @Value("${shareit.l2-cache.max-size:10000}") final long maxSize,
+                                                @Value("${shareit.l2-cache.ttl:10m}") final Duration ttl) {
+        final CaffeineCachingProvider provider = (CaffeineCachingProvider) Caching.getCachingProvider(
+                CaffeineCachingProvider.class.getName());
+        final CacheManager cacheManager = provider.getCacheManager(
+                URI.create("shareit:l2-cache:" + UUID.randomUUID()), provider.getDefaultClassLoader());
+
+        Stream.concat(ENTITY_REGIONS.stream(), QUERY_REGIONS.stream())
+                .forEach(region -> cacheManager.createCache(region, regionConfiguration(
+                        environment.getProperty(String.format(REGION_MAX_SIZE, region), Long.class, maxSize), ttl)));
+        cacheManager.createCache(UPDATE_TIMESTAMPS, new CaffeineConfiguration<>());
+
+        return cacheManager;
+    }
+
+    //  Метрики сессий Hibernate при включённой статистике не пишутся в лог на каждую сессию
+    @Bean
+    public HibernatePropertiesCustomizer secondLevelCacheCustomizer(
+            final CacheManager secondLevelCacheManager,
+            @Value("${shareit.l2-cache.stats.enabled:false}") final boolean statsEnabled) {
+        return properties -> {
+            properties.put(ConfigSettings.CACHE_MANAGER, secondLevelCacheManager);
+
+            if (statsEnabled) {
+                properties.put(AvailableSettings.GENERATE_STATISTICS, true);
+                properties.put(AvailableSettings.LOG_SESSION_METRICS, false);
+            }
+        };
+    }
+
+    private static CaffeineConfiguration<Object, Object> regionConfiguration(final long maxSize, final Duration ttl) {
+        final CaffeineConfiguration<Object, Object> configuration = new CaffeineConfiguration<>();
+        configuration.setMaximumSize(OptionalLong.of(maxSize));
+        configuration.setExpireAfterWrite(OptionalLong.of(ttl.toNanos()));
+        return configuration;
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.common.exception;
+
+public class InvalidBatchSizeException extends RuntimeException {
+
+    public InvalidBatchSizeException(String message) {
+        super(message);
+    }
+}
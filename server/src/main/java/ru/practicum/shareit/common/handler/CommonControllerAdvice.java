@@ -5,14 +5,20 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.dao.InvalidDataAccessResourceUsageException;
 import org.springframework.http.HttpStatus;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 import ru.practicum.shareit.booking.exception.*;
+import ru.practicum.shareit.common.batch.BatchRequests;
 import ru.practicum.shareit.common.error.ErrorResponse;
+import ru.practicum.shareit.common.exception.InvalidBatchSizeException;
 import ru.practicum.shareit.common.exception.InvalidPaginationSizeException;
+import ru.practicum.shareit.item.exception.AvailabilityRangeException;
+import ru.practicum.shareit.item.exception.ItemFieldValidationException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.exception.ItemOwnerIncorrectException;
+import ru.practicum.shareit.item.exception.ItemSearchCursorException;
 import ru.practicum.shareit.request.exception.RequestNotFoundException;
 import ru.practicum.shareit.user.exception.EmailFieldValidationException;
 import ru.practicum.shareit.user.exception.SameUserEmailException;
@@ -130,15 +136,15 @@ public class CommonControllerAdvice {
                 exception.getMessage());
     }
 
-//    @ExceptionHandler(ItemFieldValidationException.class)
-//    @ResponseStatus(HttpStatus.BAD_REQUEST)
-//    public ErrorResponse handleItemFieldValidationException(final ItemFieldValidationException exception) {
-//        log.debug(className + "- handleItemFieldValidationException");
-//
-//        return new ErrorResponse("Ошибка валидация полей предмета",
-//                "В JSON объекте отсутствуют необходимые поля",
-//                exception.getMessage());
-//    }
+    @ExceptionHandler(ItemFieldValidationException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleItemFieldValidationException(final ItemFieldValidationException exception) {
+        log.debug(className + "- handleItemFieldValidationException");
+
+        return new ErrorResponse("Ошибка валидация полей предмета",
+                "В JSON объекте отсутствуют необходимые поля",
+                exception.getMessage());
+    }
 
     @ExceptionHandler(InvalidDataAccessResourceUsageException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
@@ -180,6 +186,36 @@ public class CommonControllerAdvice {
                 exception.getMessage());
     }
 
+    @ExceptionHandler(BookingOverlapException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingOverlapException(final BookingOverlapException exception) {
+        log.debug(className + "- handleBookingOverlapException");
+
+        return new ErrorResponse("Ошибка бронирования вещи",
+                "Вещь уже забронирована на пересекающееся время",
+                exception.getMessage());
+    }
+
+    @ExceptionHandler(BookingStatusConflictException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleBookingStatusConflictException(final BookingStatusConflictException exception) {
+        log.debug(className + "- handleBookingStatusConflictException");
+
+        return new ErrorResponse("Ошибка подтверждения бронирования",
+                "Бронь уже подтверждена или отклонена",
+                exception.getMessage());
+    }
+
+    @ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+    @ResponseStatus(HttpStatus.CONFLICT)
+    public ErrorResponse handleObjectOptimisticLockingFailureException(final ObjectOptimisticLockingFailureException exception) {
+        log.debug(className + "- handleObjectOptimisticLockingFailureException");
+
+        return new ErrorResponse("Конфликт параллельного изменения",
+                "Запись изменена другим запросом, повторите запрос",
+                exception.getMessage());
+    }
+
     @ExceptionHandler(UserNotBookedItemException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleUserNotBookedItemException(final UserNotBookedItemException exception) {
@@ -210,6 +246,26 @@ public class CommonControllerAdvice {
                 exception.getMessage());
     }
 
+    @ExceptionHandler(BookingCursorFormatException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleBookingCursorFormatException(final BookingCursorFormatException exception) {
+        log.debug("{}- - handleBookingCursorFormatException()", className);
+
+        return new ErrorResponse("Ошибка допустимых значений выборки.",
+                "after - курсор вида <start>,<id> последней полученной брони",
+                exception.getMessage());
+    }
+
+    @ExceptionHandler(ItemSearchCursorException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleItemSearchCursorException(final ItemSearchCursorException exception) {
+        log.debug("{}- - handleItemSearchCursorException()", className);
+
+        return new ErrorResponse("Ошибка допустимых значений выборки.",
+                "after - id последнего полученного предмета; если его удалили, поиск начинается с первой страницы",
+                exception.getMessage());
+    }
+
     @ExceptionHandler(InvalidPaginationSizeException.class)
     @ResponseStatus(HttpStatus.BAD_REQUEST)
     public ErrorResponse handleInvalidPaginationSizeException(final InvalidPaginationSizeException exception) {
@@ -219,4 +275,24 @@ public class CommonControllerAdvice {
                 "limit - положительное число или ноль, а size - положительное число",
                 exception.getMessage());
     }
-}
\ No newline at end of file
+
+    @ExceptionHandler(AvailabilityRangeException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleAvailabilityRangeException(final AvailabilityRangeException exception) {
+        log.debug("{}- - handleAvailabilityRangeException()", className);
+
+        return new ErrorResponse("Ошибка допустимых значений выборки.",
+                "from - начало окна доступности, должно быть раньше to",
+                exception.getMessage());
+    }
+
+    @ExceptionHandler(InvalidBatchSizeException.class)
+    @ResponseStatus(HttpStatus.BAD_REQUEST)
+    public ErrorResponse handleInvalidBatchSizeException(final InvalidBatchSizeException exception) {
+        log.debug("{}- - handleInvalidBatchSizeException()", className);
+
+        return new ErrorResponse("Ошибка размера пакета.",
+                "Пакет должен содержать от 1 до " + BatchRequests.MAX_SIZE + " элементов",
+                exception.getMessage());
+    }
+}
@@ -2,14 +2,18 @@ package ru.practicum.shareit.item.controller;
 
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.*;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @RestController
@@ -27,6 +31,13 @@ public class ItemController {
         return itemService.createItem(item, ownerId);
     }
 
+    @PostMapping("/batch")
+    public List<BatchResultDto<ItemResponseDto>> createItems(@RequestBody final List<ItemRequestDto> items,
+                                                             @RequestHeader("X-Sharer-User-Id") final Long ownerId) {
+        log.debug("/items/batch - POST: createItems({}, {})", items.size(), ownerId);
+        return itemService.createItems(items, ownerId);
+    }
+
     @PatchMapping("/{itemId}")
     public ItemResponseDto updateItem(@RequestBody final ItemRequestDto item,
                                       @RequestHeader("X-Sharer-User-Id") final Long ownerId,
@@ -42,6 +53,15 @@ public class ItemController {
         return itemService.getItemDtoById(itemId, ownerId);
     }
 
+    @GetMapping("/{itemId}/availability")
+    public ItemAvailabilityDto getItemAvailability(@RequestHeader("X-Sharer-User-Id") final Long userId,
+                                                   @PathVariable final long itemId,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime from,
+                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME) final LocalDateTime to) {
+        log.debug("/items/{}/availability?from={}&to={} - GET: getItemAvailability({}, {}, {}, {})", itemId, from, to, userId, itemId, from, to);
+        return itemService.getItemAvailability(itemId, from, to);
+    }
+
     @GetMapping
     public List<ItemResponseDto> getItemsByOwner(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
                                                  @RequestParam final int from,
@@ -59,6 +79,15 @@ public class ItemController {
         return itemService.searchItems(ownerId, text, from, size);
     }
 
+    @GetMapping(path = "/search", params = "mode=cursor")
+    public List<ItemResponseDto> searchItems(@RequestHeader("X-Sharer-User-Id") final Long ownerId,
+                                             @RequestParam final String text,
+                                             @RequestParam(required = false) final Long after,
+                                             @RequestParam final int size) {
+        log.debug("/items/search?mode=cursor&text={}&after={}&size={} - GET: searchItems({}, {}, {}, {})", text, after, size, ownerId, text, after, size);
+        return itemService.searchItems(ownerId, text, after, size);
+    }
+
     @PostMapping("/{itemId}/comment")
     public CommentResponseDto createComment(@RequestBody final CommentRequestDto commentDto,
                                             @RequestHeader("X-Sharer-User-Id") final Long authorId,
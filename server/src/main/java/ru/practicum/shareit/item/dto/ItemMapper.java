@@ -1,13 +1,20 @@
 package ru.practicum.shareit.item.dto;
 
 import ru.practicum.shareit.comment.dto.CommentMapper;
+import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 
 public class ItemMapper {
     public static ItemResponseDto mapToItemResponseDto(final Item item) {
+        return mapToItemResponseDto(item, item.getComments());
+    }
+
+    public static ItemResponseDto mapToItemResponseDto(final Item item, final Iterable<Comment> comments) {
         var building = ItemResponseDto.builder()
                 .id(item.getId())
                 .name(item.getName())
@@ -16,7 +23,7 @@ public class ItemMapper {
                 .nextBooking(null)
                 .lastBooking(null)
                 .requestId(null)
-                .comments(CommentMapper.mapToCommentResponseDto(item.getComments()));
+                .comments(CommentMapper.mapToCommentResponseDto(comments));
 
         if (item.getRequest() == null)
             return building.build();
@@ -34,6 +41,17 @@ public class ItemMapper {
         return dtos;
     }
 
+    public static List<ItemResponseDto> mapToItemResponseDto(final Iterable<Item> items,
+                                                             final Map<Long, List<Comment>> commentsByItemId) {
+        List<ItemResponseDto> dtos = new ArrayList<>();
+
+        for (Item item : items) {
+            dtos.add(mapToItemResponseDto(item, commentsByItemId.getOrDefault(item.getId(), List.of())));
+        }
+
+        return dtos;
+    }
+
     public static ItemBookingDto mapToItemBookingDto(final Item item) {
         return ItemBookingDto.builder()
                 .id(item.getId())
@@ -61,6 +79,38 @@ public class ItemMapper {
         return dtos;
     }
 
+    //  Занятые интервалы обрезаются по окну [from, to), свободное время - промежутки между ними
+    public static ItemAvailabilityDto mapToItemAvailabilityDto(final long itemId,
+                                                               final LocalDateTime from,
+                                                               final LocalDateTime to,
+                                                               final Map<LocalDateTime, LocalDateTime> busy) {
+        List<TimeIntervalDto> busyDtos = new ArrayList<>();
+        List<TimeIntervalDto> freeDtos = new ArrayList<>();
+        LocalDateTime freeStart = from;
+
+        for (Map.Entry<LocalDateTime, LocalDateTime> interval : busy.entrySet()) {
+            LocalDateTime start = interval.getKey().isBefore(from) ? from : interval.getKey();
+            LocalDateTime end = interval.getValue().isAfter(to) ? to : interval.getValue();
+
+            if (freeStart.isBefore(start))
+                freeDtos.add(new TimeIntervalDto(freeStart, start));
+
+            busyDtos.add(new TimeIntervalDto(start, end));
+            freeStart = end;
+        }
+
+        if (freeStart.isBefore(to))
+            freeDtos.add(new TimeIntervalDto(freeStart, to));
+
+        return ItemAvailabilityDto.builder()
+                .itemId(itemId)
+                .from(from)
+                .to(to)
+                .busy(busyDtos)
+                .free(freeDtos)
+                .build();
+    }
+
     public static Item mapToItem(final ItemRequestDto itemDto) {
         return Item.builder()
                 .name(itemDto.getName())
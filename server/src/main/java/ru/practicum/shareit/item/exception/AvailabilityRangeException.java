@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.exception;
+
+public class AvailabilityRangeException extends RuntimeException {
+
+    public AvailabilityRangeException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.exception;
+
+public class ItemFieldValidationException extends RuntimeException {
+
+    public ItemFieldValidationException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,8 @@
+package ru.practicum.shareit.item.exception;
+
+public class ItemSearchCursorException extends RuntimeException {
+
+    public ItemSearchCursorException(String message) {
+        super(message);
+    }
+}
@@ -1,13 +1,16 @@
 package ru.practicum.shareit.item.repository;
 
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
-import ru.practicum.shareit.booking.dto.BookingOrderResponseDto;
-import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.dto.BookingOrderItemView;
+import ru.practicum.shareit.common.cache.CacheRegions;
 import ru.practicum.shareit.item.model.Item;
 
+import javax.persistence.QueryHint;
 import java.time.LocalDateTime;
 import java.util.Collection;
 import java.util.List;
@@ -15,18 +18,36 @@ import java.util.Optional;
 
 public interface ItemRepository extends JpaRepository<Item, Long> {
 
-    Optional<Item> findItemByIdAndOwnerId(final long itemId, final long ownerId);
+    @EntityGraph(attributePaths = {"comments", "comments.author"})
+    Optional<Item> findWithCommentsById(final long itemId);
 
+    @QueryHints({@QueryHint(name = CacheRegions.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheRegions.HINT_REGION, value = CacheRegions.ITEM_BY_OWNER)})
     boolean existsItemByIdAndOwnerId(final long itemId, final long ownerId);
 
+    @EntityGraph(attributePaths = {"request"})
     List<Item> findAllByOwnerIdOrderByIdAsc(final long ownerId, final Pageable pageable);
 
-    List<Item> findAllByRequestId(final long requestId, final Pageable pageable);
+    @QueryHints({@QueryHint(name = CacheRegions.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheRegions.HINT_REGION, value = CacheRegions.ITEMS_BY_REQUEST)})
+    List<Item> findAllByRequestId(final long requestId);
 
-    @Query(value = "select * " +
-            "from item as it " +
-            "where (it.description ilike %:text% or it.name ilike %:text%) " +
-            "and it.is_available=true " +
+    @QueryHints({@QueryHint(name = CacheRegions.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheRegions.HINT_REGION, value = CacheRegions.ITEMS_BY_REQUEST)})
+    List<Item> findAllByRequestIdIn(final Collection<Long> requestIds);
+
+    //  Поиск: подстрока в названии или описании - ILIKE обслуживают GIN-индексы pg_trgm item_*_trgm_idx
+    //  (шаблон собирается через ||, чтобы при известном параметре он свернулся в константу для индекса).
+    //  Релевантность - word_similarity pg_trgm, совпадение в названии весит вдвое больше; при равной - id
+    String SEARCH_MATCH = "from item as it " +
+            "where (it.name ilike '%' || :text || '%' or it.description ilike '%' || :text || '%') " +
+            "and it.is_available = true ";
+    String SEARCH_RANK = "(2 * word_similarity(:text, it.name) + word_similarity(:text, it.description))";
+    String SEARCH_CURSOR_RANK = "(select 2 * word_similarity(:text, c.name) + word_similarity(:text, c.description) " +
+            "from item as c where c.id = :after_id)";
+
+    @Query(value = "select it.* " + SEARCH_MATCH +
+            "ORDER BY " + SEARCH_RANK + " DESC, it.id " +
             "LIMIT :size " +
             "OFFSET :from ",
             nativeQuery = true)
@@ -34,40 +55,42 @@ public interface ItemRepository extends JpaRepository<Item, Long> {
                                                               @Param("from") final int from,
                                                               @Param("size") final int size);
 
-    //        Last booking
-    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingOrderResponseDto(" +
-            "b.id as id, u.id as bookerId, b.start as start, b.end as end)  " +
-            "from Booking as b " +
-            "LEFT JOIN FETCH User as u ON b.booker.id = u.id " +
-            "LEFT JOIN FETCH Item as it ON b.item.id = it.id " +
-            "WHERE b.item.id = :item_id AND b.end <= :now_time " +
-            "ORDER BY b.end DESC ")
-    List<BookingOrderResponseDto> findTopBookingItemByItemIdAndEndLessThanEqualOrderByEndDesc(
-            @Param("item_id") final long itemId, @Param("now_time") final LocalDateTime ldt, Pageable pageable);
-
-    //    Only-Last
-    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingOrderResponseDto(" +
-            "b.id as id, u.id as bookerId, b.start as start, b.end as end)  " +
-            "from Booking as b " +
-            "LEFT JOIN FETCH User as u ON b.booker.id = u.id " +
-            "LEFT JOIN FETCH Item as it ON b.item.id = it.id " +
-            "WHERE b.item.id = :item_id " +
-            "AND b.start <= :now_time AND b.end >= :now_time " +
-            "ORDER BY b.end DESC ")
-    List<BookingOrderResponseDto> findTopBookingItemByItemIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(
-            @Param("item_id") final long itemId, @Param("now_time") final LocalDateTime ldt1, Pageable pageable);
-
-    //    Next
-    @Query("SELECT new ru.practicum.shareit.booking.dto.BookingOrderResponseDto(" +
-            "b.id as id, u.id as bookerId, b.start as start, b.end as end)  " +
-            "from Booking as b " +
-            "LEFT JOIN FETCH User as u ON b.booker.id = u.id " +
-            "LEFT JOIN FETCH Item as it ON b.item.id = it.id " +
-            "WHERE b.item.id = :item_id " +
-            "AND b.start >= :now_time AND b.status IN (:statuses)" +
-            "ORDER BY b.start ASC ")
-    List<BookingOrderResponseDto> findTopBookingItemByItemIdAndStartGreaterThanEqualAndStatusInOrderByStartAsc(
-            @Param("item_id") final long itemId, @Param("now_time") final LocalDateTime ldt,
-            Collection<Status> statuses, Pageable pageable);
+    //  Keyset-пагинация поиска: после предмета after_id по (релевантность DESC, id); его релевантность
+    //  пересчитывается тем же выражением, поэтому курсор - только id последнего полученного предмета.
+    //  Доступность курсора не проверяется - снятый с аренды предмет остаётся опорой; если предмет удалён,
+    //  подзапрос даёт NULL и страница пуста - это различает ItemServiceImpl
+    @Query(value = "select it.* " + SEARCH_MATCH +
+            "AND (" + SEARCH_RANK + " < " + SEARCH_CURSOR_RANK + " OR (" +
+            SEARCH_RANK + " = " + SEARCH_CURSOR_RANK + " AND it.id > :after_id)) " +
+            "ORDER BY " + SEARCH_RANK + " DESC, it.id " +
+            "LIMIT :size",
+            nativeQuery = true)
+    List<Item> findItemsByNameOrDescriptionTextAndIsAvailableAfter(@Param("text") final String text,
+                                                                   @Param("after_id") final long afterId,
+                                                                   @Param("size") final int size);
 
+    //    Next, Last и Only-Last сразу для набора предметов - одним запросом
+    @Query(value = "select nb.kind as kind, nb.item_id as itemId, nb.id as id, nb.booker_id as bookerId, " +
+            "nb.booking_start as bookingStart, nb.booking_end as bookingEnd " +
+            "from (" +
+            "select 'NEXT' as kind, b.item_id, b.id, b.booker_id, b.booking_start, b.booking_end, " +
+            "row_number() over (partition by b.item_id order by b.booking_start asc, b.id asc) as rn " +
+            "from booking as b " +
+            "where b.item_id in (:item_ids) and b.booking_start >= :now_time and b.status in (:statuses) " +
+            "union all " +
+            "select 'LAST' as kind, b.item_id, b.id, b.booker_id, b.booking_start, b.booking_end, " +
+            "row_number() over (partition by b.item_id order by b.booking_end desc, b.id desc) as rn " +
+            "from booking as b " +
+            "where b.item_id in (:item_ids) and b.booking_end <= :now_time " +
+            "union all " +
+            "select 'CURRENT' as kind, b.item_id, b.id, b.booker_id, b.booking_start, b.booking_end, " +
+            "row_number() over (partition by b.item_id order by b.booking_end desc, b.id desc) as rn " +
+            "from booking as b " +
+            "where b.item_id in (:item_ids) and b.booking_start <= :now_time and b.booking_end >= :now_time" +
+            ") as nb " +
+            "where nb.rn = 1",
+            nativeQuery = true)
+    List<BookingOrderItemView> findNearBookingsByItemIds(@Param("item_ids") final Collection<Long> itemIds,
+                                                         @Param("now_time") final LocalDateTime ldt,
+                                                         @Param("statuses") final Collection<String> statuses);
 }
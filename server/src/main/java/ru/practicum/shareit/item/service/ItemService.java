@@ -2,10 +2,14 @@ package ru.practicum.shareit.item.service;
 
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.model.Item;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 
 public interface ItemService {
@@ -18,6 +22,10 @@ public interface ItemService {
 
     List<Item> getItemsByRequestId(final long requestId);
 
+    List<Item> getItemsByRequestIds(final Collection<Long> requestIds);
+
+    List<Item> getItemsByIds(final Collection<Long> itemIds);
+
     boolean containsItemById(final long itemId);
 
     void itemExists(final long itemId);
@@ -26,8 +34,12 @@ public interface ItemService {
 
     void ownerOwnsItem(final long itemId, final long ownerId);
 
+    ItemAvailabilityDto getItemAvailability(final long itemId, final LocalDateTime from, final LocalDateTime to);
+
     ItemResponseDto createItem(final ItemRequestDto itemDto, final long ownerId);
 
+    List<BatchResultDto<ItemResponseDto>> createItems(final List<ItemRequestDto> itemDtos, final long ownerId);
+
     ItemResponseDto updateItem(final ItemRequestDto itemDto, final long ownerId, final long itemId);
 
     List<ItemResponseDto> getItemsByOwner(final long userId,
@@ -38,5 +50,9 @@ public interface ItemService {
                                       final int from,
                                       final int size);
 
+    List<ItemResponseDto> searchItems(final long userId, final String text,
+                                      final Long after,
+                                      final int size);
+
     CommentResponseDto createComment(final CommentRequestDto commentDto, final long authorId, final long itemId);
 }
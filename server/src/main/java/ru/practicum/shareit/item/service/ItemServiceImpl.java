@@ -3,21 +3,29 @@ package ru.practicum.shareit.item.service;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.PageRequest;
-import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import ru.practicum.shareit.booking.dto.BookingMapper;
+import ru.practicum.shareit.booking.dto.BookingOrderItemView;
 import ru.practicum.shareit.booking.dto.BookingOrderResponseDto;
 import ru.practicum.shareit.booking.exception.UserNotBookedItemException;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityCache;
 import ru.practicum.shareit.comment.dto.CommentMapper;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.common.batch.BatchRequests;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.exception.AvailabilityRangeException;
+import ru.practicum.shareit.item.exception.ItemFieldValidationException;
+import ru.practicum.shareit.item.exception.ItemSearchCursorException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.exception.ItemOwnerIncorrectException;
 import ru.practicum.shareit.item.model.Item;
@@ -29,8 +37,17 @@ import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -43,10 +60,13 @@ public class ItemServiceImpl implements ItemService {
     private final CommentRepository commentRepository;
     private final BookingRepository bookingRepository;
     private final RequestRepository requestRepository;
+    private final ItemAvailabilityCache availabilityCache;
 
 
     private static final String NO_FOUND_ITEM = "Такого предмета с id: %d не существует в хранилище";
     private static final String INCORRECT_OWNER = "Пользователь с id: %d не является владельцем предмета с id: %d ";
+    private static final int MAX_NAME_LENGTH = 128;
+    private static final int MAX_DESCRIPTION_LENGTH = 1024;
 
     private Optional<Item> findItemById(final long itemId) {
         log.debug("ItemServiceImpl - service.findItemById({})", itemId);
@@ -60,81 +80,109 @@ public class ItemServiceImpl implements ItemService {
                 .orElseThrow(() -> new ItemNotFoundException(String.format(NO_FOUND_ITEM, itemId)));
     }
 
-    private Optional<Item> findItemByIdAndOwnerId(final long itemId, final long ownerId) {
-        log.debug("ItemServiceImpl - service.findItemByIdAndOwnerId({}, {})", ownerId, itemId);
-        return itemRepository.findItemByIdAndOwnerId(itemId, ownerId);
+    //  owner - ленивый прокси, его id берётся из owner_id строки item без отдельного запроса
+    private boolean isOwner(final Item item, final long ownerId) {
+        return item.getOwner().getId() == ownerId;
     }
 
-
     @Override
     public Item getItemByIdAndOwnerId(final long itemId, final long ownerId) {
         log.debug("ItemServiceImpl - service.getItemByIdAndOwnerId({}, {})", itemId, ownerId);
 
-        itemExists(itemId);
+        final Item item = getItemById(itemId);
 
-        return findItemByIdAndOwnerId(itemId, ownerId)
-                .orElseThrow(() -> new ItemOwnerIncorrectException(String.format(INCORRECT_OWNER, itemId, ownerId)));
+        if (!isOwner(item, ownerId))
+            throw new ItemOwnerIncorrectException(String.format(INCORRECT_OWNER, ownerId, itemId));
+
+        return item;
     }
 
     @Override
     public List<Item> getItemsByRequestId(long requestId) {
         log.debug("ItemServiceImpl - service.getItemsByRequestId({})", requestId);
-        return itemRepository.findAllByRequestId(requestId, Pageable.ofSize(100));
+        return itemRepository.findAllByRequestId(requestId);
+    }
+
+    @Override
+    public List<Item> getItemsByRequestIds(final Collection<Long> requestIds) {
+        log.debug("ItemServiceImpl - service.getItemsByRequestIds({})", requestIds);
+
+        if (requestIds.isEmpty())
+            return List.of();
+
+        return itemRepository.findAllByRequestIdIn(requestIds);
+    }
+
+    @Override
+    public List<Item> getItemsByIds(final Collection<Long> itemIds) {
+        log.debug("ItemServiceImpl - service.getItemsByIds({})", itemIds);
+
+        if (itemIds.isEmpty())
+            return List.of();
+
+        return itemRepository.findAllById(itemIds);
     }
 
     @Override
     public ItemResponseDto getItemDtoById(final long itemId, final long ownerId) {
         log.debug("ItemServiceImpl - service.getItemDtoById({}, {})", itemId, ownerId);
 
-        final ItemResponseDto responseDto = ItemMapper.mapToItemResponseDto(getItemById(itemId));
+        final Item item = itemRepository.findWithCommentsById(itemId)
+                .orElseThrow(() -> new ItemNotFoundException(String.format(NO_FOUND_ITEM, itemId)));
 
-        if (containsItemWithOwner(itemId, ownerId)) {
-            responseDto.setNextBooking(findNearNextBookingIdByItem(itemId));
+        final ItemResponseDto responseDto = ItemMapper.mapToItemResponseDto(item);
 
-//            Если нет следующего, то за последний принимаю тот, который сейчас пересекается с NOW()
-            if (responseDto.getNextBooking() == null)
-                responseDto.setLastBooking(findNearOnlyLastBookingIdByItem(itemId));
-            else
-                responseDto.setLastBooking(findNearLastBookingIdByItem(itemId));
-        }
+        if (isOwner(item, ownerId))
+            setNearBookings(List.of(responseDto));
 
         return responseDto;
     }
 
-    public BookingOrderResponseDto findNearNextBookingIdByItem(long itemId) {
-        log.debug("ItemServiceImpl - service.findNearNextBookingIdByItem({})", itemId);
+    @Override
+    public ItemAvailabilityDto getItemAvailability(final long itemId, final LocalDateTime from, final LocalDateTime to) {
+        log.debug("ItemServiceImpl - service.getItemAvailability({}, {}, {})", itemId, from, to);
+
+        if (!from.isBefore(to)) {
+            String message = String.format("Начало окна доступности %s должно быть раньше конца %s", from, to);
+            log.warn(message);
+            throw new AvailabilityRangeException(message);
+        }
 
-        Optional<BookingOrderResponseDto> bookingItem = itemRepository
-                .findTopBookingItemByItemIdAndStartGreaterThanEqualAndStatusInOrderByStartAsc(
-                        itemId,
-                        LocalDateTime.now(),
-                        List.of(Status.WAITING, Status.APPROVED),
-                        Pageable.ofSize(1)).stream()
-                .findFirst();
+        itemExists(itemId);
 
-        return bookingItem.orElse(null);
+        return ItemMapper.mapToItemAvailabilityDto(itemId, from, to,
+                availabilityCache.get(itemId).busy(itemId, from, to));
     }
 
-    public BookingOrderResponseDto findNearLastBookingIdByItem(final long itemId) {
-        log.debug("ItemServiceImpl - service.findNearLastBookingIdByItem({})", itemId);
+    private void setNearBookings(final List<ItemResponseDto> items) {
+        log.debug("ItemServiceImpl - service.setNearBookings({})", items.size());
 
-        Optional<BookingOrderResponseDto> bookingItem = itemRepository
-                .findTopBookingItemByItemIdAndEndLessThanEqualOrderByEndDesc(
-                        itemId, LocalDateTime.now(), Pageable.ofSize(1)).stream()
-                .findFirst();
+        if (items.isEmpty())
+            return;
 
-        return bookingItem.orElse(null);
-    }
+        final List<Long> itemIds = items.stream()
+                .map(ItemResponseDto::getId)
+                .collect(Collectors.toList());
+
+        final Map<Long, Map<String, BookingOrderResponseDto>> nearBookings = new HashMap<>();
 
-    public BookingOrderResponseDto findNearOnlyLastBookingIdByItem(final long itemId) {
-        log.debug("ItemServiceImpl - service.findNearOnlyLastBookingIdByItem({})", itemId);
+        itemRepository.findNearBookingsByItemIds(itemIds, LocalDateTime.now(),
+                        List.of(Status.WAITING.name(), Status.APPROVED.name()))
+                .forEach(view -> nearBookings
+                        .computeIfAbsent(view.getItemId(), id -> new HashMap<>())
+                        .put(view.getKind(), BookingMapper.mapToBookingOrderResponseDto(view)));
 
-        Optional<BookingOrderResponseDto> bookingItem = itemRepository
-                .findTopBookingItemByItemIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(
-                        itemId, LocalDateTime.now(), Pageable.ofSize(1)).stream()
-                .findFirst();
+        items.forEach(item -> {
+            final Map<String, BookingOrderResponseDto> bookings = nearBookings.getOrDefault(item.getId(), Map.of());
 
-        return bookingItem.orElse(null);
+            item.setNextBooking(bookings.get(BookingOrderItemView.KIND_NEXT));
+
+//            Если нет следующего, то за последний принимаю тот, который сейчас пересекается с NOW()
+            if (item.getNextBooking() == null)
+                item.setLastBooking(bookings.get(BookingOrderItemView.KIND_CURRENT));
+            else
+                item.setLastBooking(bookings.get(BookingOrderItemView.KIND_LAST));
+        });
     }
 
     @Override
@@ -176,6 +224,8 @@ public class ItemServiceImpl implements ItemService {
     public ItemResponseDto createItem(final ItemRequestDto itemDto, long ownerId) {
         log.debug("ItemServiceImpl - service.createItem({}, {})", itemDto, ownerId);
 
+        fieldRequestValidation(itemDto);
+
         final Item item = ItemMapper.mapToItem(itemDto);
         final User user = userService.getUserById(ownerId);
 
@@ -192,6 +242,78 @@ public class ItemServiceImpl implements ItemService {
         return ItemMapper.mapToItemResponseDto(itemRepository.save(item));
     }
 
+    //  Владелец и запросы читаются одним запросом на весь пакет, все предметы сохраняются одним saveAll.
+    //  Поля проверяются до saveAll: иначе один элемент с пустым полем откатил бы вставку всего пакета
+    @Transactional
+    @Override
+    public List<BatchResultDto<ItemResponseDto>> createItems(final List<ItemRequestDto> itemDtos, final long ownerId) {
+        log.debug("ItemServiceImpl - service.createItems({}, {})", itemDtos.size(), ownerId);
+
+        BatchRequests.checkSize(itemDtos);
+
+        final User user = userService.getUserById(ownerId);
+
+        final Set<Long> requestIds = itemDtos.stream()
+                .map(ItemRequestDto::getRequestId)
+                .filter(Objects::nonNull)
+                .collect(Collectors.toSet());
+        final Map<Long, Request> requests = requestIds.isEmpty() ? Map.of() : requestRepository.findAllById(requestIds)
+                .stream()
+                .collect(Collectors.toMap(Request::getId, Function.identity()));
+
+        final List<BatchResultDto<ItemResponseDto>> results = new ArrayList<>(Collections.nCopies(itemDtos.size(), null));
+        final List<Integer> indices = new ArrayList<>();
+        final List<Item> items = new ArrayList<>();
+
+        for (int i = 0; i < itemDtos.size(); i++) {
+            final ItemRequestDto itemDto = itemDtos.get(i);
+            final Long requestId = itemDto.getRequestId();
+
+            try {
+                fieldRequestValidation(itemDto);
+            } catch (ItemFieldValidationException e) {
+                results.set(i, BatchResultDto.rejected(i, e));
+                continue;
+            }
+
+            if (requestId != null && !requests.containsKey(requestId)) {
+                results.set(i, BatchResultDto.rejected(i, new RequestNotFoundException()));
+                continue;
+            }
+
+            final Item item = ItemMapper.mapToItem(itemDto);
+            item.setOwner(user);
+            item.setRequest(requestId == null ? null : requests.get(requestId));
+
+            indices.add(i);
+            items.add(item);
+        }
+
+        final List<Item> savedItems = itemRepository.saveAll(items);
+
+        for (int i = 0; i < savedItems.size(); i++) {
+            final int index = indices.get(i);
+            results.set(index, BatchResultDto.created(index, ItemMapper.mapToItemResponseDto(savedItems.get(i))));
+        }
+
+        return results;
+    }
+
+    private void fieldRequestValidation(final ItemRequestDto itemDto) {
+        log.debug("ItemServiceImpl - service.fieldRequestValidation({})", itemDto);
+
+        final String name = itemDto.getName();
+        final String description = itemDto.getDescription();
+
+        if (name == null || name.isBlank() || name.length() > MAX_NAME_LENGTH
+                || description == null || description.isBlank() || description.length() > MAX_DESCRIPTION_LENGTH
+                || itemDto.getAvailable() == null) {
+            String message = "Не заполнены или слишком длинные поля предмета - " + itemDto;
+            log.warn(message);
+            throw new ItemFieldValidationException(message);
+        }
+    }
+
     @Transactional
     @Override
     public ItemResponseDto updateItem(ItemRequestDto itemDto, long ownerId, long itemId) {
@@ -229,20 +351,10 @@ public class ItemServiceImpl implements ItemService {
 
         userService.userExists(ownerId);
 
-        List<ItemResponseDto> responses = ItemMapper
-                .mapToItemResponseDto(itemRepository
-                        .findAllByOwnerIdOrderByIdAsc(ownerId, PageRequest.of(from > 0 ? from / size : 0, size)));
-
-        responses.forEach(item -> {
-            final long itemId = item.getId();
+        List<ItemResponseDto> responses = mapToItemResponseDtoWithComments(itemRepository
+                .findAllByOwnerIdOrderByIdAsc(ownerId, PageRequest.of(from > 0 ? from / size : 0, size)));
 
-            item.setNextBooking(findNearNextBookingIdByItem(itemId));
-
-            if (item.getNextBooking() == null)
-                item.setLastBooking(findNearOnlyLastBookingIdByItem(itemId));
-            else
-                item.setLastBooking(findNearLastBookingIdByItem(itemId));
-        });
+        setNearBookings(responses);
 
         return responses;
     }
@@ -256,10 +368,52 @@ public class ItemServiceImpl implements ItemService {
         if (text.isBlank())
             return List.of();
 
-        return ItemMapper.mapToItemResponseDto(itemRepository
+        return mapToItemResponseDtoWithComments(itemRepository
                 .findItemsByNameOrDescriptionTextAndIsAvailable(text.trim().toLowerCase(), from, size));
     }
 
+    @Override
+    public List<ItemResponseDto> searchItems(long userId, String text,
+                                             final Long after,
+                                             final int size) {
+        log.debug("ItemServiceImpl - service.searchItems({}, {}, {})", userId, text, after);
+
+        if (text.isBlank())
+            return List.of();
+
+        if (after == null)
+            return searchItems(userId, text, 0, size);
+
+        final List<Item> items = itemRepository
+                .findItemsByNameOrDescriptionTextAndIsAvailableAfter(text.trim().toLowerCase(), after, size);
+
+        //  Релевантность курсора считается по самому предмету: удалённый предмет дал бы пустую страницу
+        //  вместо продолжения выдачи. Проверка нужна только на пустой странице
+        if (items.isEmpty() && !itemRepository.existsById(after)) {
+            String message = "Предмета курсора с id: " + after + " больше нет";
+            log.warn(message);
+            throw new ItemSearchCursorException(message);
+        }
+
+        return mapToItemResponseDtoWithComments(items);
+    }
+
+    private List<ItemResponseDto> mapToItemResponseDtoWithComments(final List<Item> items) {
+        log.debug("ItemServiceImpl - service.mapToItemResponseDtoWithComments({})", items.size());
+
+        if (items.isEmpty())
+            return new ArrayList<>();
+
+        final Map<Long, List<Comment>> commentsByItemId = commentRepository
+                .findAllByItemIdIn(items.stream()
+                        .map(Item::getId)
+                        .collect(Collectors.toList()))
+                .stream()
+                .collect(Collectors.groupingBy(comment -> comment.getItem().getId()));
+
+        return ItemMapper.mapToItemResponseDto(items, commentsByItemId);
+    }
+
     @Transactional
     @Override
     public CommentResponseDto createComment(CommentRequestDto commentRequestDto, long authorId, long itemId) {
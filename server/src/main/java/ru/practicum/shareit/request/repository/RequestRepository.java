@@ -2,12 +2,19 @@ package ru.practicum.shareit.request.repository;
 
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.QueryHints;
+import ru.practicum.shareit.common.cache.CacheRegions;
 import ru.practicum.shareit.request.model.Request;
 
+import javax.persistence.QueryHint;
 import java.util.List;
 
 public interface RequestRepository extends JpaRepository<Request, Long> {
+    @QueryHints({@QueryHint(name = CacheRegions.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheRegions.HINT_REGION, value = CacheRegions.REQUESTS_BY_REQUESTER)})
     List<Request> findAllByRequesterIdOrderByCreatedDesc(final long requesterId, final Pageable pageable);
 
+    @QueryHints({@QueryHint(name = CacheRegions.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheRegions.HINT_REGION, value = CacheRegions.REQUESTS_BY_REQUESTER)})
     List<Request> findAllByRequesterIdNot(final long requesterId, final Pageable pageable);
 }
@@ -7,6 +7,7 @@ import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemReqGetDto;
+import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
 import ru.practicum.shareit.request.dto.ReqCreateDto;
 import ru.practicum.shareit.request.dto.ReqGetDto;
@@ -20,7 +21,9 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -83,7 +86,7 @@ public class RequestServiceImpl implements RequestService {
         List<ReqGetDto> reqs = RequestMapper.mapToReqGetDto(requestRepository
                 .findAllByRequesterIdOrderByCreatedDesc(requesterId, PageRequest.of(from > 0 ? from / size : 0, size)));
 
-        reqs.forEach(req -> req.setItems(ItemMapper.mapToItemReqDto(itemService.getItemsByRequestId(req.getId()))));
+        setItems(reqs);
 
         return reqs;
     }
@@ -97,8 +100,22 @@ public class RequestServiceImpl implements RequestService {
         List<ReqGetDto> reqs = RequestMapper.mapToReqGetDto(requestRepository
                 .findAllByRequesterIdNot(requesterId, PageRequest.of(from > 0 ? from / size : 0, size)));
 
-        reqs.forEach(req -> req.setItems(ItemMapper.mapToItemReqDto(itemService.getItemsByRequestId(req.getId()))));
+        setItems(reqs);
 
         return reqs;
     }
-}
\ No newline at end of file
+
+    private void setItems(final List<ReqGetDto> reqs) {
+        log.debug("RequestServiceImpl - service.setItems({})", reqs.size());
+
+        final Map<Long, List<Item>> itemsByRequestId = itemService
+                .getItemsByRequestIds(reqs.stream()
+                        .map(ReqGetDto::getId)
+                        .collect(Collectors.toSet()))
+                .stream()
+                .collect(Collectors.groupingBy(item -> item.getRequest().getId()));
+
+        reqs.forEach(req -> req.setItems(ItemMapper
+                .mapToItemReqDto(itemsByRequestId.getOrDefault(req.getId(), List.of()))));
+    }
+}
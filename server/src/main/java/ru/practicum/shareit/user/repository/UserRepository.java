@@ -2,11 +2,14 @@ package ru.practicum.shareit.user.repository;
 
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 import org.springframework.data.repository.query.Param;
+import ru.practicum.shareit.common.cache.CacheRegions;
 import ru.practicum.shareit.user.dto.UserBookingDto;
 import ru.practicum.shareit.user.dto.UserResponseDto;
 import ru.practicum.shareit.user.model.User;
 
+import javax.persistence.QueryHint;
 import java.util.Optional;
 
 public interface UserRepository extends JpaRepository<User, Long> {
@@ -20,5 +23,7 @@ public interface UserRepository extends JpaRepository<User, Long> {
             "where u.id = :id")
     Optional<UserBookingDto> findUserBookingDtoById(@Param("id") final long userId);
 
+    @QueryHints({@QueryHint(name = CacheRegions.HINT_CACHEABLE, value = "true"),
+            @QueryHint(name = CacheRegions.HINT_REGION, value = CacheRegions.USER_BY_EMAIL)})
     Optional<User> findUserByEmail(final String email);
 }
@@ -55,7 +55,8 @@ public class UserServiceImpl implements UserService {
     @Override
     public boolean containsUserById(final long userId) {
         log.info("UserServiceImpl - service.containsUserById()");
-        return userRepository.existsById(userId);
+        //  findById обслуживается регионом user кэша второго уровня, existsById всегда идёт в базу
+        return findUserById(userId).isPresent();
     }
 
     @Override
@@ -1,12 +1,61 @@
-create TABLE IF NOT EXISTS person ( id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY, name varchar(128) NOT NULL, email varchar(256) NOT NULL UNIQUE CHECK(email ~ ('^[A-Za-z0-9._%-]+@[A-Za-z0-9.-]+[.][A-Za-z]+$')));
+create SEQUENCE IF NOT EXISTS person_seq INCREMENT BY 50;
 
-create TABLE IF NOT EXISTS request ( id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, description varchar(1024) NOT NULL CHECK(length(description) > 10), requester_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, created timestamp WITHOUT TIME ZONE NOT NULL);
+create TABLE IF NOT EXISTS person ( id bigint DEFAULT nextval('person_seq') PRIMARY KEY, name varchar(128) NOT NULL, email varchar(256) NOT NULL UNIQUE CHECK(email ~ ('^[A-Za-z0-9._%-]+@[A-Za-z0-9.-]+[.][A-Za-z]+$')));
 
-create TABLE IF NOT EXISTS item ( id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY, name varchar(128) NOT NULL, description varchar(1024) NOT NULL, is_available boolean NOT NULL, owner_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, request_id bigint REFERENCES request(id) ON delete CASCADE NULL);
+create SEQUENCE IF NOT EXISTS request_seq INCREMENT BY 50;
 
-create TABLE IF NOT EXISTS booking ( id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, booking_start timestamp WITHOUT TIME ZONE NOT NULL, booking_end timestamp WITHOUT TIME ZONE NOT NULL, item_id bigint REFERENCES item(id) ON delete CASCADE NOT NULL, booker_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, status varchar(10) NOT NULL, CHECK(booking_start != booking_end AND booking_end > booking_start));
+create TABLE IF NOT EXISTS request ( id bigint DEFAULT nextval('request_seq') PRIMARY KEY, description varchar(1024) NOT NULL CHECK(length(description) > 10), requester_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, created timestamp WITHOUT TIME ZONE NOT NULL);
 
-create TABLE IF NOT EXISTS comment ( id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, text varchar(1024) NOT NULL CHECK(length(text) > 10), item_id bigint REFERENCES item(id) ON delete CASCADE NOT NULL, author_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, created timestamp WITHOUT TIME ZONE NOT NULL, UNIQUE(author_id, item_id));
+create SEQUENCE IF NOT EXISTS item_seq INCREMENT BY 50;
+
+create TABLE IF NOT EXISTS item ( id bigint DEFAULT nextval('item_seq') PRIMARY KEY, name varchar(128) NOT NULL, description varchar(1024) NOT NULL, is_available boolean NOT NULL, owner_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, request_id bigint REFERENCES request(id) ON delete CASCADE NULL);
+
+create INDEX IF NOT EXISTS item_owner_id_idx ON item (owner_id, id);
+
+create EXTENSION IF NOT EXISTS pg_trgm;
+
+create INDEX IF NOT EXISTS item_name_trgm_idx ON item USING gin (name gin_trgm_ops) WHERE is_available;
+
+create INDEX IF NOT EXISTS item_description_trgm_idx ON item USING gin (description gin_trgm_ops) WHERE is_available;
+
+create SEQUENCE IF NOT EXISTS booking_seq INCREMENT BY 50;
+
+create TABLE IF NOT EXISTS booking ( id bigint DEFAULT nextval('booking_seq') PRIMARY KEY, booking_start timestamp WITHOUT TIME ZONE NOT NULL, booking_end timestamp WITHOUT TIME ZONE NOT NULL, item_id bigint REFERENCES item(id) ON delete CASCADE NOT NULL, booker_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, status varchar(10) NOT NULL, phase varchar(10) DEFAULT 'FUTURE' NOT NULL, version bigint DEFAULT 0 NOT NULL, CHECK(booking_start != booking_end AND booking_end > booking_start));
+
+-- Базы, созданные до появления версии брони (оптимистическая блокировка в Booking)
+alter table booking add column IF NOT EXISTS version bigint DEFAULT 0 NOT NULL;
+
+-- Базы, созданные до появления фазы брони: старые брони получают FUTURE, BookingPhaseScheduler догоняет их пачками
+alter table booking add column IF NOT EXISTS phase varchar(10) DEFAULT 'FUTURE' NOT NULL;
+
+create INDEX IF NOT EXISTS booking_booker_start_id_idx ON booking (booker_id, booking_start DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_item_start_id_idx ON booking (item_id, booking_start DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_item_end_id_idx ON booking (item_id, booking_end DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_booker_status_start_idx ON booking (booker_id, status, booking_start DESC);
+
+create INDEX IF NOT EXISTS booking_booker_phase_start_idx ON booking (booker_id, phase, booking_start DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_item_phase_start_idx ON booking (item_id, phase, booking_start DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_phase_start_idx ON booking (phase, booking_start);
+
+create INDEX IF NOT EXISTS booking_phase_end_idx ON booking (phase, booking_end);
+
+-- Ни один запрос не выбирал WAITING по предмету; выборки WAITING по арендатору обслуживает booking_booker_status_start_idx
+drop INDEX IF EXISTS booking_waiting_item_start_idx;
+
+create EXTENSION IF NOT EXISTS btree_gist;
+
+-- Брони одного предмета в статусах WAITING/APPROVED не пересекаются. Если в базе уже есть пересечения,
+-- ограничение не создаётся, их отсекает только BookingOverlapGuard
+DO 'BEGIN IF NOT EXISTS (SELECT 1 FROM pg_constraint WHERE conname = ''booking_no_overlap'') THEN ALTER TABLE booking ADD CONSTRAINT booking_no_overlap EXCLUDE USING gist (item_id WITH =, tsrange(booking_start, booking_end) WITH &&) WHERE (status IN (''WAITING'', ''APPROVED'')); END IF; EXCEPTION WHEN exclusion_violation THEN RAISE WARNING ''booking_no_overlap: в booking есть пересекающиеся брони''; END';
+
+create SEQUENCE IF NOT EXISTS comment_seq INCREMENT BY 50;
+
+create TABLE IF NOT EXISTS comment ( id bigint DEFAULT nextval('comment_seq') PRIMARY KEY, text varchar(1024) NOT NULL CHECK(length(text) > 10), item_id bigint REFERENCES item(id) ON delete CASCADE NOT NULL, author_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, created timestamp WITHOUT TIME ZONE NOT NULL, UNIQUE(author_id, item_id));
 
 delete from person;
 delete from item;
@@ -14,9 +63,31 @@ delete from booking;
 delete from comment;
 delete from request;
 
-alter table person alter id RESTART;
-alter table item alter id RESTART;
-alter table booking alter id RESTART;
-alter table comment alter id RESTART;
-alter table request alter id RESTART;
+-- Базы, созданные с id GENERATED ALWAYS AS IDENTITY: id берутся из последовательностей (Hibernate pooled-lo, блоки по 50)
+
+alter table person alter id DROP IDENTITY IF EXISTS;
+
+alter table person alter id SET DEFAULT nextval('person_seq');
+
+alter table request alter id DROP IDENTITY IF EXISTS;
+
+alter table request alter id SET DEFAULT nextval('request_seq');
+
+alter table item alter id DROP IDENTITY IF EXISTS;
+
+alter table item alter id SET DEFAULT nextval('item_seq');
+
+alter table booking alter id DROP IDENTITY IF EXISTS;
+
+alter table booking alter id SET DEFAULT nextval('booking_seq');
+
+alter table comment alter id DROP IDENTITY IF EXISTS;
+
+alter table comment alter id SET DEFAULT nextval('comment_seq');
 
+-- Таблицы очищены выше: id снова выдаются с 1
+alter SEQUENCE person_seq RESTART;
+alter SEQUENCE request_seq RESTART;
+alter SEQUENCE item_seq RESTART;
+alter SEQUENCE booking_seq RESTART;
+alter SEQUENCE comment_seq RESTART;
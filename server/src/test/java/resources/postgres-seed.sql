@@ -0,0 +1,16 @@
+-- Данные для проверок планов на PostgreSQL: 1000 пользователей, у каждого 5 предметов и по 50 броней
+-- как арендатора и как владельца; брони одного предмета не пересекаются (booking_no_overlap)
+
+insert into person (id, name, email) select i, 'user-' || i, 'user' || i || '@mail.ru' from generate_series(1, 1000) as i;
+
+insert into item (id, name, description, is_available, owner_id) select i, (array['Drill', 'Saw', 'Hammer', 'Ladder', 'Screwdriver'])[i % 5 + 1] || ' ' || md5(i::text), 'Tool ' || md5((i + 100000)::text), i % 10 != 0, (i - 1) % 1000 + 1 from generate_series(1, 5000) as i;
+
+insert into booking (id, booking_start, booking_end, item_id, booker_id, status, phase) select i, s, s + interval '1 day', (i - 1) % 5000 + 1, (i * 7) % 1000 + 1, (array['WAITING', 'APPROVED', 'REJECTED', 'CANCELED'])[i % 4 + 1], CASE WHEN s + interval '1 day' < now() THEN 'PAST' WHEN s <= now() THEN 'CURRENT' ELSE 'FUTURE' END from (select i, date_trunc('day', now()) - interval '50 days' + ((i - 1) / 5000) * interval '10 days' + ((i - 1) % 5000) * interval '1 minute' as s from generate_series(1, 50000) as i) as g;
+
+select setval('person_seq', 1001, false);
+select setval('item_seq', 5001, false);
+select setval('booking_seq', 50001, false);
+
+-- vacuum переносит вставленные строки из списка ожидания GIN-индексов pg_trgm в сами индексы - иначе
+-- их чтение дороже прохода по таблице, и план зависит от того, успел ли отработать autovacuum
+vacuum analyze;
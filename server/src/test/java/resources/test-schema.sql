@@ -4,12 +4,49 @@ drop table IF EXISTS booking CASCADE;
 drop table IF EXISTS comment CASCADE;
 drop table IF EXISTS request CASCADE;
 
-create TABLE IF NOT EXISTS person ( id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY, name varchar(128) NOT NULL, email varchar(256) NOT NULL UNIQUE CHECK(email ~ ('^[A-Za-z0-9._%-]+@[A-Za-z0-9.-]+[.][A-Za-z]+$')));
+drop SEQUENCE IF EXISTS person_seq;
+drop SEQUENCE IF EXISTS request_seq;
+drop SEQUENCE IF EXISTS item_seq;
+drop SEQUENCE IF EXISTS booking_seq;
+drop SEQUENCE IF EXISTS comment_seq;
 
-create TABLE IF NOT EXISTS request ( id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, description varchar(1024) NOT NULL CHECK(length(description) > 10), requester_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, created timestamp WITHOUT TIME ZONE NOT NULL);
+create SEQUENCE IF NOT EXISTS person_seq INCREMENT BY 50;
 
-create TABLE IF NOT EXISTS item ( id bigint GENERATED ALWAYS AS IDENTITY PRIMARY KEY, name varchar(128) NOT NULL, description varchar(1024) NOT NULL, is_available boolean NOT NULL, owner_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, request_id bigint REFERENCES request(id) ON delete CASCADE NULL);
+create TABLE IF NOT EXISTS person ( id bigint DEFAULT NEXT VALUE FOR person_seq PRIMARY KEY, name varchar(128) NOT NULL, email varchar(256) NOT NULL UNIQUE CHECK(email ~ ('^[A-Za-z0-9._%-]+@[A-Za-z0-9.-]+[.][A-Za-z]+$')));
 
-create TABLE IF NOT EXISTS booking ( id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, booking_start timestamp WITHOUT TIME ZONE NOT NULL, booking_end timestamp WITHOUT TIME ZONE NOT NULL, item_id bigint REFERENCES item(id) ON delete CASCADE NOT NULL, booker_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, status varchar(10) NOT NULL, CHECK(booking_start != booking_end AND booking_end > booking_start));
+create SEQUENCE IF NOT EXISTS request_seq INCREMENT BY 50;
 
-create TABLE IF NOT EXISTS comment ( id BIGINT GENERATED ALWAYS AS IDENTITY PRIMARY KEY, text varchar(1024) NOT NULL CHECK(length(text) > 10), item_id bigint REFERENCES item(id) ON delete CASCADE NOT NULL, author_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, created timestamp WITHOUT TIME ZONE NOT NULL, UNIQUE(author_id, item_id));
+create TABLE IF NOT EXISTS request ( id bigint DEFAULT NEXT VALUE FOR request_seq PRIMARY KEY, description varchar(1024) NOT NULL CHECK(length(description) > 10), requester_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, created timestamp WITHOUT TIME ZONE NOT NULL);
+
+create SEQUENCE IF NOT EXISTS item_seq INCREMENT BY 50;
+
+create TABLE IF NOT EXISTS item ( id bigint DEFAULT NEXT VALUE FOR item_seq PRIMARY KEY, name varchar(128) NOT NULL, description varchar(1024) NOT NULL, is_available boolean NOT NULL, owner_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, request_id bigint REFERENCES request(id) ON delete CASCADE NULL);
+
+create INDEX IF NOT EXISTS item_owner_id_idx ON item (owner_id, id);
+
+-- word_similarity из pg_trgm для поиска предметов (в H2 нет pg_trgm)
+create ALIAS IF NOT EXISTS word_similarity FOR "ru.practicum.shareit.common.h2.TrigramFunctions.wordSimilarity";
+
+create SEQUENCE IF NOT EXISTS booking_seq INCREMENT BY 50;
+
+create TABLE IF NOT EXISTS booking ( id bigint DEFAULT NEXT VALUE FOR booking_seq PRIMARY KEY, booking_start timestamp WITHOUT TIME ZONE NOT NULL, booking_end timestamp WITHOUT TIME ZONE NOT NULL, item_id bigint REFERENCES item(id) ON delete CASCADE NOT NULL, booker_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, status varchar(10) NOT NULL, phase varchar(10) DEFAULT 'FUTURE' NOT NULL, version bigint DEFAULT 0 NOT NULL, CHECK(booking_start != booking_end AND booking_end > booking_start));
+
+create INDEX IF NOT EXISTS booking_booker_start_id_idx ON booking (booker_id, booking_start DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_item_start_id_idx ON booking (item_id, booking_start DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_item_end_id_idx ON booking (item_id, booking_end DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_booker_status_start_idx ON booking (booker_id, status, booking_start DESC);
+
+create INDEX IF NOT EXISTS booking_booker_phase_start_idx ON booking (booker_id, phase, booking_start DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_item_phase_start_idx ON booking (item_id, phase, booking_start DESC, id DESC);
+
+create INDEX IF NOT EXISTS booking_phase_start_idx ON booking (phase, booking_start);
+
+create INDEX IF NOT EXISTS booking_phase_end_idx ON booking (phase, booking_end);
+
+create SEQUENCE IF NOT EXISTS comment_seq INCREMENT BY 50;
+
+create TABLE IF NOT EXISTS comment ( id bigint DEFAULT NEXT VALUE FOR comment_seq PRIMARY KEY, text varchar(1024) NOT NULL CHECK(length(text) > 10), item_id bigint REFERENCES item(id) ON delete CASCADE NOT NULL, author_id bigint REFERENCES person(id) ON delete CASCADE NOT NULL, created timestamp WITHOUT TIME ZONE NOT NULL, UNIQUE(author_id, item_id));
@@ -1,16 +1,34 @@
 package ru.practicum.shareit;
 
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
 import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import ru.practicum.shareit.common.cache.SecondLevelCacheEndpoint;
+
+import javax.persistence.EntityManagerFactory;
 
 import static org.junit.jupiter.api.Assertions.assertDoesNotThrow;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
 class ShareItServerTests {
+    private final ApplicationContext context;
+    private final EntityManagerFactory entityManagerFactory;
 
     @Test
     void test_T0010_PS01_startMain() {
         assertDoesNotThrow(ShareItServer::new);
         assertDoesNotThrow(() -> ShareItServer.main(new String[]{}));
     }
+
+    @Test
+    void test_T0020_PS01_l2CacheStatistics_offByDefault() {
+        assertFalse(entityManagerFactory.unwrap(SessionFactory.class).getStatistics().isStatisticsEnabled());
+        assertTrue(context.getBeansOfType(SecondLevelCacheEndpoint.class).isEmpty());
+    }
 }
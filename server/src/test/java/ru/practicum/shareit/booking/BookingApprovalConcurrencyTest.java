@@ -0,0 +1,113 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.exception.BookingStatusConflictException;
+import ru.practicum.shareit.booking.exception.YetAprrovedBookingException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingApprovalConcurrencyTest {
+    private static final int THREADS = 8;
+    private static final int BOOKINGS = 20;
+
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    @Test
+    public void test_T0010_PS01_concurrentDecisions_onlyFirstApplied() throws Exception {
+        User owner = userRepository.save(User.builder()
+                .name("owner-name")
+                .email("approval-owner@mail.ru")
+                .build());
+        User booker = userRepository.save(User.builder()
+                .name("booker-name")
+                .email("approval-booker@mail.ru")
+                .build());
+        Item item = itemRepository.save(Item.builder()
+                .name("item-name")
+                .description("item-description")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        LocalDateTime base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < BOOKINGS; i++) {
+            bookings.add(Booking.builder()
+                    .start(base.plusHours(i))
+                    .end(base.plusHours(i + 1))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.WAITING)
+                    .build());
+        }
+        bookings = bookingRepository.saveAll(bookings);
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        for (Booking booking : bookings) {
+            CountDownLatch start = new CountDownLatch(1);
+            List<Future<BookingResponseDto>> futures = new ArrayList<>();
+
+            //  Половина потоков подтверждает бронь, половина отклоняет
+            for (int t = 0; t < THREADS; t++) {
+                boolean approved = t % 2 == 0;
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    try {
+                        return bookingService.toBook(owner.getId(), booking.getId(), approved);
+                    } catch (BookingStatusConflictException | YetAprrovedBookingException e) {
+                        return null;
+                    }
+                }));
+            }
+            start.countDown();
+
+            List<BookingResponseDto> applied = new ArrayList<>();
+            for (Future<BookingResponseDto> future : futures) {
+                BookingResponseDto result = future.get(1, TimeUnit.MINUTES);
+                if (result != null) {
+                    applied.add(result);
+                }
+            }
+
+            assertEquals(1, applied.size(), "Бронь " + booking.getId() + " изменена несколько раз");
+
+            Booking stored = bookingRepository.findById(booking.getId()).orElseThrow();
+            assertEquals(applied.get(0).getStatus(), stored.getStatus());
+            assertTrue(stored.getStatus() == Status.APPROVED || stored.getStatus() == Status.REJECTED);
+            assertEquals(booking.getVersion() + 1, stored.getVersion());
+        }
+
+        executor.shutdown();
+    }
+}
@@ -0,0 +1,151 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingRequestDto;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@Slf4j
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingConcurrencyStressTest {
+    private static final int THREADS = 16;
+    private static final int ATTEMPTS_PER_THREAD = 40;
+    private static final int ITEMS = 4;
+    private static final int SLOTS = 60;
+
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+
+    private List<Long> itemIds;
+    private List<Long> bookerIds;
+    private LocalDateTime base;
+
+    @BeforeEach
+    public void preTestInitialization() {
+        User owner = userRepository.save(User.builder()
+                .name("owner-name")
+                .email("stress-owner@mail.ru")
+                .build());
+
+        itemIds = new ArrayList<>();
+        for (int i = 0; i < ITEMS; i++) {
+            itemIds.add(itemRepository.save(Item.builder()
+                    .name("item-name-" + i)
+                    .description("item-description-" + i)
+                    .available(true)
+                    .owner(owner)
+                    .build()).getId());
+        }
+
+        bookerIds = new ArrayList<>();
+        for (int i = 0; i < THREADS; i++) {
+            bookerIds.add(userRepository.save(User.builder()
+                    .name("booker-name-" + i)
+                    .email("stress-booker-" + i + "@mail.ru")
+                    .build()).getId());
+        }
+
+        base = LocalDateTime.now().plusDays(1).truncatedTo(ChronoUnit.HOURS);
+    }
+
+    @Test
+    public void test_T0010_PS01_concurrentBookings_noOverlapsAccepted() throws Exception {
+        AtomicInteger created = new AtomicInteger();
+        AtomicInteger rejected = new AtomicInteger();
+        CountDownLatch start = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+
+        List<Future<?>> futures = new ArrayList<>();
+        for (int t = 0; t < THREADS; t++) {
+            long bookerId = bookerIds.get(t);
+            futures.add(executor.submit(() -> {
+                start.await();
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+
+                for (int i = 0; i < ATTEMPTS_PER_THREAD; i++) {
+                    LocalDateTime bookingStart = base.plusHours(random.nextInt(SLOTS));
+                    BookingRequestDto request = BookingRequestDto.builder()
+                            .itemId(itemIds.get(random.nextInt(ITEMS)))
+                            .start(bookingStart)
+                            .end(bookingStart.plusHours(1 + random.nextInt(3)))
+                            .build();
+                    try {
+                        bookingService.createBooking(request, bookerId);
+                        created.incrementAndGet();
+                    } catch (BookingOverlapException e) {
+                        rejected.incrementAndGet();
+                    }
+                }
+                return null;
+            }));
+        }
+
+        long startNanos = System.nanoTime();
+        start.countDown();
+        for (Future<?> future : futures) {
+            future.get(2, TimeUnit.MINUTES);
+        }
+        long elapsedMillis = Math.max(1, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos));
+        executor.shutdown();
+
+        int attempts = THREADS * ATTEMPTS_PER_THREAD;
+        log.info("BookingConcurrencyStressTest: {} попыток за {} мс ({} в секунду), создано {}, отклонено {}",
+                attempts, elapsedMillis, attempts * 1000L / elapsedMillis, created.get(), rejected.get());
+
+        assertEquals(attempts, created.get() + rejected.get());
+        assertTrue(created.get() > 0);
+        assertTrue(rejected.get() > 0);
+
+        //  Контекст может быть общим с другими тестами - учитываются только брони предметов этого теста
+        List<Booking> bookings = bookingRepository.findAll().stream()
+                .filter(booking -> itemIds.contains(booking.getItem().getId()))
+                .collect(Collectors.toList());
+        assertEquals(created.get(), bookings.size());
+
+        Map<Long, List<Booking>> byItem = bookings.stream()
+                .collect(Collectors.groupingBy(booking -> booking.getItem().getId()));
+
+        byItem.values().forEach(itemBookings -> {
+            itemBookings.sort(Comparator.comparing(Booking::getStart));
+            for (int i = 1; i < itemBookings.size(); i++) {
+                assertFalse(itemBookings.get(i).getStart().isBefore(itemBookings.get(i - 1).getEnd()),
+                        "Пересекаются брони " + itemBookings.get(i - 1).getId() + " и " + itemBookings.get(i).getId());
+            }
+        });
+    }
+}
@@ -485,4 +485,26 @@ class BookingControllerTest {
 
         assertTrue(response.contains("Failed to convert value"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_T0060_PS01_getAllBookingByOwner_afterCursor() throws Exception {
+        String after = "2030-01-02T03:04:05,15";
+        List<BookingResponseDto> response = List.of(bookingResponseDto);
+
+        Mockito.when(bookingService.getAllBookingByOwner(eq(anyBookeOrOwnerId), eq(State.ALL), eq(after), eq(10)))
+                .thenReturn(response);
+
+        mvc.perform(get("/bookings/owner")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_USER_HEADER, anyBookeOrOwnerId)
+                        .param("mode", "cursor")
+                        .param("state", State.ALL.toString())
+                        .param("after", after)
+                        .param("size", String.valueOf(10)))
+                .andExpect(status().isOk())
+                .andExpect(content().string(mapper.writeValueAsString(response)));
+
+        Mockito.verify(bookingService, Mockito.only()).getAllBookingByOwner(eq(anyBookeOrOwnerId), eq(State.ALL), eq(after), eq(10));
+    }
+}
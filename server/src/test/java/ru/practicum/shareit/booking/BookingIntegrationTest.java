@@ -12,10 +12,13 @@ import ru.practicum.shareit.booking.exception.BookingItemOwnerIncorrectException
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingPhaseScheduler;
 import ru.practicum.shareit.comment.repository.CommentRepository;
 import ru.practicum.shareit.item.controller.ItemController;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.controller.RequestController;
 import ru.practicum.shareit.request.dto.ReqRequestDto;
@@ -45,6 +48,7 @@ public class BookingIntegrationTest {
     private final BookingRepository bookingRepository;
     private final RequestRepository requestRepository;
     private final CommentRepository commentRepository;
+    private final BookingPhaseScheduler bookingPhaseScheduler;
 
     //    1 Owner with 1 Item without Request
     private UserRequestDto owner1;
@@ -228,6 +232,8 @@ public class BookingIntegrationTest {
             TimeUnit.SECONDS.sleep(2);
             booking6.setItemId(reqItem2Id);
             booking6Id = bookingController.createBooking(booking6, booker2Id).getId();
+            //  Состояния выбираются по фазе: начавшиеся и закончившиеся брони переводит планировщик
+            bookingPhaseScheduler.advance();
 
             assertRepositorySize(6, 4, 6, 1, 0);
         }
@@ -319,5 +325,33 @@ public class BookingIntegrationTest {
             assertEquals(booking5.getEnd(), gotItem.getLastBooking().getEnd());
             assertNull(gotItem.getNextBooking());
         }
+
+        @Test
+        public void test_T1070_PS01_itemAvailability_followsCreateAndReject() {
+            LocalDateTime from = ldt.plusHours(1);
+            LocalDateTime to = ldt.plusHours(12);
+
+            //  booking6 отклонена в T1030 и время не занимает
+            ItemAvailabilityDto availability = itemController.getItemAvailability(owner3Id, reqItem2Id, from, to);
+            assertEquals(List.of(new TimeIntervalDto(booking4.getStart(), booking4.getEnd())), availability.getBusy());
+            assertEquals(List.of(new TimeIntervalDto(from, booking4.getStart()), new TimeIntervalDto(booking4.getEnd(), to)),
+                    availability.getFree());
+
+            BookingRequestDto booking7 = BookingRequestDto.builder()
+                    .itemId(reqItem2Id)
+                    .start(ldt.plusHours(9))
+                    .end(ldt.plusHours(10))
+                    .build();
+            long booking7Id = bookingController.createBooking(booking7, booker1Id).getId();
+
+            availability = itemController.getItemAvailability(owner3Id, reqItem2Id, from, to);
+            assertEquals(List.of(new TimeIntervalDto(booking4.getStart(), booking4.getEnd()),
+                    new TimeIntervalDto(booking7.getStart(), booking7.getEnd())), availability.getBusy());
+
+            bookingController.toBook(owner3Id, booking7Id, false);
+
+            availability = itemController.getItemAvailability(owner3Id, reqItem2Id, from, to);
+            assertEquals(List.of(new TimeIntervalDto(booking4.getStart(), booking4.getEnd())), availability.getBusy());
+        }
     }
 }
@@ -0,0 +1,71 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.Test;
+import ru.practicum.shareit.booking.service.BookingIntervals;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BookingIntervalsTest {
+    private static final long ITEM_ID = 1;
+    private static final LocalDateTime BASE = LocalDateTime.of(2030, 1, 1, 0, 0);
+
+    private static LocalDateTime at(final int hour) {
+        return BASE.plusHours(hour);
+    }
+
+    @Test
+    public void test_T0010_PS01_halfOpenIntervals_adjacentDoNotOverlap() {
+        BookingIntervals intervals = new BookingIntervals();
+        intervals.add(ITEM_ID, at(2), at(4));
+
+        assertFalse(intervals.overlaps(ITEM_ID, at(0), at(2)));
+        assertFalse(intervals.overlaps(ITEM_ID, at(4), at(6)));
+        assertTrue(intervals.overlaps(ITEM_ID, at(3), at(5)));
+        assertTrue(intervals.overlaps(ITEM_ID, at(1), at(3)));
+        assertTrue(intervals.overlaps(ITEM_ID, at(0), at(10)));
+        assertFalse(intervals.overlaps(ITEM_ID + 1, at(2), at(4)));
+    }
+
+    @Test
+    public void test_T0020_PS01_overlappingIntervals_merged() {
+        BookingIntervals intervals = new BookingIntervals();
+        intervals.add(ITEM_ID, at(0), at(10));
+        intervals.add(ITEM_ID, at(2), at(3));
+        intervals.add(ITEM_ID, at(12), at(14));
+        intervals.add(ITEM_ID, at(14), at(15));
+
+        //  Короткий интервал внутри длинного не скрывает длинный
+        assertTrue(intervals.overlaps(ITEM_ID, at(5), at(6)));
+        assertTrue(intervals.overlaps(ITEM_ID, at(14), at(15)));
+        assertFalse(intervals.overlaps(ITEM_ID, at(10), at(12)));
+
+        intervals.add(ITEM_ID, at(9), at(13));
+        assertTrue(intervals.overlaps(ITEM_ID, at(11), at(12)));
+        assertFalse(intervals.overlaps(ITEM_ID, at(15), at(16)));
+    }
+
+    @Test
+    public void test_T0030_PS01_busyWindow_includesIntervalCrossingFrom() {
+        BookingIntervals intervals = new BookingIntervals();
+        intervals.add(ITEM_ID, at(0), at(3));
+        intervals.add(ITEM_ID, at(5), at(6));
+        intervals.add(ITEM_ID, at(8), at(9));
+
+        assertEquals(List.of(at(0), at(5)), List.copyOf(intervals.busy(ITEM_ID, at(2), at(8)).keySet()));
+        assertEquals(Map.of(at(5), at(6)), intervals.busy(ITEM_ID, at(3), at(7)));
+        assertTrue(intervals.busy(ITEM_ID, at(9), at(12)).isEmpty());
+        assertTrue(intervals.busy(ITEM_ID + 1, at(0), at(12)).isEmpty());
+
+        //  Копия не связана с исходными интервалами
+        BookingIntervals copy = intervals.copy();
+        copy.add(ITEM_ID, at(10), at(11));
+        assertTrue(copy.overlaps(ITEM_ID, at(10), at(11)));
+        assertFalse(intervals.overlaps(ITEM_ID, at(10), at(11)));
+    }
+}
@@ -0,0 +1,124 @@
+package ru.practicum.shareit.booking;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.Phase;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingPhaseScheduler;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_CLASS)
+class BookingPhaseSchedulerTest {
+    private static final int DUE_PAST = 5;
+    private static final int DUE_CURRENT = 3;
+    private static final int FUTURE = 2;
+
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final TransactionTemplate transactionTemplate;
+
+    private Booking booking(final Item item, final User booker, final LocalDateTime start, final LocalDateTime end) {
+        return Booking.builder()
+                .start(start)
+                .end(end)
+                .item(item)
+                .booker(booker)
+                .status(Status.APPROVED)
+                .phase(Phase.FUTURE)
+                .build();
+    }
+
+    @Test
+    public void test_T0010_PS01_laggingPhases_advancedInBatches() {
+        User owner = userRepository.save(User.builder()
+                .name("owner-name")
+                .email("phase-owner@mail.ru")
+                .build());
+        User booker = userRepository.save(User.builder()
+                .name("booker-name")
+                .email("phase-booker@mail.ru")
+                .build());
+        Item item = itemRepository.save(Item.builder()
+                .name("item-name")
+                .description("item-description")
+                .available(true)
+                .owner(owner)
+                .build());
+
+        //  Все брони сохранены в FUTURE, как если бы планировщик давно не запускался
+        LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS);
+        List<Booking> bookings = new ArrayList<>();
+        for (int i = 0; i < DUE_PAST; i++) {
+            bookings.add(booking(item, booker, now.minusDays(10 - i), now.minusDays(9 - i)));
+        }
+        for (int i = 0; i < DUE_CURRENT; i++) {
+            bookings.add(booking(item, booker, now.minusHours(3 - i), now.plusDays(1 + i)));
+        }
+        for (int i = 0; i < FUTURE; i++) {
+            bookings.add(booking(item, booker, now.plusDays(20 + i), now.plusDays(21 + i)));
+        }
+        bookingRepository.saveAll(bookings);
+
+        //  Выборки по состоянию смотрят только на фазу: до прохода планировщика все брони - FUTURE
+        assertEquals(0, bookingService.getAllBookingByBooker(booker.getId(), State.PAST, 0, 20).size());
+        assertEquals(0, bookingService.getAllBookingByBooker(booker.getId(), State.CURRENT, 0, 20).size());
+        assertEquals(DUE_PAST + DUE_CURRENT + FUTURE, bookingService.getAllBookingByBooker(booker.getId(), State.FUTURE, 0, 20).size());
+
+        BookingPhaseScheduler scheduler = new BookingPhaseScheduler(bookingRepository, transactionTemplate, 2);
+        SimpleMeterRegistry registry = new SimpleMeterRegistry();
+        scheduler.bindTo(registry);
+
+        scheduler.advance();
+
+        //  Контекст может быть общим с другими тестами - их брони тоже могут перейти в другую фазу
+        assertTrue(scheduler.transitions(Phase.PAST) >= DUE_PAST);
+        assertTrue(scheduler.transitions(Phase.CURRENT) >= DUE_CURRENT);
+        assertTrue(registry.get("shareit.booking.phase.transitions").tag("phase", "PAST").functionCounter().count() >= DUE_PAST);
+        assertTrue(scheduler.lag().compareTo(Duration.ofDays(9)) >= 0);
+
+        List<Booking> advanced = bookingRepository.findAll().stream()
+                .filter(booking -> booking.getBooker().getId() == booker.getId())
+                .sorted((first, second) -> first.getStart().compareTo(second.getStart()))
+                .collect(Collectors.toList());
+        assertEquals(DUE_PAST + DUE_CURRENT + FUTURE, advanced.size());
+        for (int i = 0; i < advanced.size(); i++) {
+            Phase expected = i < DUE_PAST ? Phase.PAST : i < DUE_PAST + DUE_CURRENT ? Phase.CURRENT : Phase.FUTURE;
+            assertEquals(expected, advanced.get(i).getPhase());
+            assertEquals(0, advanced.get(i).getVersion());
+        }
+
+        assertEquals(DUE_PAST, bookingService.getAllBookingByBooker(booker.getId(), State.PAST, 0, 20).size());
+        assertEquals(DUE_CURRENT, bookingService.getAllBookingByBooker(booker.getId(), State.CURRENT, 0, 20).size());
+        assertEquals(FUTURE, bookingService.getAllBookingByBooker(booker.getId(), State.FUTURE, 0, 20).size());
+
+        //  Повторный проход догоняет только то, что наступило между проходами
+        scheduler.advance();
+        assertTrue(scheduler.lag().compareTo(Duration.ofMinutes(1)) < 0);
+    }
+}
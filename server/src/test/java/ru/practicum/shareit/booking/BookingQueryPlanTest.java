@@ -0,0 +1,146 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.data.domain.Pageable;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.booking.model.Phase;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.config.SecondLevelCacheConfig;
+import ru.practicum.shareit.common.postgres.PostgresTestDatabase;
+import ru.practicum.shareit.common.postgres.QueryPlanRecorder;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Проверка планов горячих запросов по booking на PostgreSQL с заполненной базой (postgres-seed.sql):
+ * запросы репозитория перехватываются вместе с параметрами и прогоняются через EXPLAIN.
+ * Seq Scan по booking означает, что для запроса нет подходящего индекса в schema.sql.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryPlanRecorder.class, SecondLevelCacheConfig.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+class BookingQueryPlanTest {
+    private static final String DATABASE = "shareit_booking_plan";
+    private static final String BOOKING_SEQ_SCAN = "Seq Scan on booking";
+    //  Index Scan / Index Only Scan using booking_* или Bitmap Index Scan on booking_*
+    private static final Pattern BOOKING_INDEX = Pattern.compile("(using|Bitmap Index Scan on) booking_");
+
+    @Autowired
+    private BookingRepository bookingRepository;
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private QueryPlanRecorder recorder;
+
+    private final LocalDateTime now = LocalDateTime.now();
+    private final Pageable pageable = Pageable.ofSize(10);
+
+    @BeforeAll
+    static void assumePostgres() {
+        PostgresTestDatabase.assumeAvailable();
+    }
+
+    @DynamicPropertySource
+    static void postgres(final DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.create(DATABASE, PostgresTestDatabase.SCHEMA, PostgresTestDatabase.SEED);
+        PostgresTestDatabase.register(registry, DATABASE);
+    }
+
+    @BeforeEach
+    public void clearRecorded() {
+        recorder.clear();
+    }
+
+    private List<String> assertRecordedQueriesUseIndex() throws SQLException {
+        List<String> plans = recorder.plans();
+        assertFalse(plans.isEmpty());
+        for (String plan : plans) {
+            assertTrue(BOOKING_INDEX.matcher(plan).find(), plan);
+            assertFalse(plan.contains(BOOKING_SEQ_SCAN), plan);
+        }
+        return plans;
+    }
+
+    @Test
+    public void test_T0010_PS01_bookerStateQueries_useIndex() throws SQLException {
+        bookingRepository.findPastByBookerId(8L, pageable);
+        bookingRepository.findCurrentByBookerId(8L, pageable);
+        bookingRepository.findFutureByBookerId(8L, pageable);
+        bookingRepository.findByBookerIdAndStatusOrderByStartDesc(8L, Status.WAITING, pageable);
+        bookingRepository.findByBookerIdOrderByStartDesc(8L, pageable);
+
+        assertRecordedQueriesUseIndex();
+    }
+
+    @Test
+    public void test_T0020_PS01_ownerStateQueries_useIndex() throws SQLException {
+        bookingRepository.findPastByItemOwnerId(8L, pageable);
+        bookingRepository.findCurrentByItemOwnerId(8L, pageable);
+        bookingRepository.findFutureByItemOwnerId(8L, pageable);
+        bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(8L, Status.WAITING, pageable);
+        bookingRepository.findByItemOwnerIdOrderByStartDesc(8L, pageable);
+
+        assertRecordedQueriesUseIndex();
+    }
+
+    @Test
+    public void test_T0030_PS01_bookerCursorQueries_seekByStart() throws SQLException {
+        LocalDateTime cursor = now.minusDays(20);
+        bookingRepository.findPastByBookerIdBeforeCursor(8L, cursor, 100L, pageable);
+        bookingRepository.findCurrentByBookerIdBeforeCursor(8L, cursor, 100L, pageable);
+        bookingRepository.findFutureByBookerIdBeforeCursor(8L, cursor, 100L, pageable);
+        bookingRepository.findByBookerIdAndStatusBeforeCursor(8L, Status.WAITING, cursor, 100L, pageable);
+        bookingRepository.findByBookerIdBeforeCursor(8L, cursor, 100L, pageable);
+
+        //  Граница курсора - условие индекса, а не фильтр поверх всех броней арендатора
+        for (String plan : assertRecordedQueriesUseIndex()) {
+            assertTrue(plan.matches("(?s).*Index Cond: \\(.*booking_start <= .*"), plan);
+        }
+    }
+
+    @Test
+    public void test_T0040_PS01_ownerCursorQueries_useIndex() throws SQLException {
+        LocalDateTime cursor = now.minusDays(20);
+        bookingRepository.findPastByItemOwnerIdBeforeCursor(8L, cursor, 100L, pageable);
+        bookingRepository.findCurrentByItemOwnerIdBeforeCursor(8L, cursor, 100L, pageable);
+        bookingRepository.findFutureByItemOwnerIdBeforeCursor(8L, cursor, 100L, pageable);
+        bookingRepository.findByItemOwnerIdAndStatusBeforeCursor(8L, Status.WAITING, cursor, 100L, pageable);
+        bookingRepository.findByItemOwnerIdBeforeCursor(8L, cursor, 100L, pageable);
+
+        assertRecordedQueriesUseIndex();
+    }
+
+    @Test
+    public void test_T0050_PS01_itemNearBookingQueries_useIndex() throws SQLException {
+        itemRepository.findNearBookingsByItemIds(List.of(8L, 1008L), now, List.of(Status.APPROVED.name()));
+
+        assertRecordedQueriesUseIndex();
+    }
+
+    @Test
+    public void test_T0060_PS01_phaseSchedulerQueries_useIndex() throws SQLException {
+        bookingRepository.findIdsByPhaseInAndEndBefore(List.of(Phase.FUTURE, Phase.CURRENT), now, pageable);
+        bookingRepository.findIdsByPhaseAndStartNotAfter(Phase.FUTURE, now, pageable);
+        bookingRepository.findMinEndByPhase(Phase.CURRENT);
+        bookingRepository.findMinStartByPhase(Phase.FUTURE);
+
+        assertRecordedQueriesUseIndex();
+    }
+}
@@ -2,22 +2,29 @@ package ru.practicum.shareit.booking;
 
 import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.annotation.Rollback;
+import org.springframework.transaction.support.TransactionTemplate;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingPhaseScheduler;
 import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.common.config.SecondLevelCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.model.User;
 import ru.practicum.shareit.user.repository.UserRepository;
 
+import java.time.Duration;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
@@ -27,6 +34,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
 class BookingRepositoryTest {
     @Autowired
@@ -41,6 +49,10 @@ class BookingRepositoryTest {
     private RequestRepository requestRepository;
     @Autowired
     private CommentRepository commentRepository;
+    @Autowired
+    private TransactionTemplate transactionTemplate;
+    @Value("${shareit.booking.phase.interval}")
+    private String phaseInterval;
 
     private static LocalDateTime ldt;
     private int from;
@@ -149,6 +161,11 @@ class BookingRepositoryTest {
 
     }
 
+    //  Проход планировщика в заданный момент: фаза броней становится такой, какой была бы в это время
+    private void advancePhasesAt(final LocalDateTime now) {
+        new BookingPhaseScheduler(bookingRepository, transactionTemplate, 500, () -> now).advance();
+    }
+
     private void assertRepositorySize(long uQ, long iQ, long bQ, long rQ, long cQ) {
         assertEquals(uQ, userRepository.count());
         assertEquals(iQ, itemRepository.count());
@@ -215,6 +232,8 @@ class BookingRepositoryTest {
             booking7 = bookingRepository.save(booking7);
 
             TimeUnit.SECONDS.sleep(2);
+            //  Состояния выбираются по фазе: начавшиеся и закончившиеся брони переводит планировщик
+            new BookingPhaseScheduler(bookingRepository, transactionTemplate, 500).advance();
             assertRepositorySize(4, 2, 7, 0, 0);
         }
 
@@ -224,42 +243,43 @@ class BookingRepositoryTest {
             fillRepositoryWithAssigningId();
         }
 
+        //  Проходы планировщика "в будущем" откатываются вместе с тестом и не сдвигают фазы для остальных тестов.
+        //  Фаза только растёт, поэтому моменты проходов внутри теста идут по возрастанию
         @Test
+        @Rollback
         @DisplayName("State.Past - byBookerId")
-        public void test_T1010_PS01_findByBookerIdAndEndLessThanOrderByStartDesc() {
-            List<Booking> booker1Bookings = bookingRepository.findByBookerIdAndEndLessThanOrderByStartDesc(booker1Id, ldt.plusHours(1), pageable);
-            assertNotNull(booker1Bookings);
-            assertEquals(2, booker1Bookings.size());
-
-            List<Booking> booker2Bookings = bookingRepository.findByBookerIdAndEndLessThanOrderByStartDesc(booker2Id, ldt.plusMinutes(50), pageable);
+        public void test_T1010_PS01_findPastByBookerId() {
+            advancePhasesAt(ldt.plusMinutes(50));
+            List<Booking> booker2Bookings = bookingRepository.findPastByBookerId(booker2Id, pageable);
             assertNotNull(booker2Bookings);
             assertEquals(4, booker2Bookings.size());
+
+            advancePhasesAt(ldt.plusHours(1));
+            List<Booking> booker1Bookings = bookingRepository.findPastByBookerId(booker1Id, pageable);
+            assertNotNull(booker1Bookings);
+            assertEquals(2, booker1Bookings.size());
         }
 
         @Test
         @DisplayName("State.Current - byBookerId")
-        public void test_T1020_PS01_findByBookerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc() {
-            LocalDateTime now = LocalDateTime.now();
-
-            List<Booking> booker1Bookings = bookingRepository.findByBookerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(booker1Id, now, now, pageable);
+        public void test_T1020_PS01_findCurrentByBookerId() {
+            List<Booking> booker1Bookings = bookingRepository.findCurrentByBookerId(booker1Id, pageable);
             assertNotNull(booker1Bookings);
             assertEquals(0, booker1Bookings.size());
 
-            List<Booking> booker2Bookings = bookingRepository.findByBookerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(booker2Id, now, now, pageable);
+            List<Booking> booker2Bookings = bookingRepository.findCurrentByBookerId(booker2Id, pageable);
             assertNotNull(booker2Bookings);
             assertEquals(1, booker2Bookings.size());
         }
 
         @Test
         @DisplayName("State.Future - byBookerId")
-        public void test_T1030_PS01_findByBookerIdAndStartGreaterThanEqualOrderByStartDesc() {
-            LocalDateTime now = LocalDateTime.now();
-
-            List<Booking> booker1Bookings = bookingRepository.findByBookerIdAndStartGreaterThanEqualOrderByStartDesc(booker1Id, now, pageable);
+        public void test_T1030_PS01_findFutureByBookerId() {
+            List<Booking> booker1Bookings = bookingRepository.findFutureByBookerId(booker1Id, pageable);
             assertNotNull(booker1Bookings);
             assertEquals(1, booker1Bookings.size());
 
-            List<Booking> booker2Bookings = bookingRepository.findByBookerIdAndStartGreaterThanEqualOrderByStartDesc(booker2Id, now, pageable);
+            List<Booking> booker2Bookings = bookingRepository.findFutureByBookerId(booker2Id, pageable);
             assertNotNull(booker2Bookings);
             assertEquals(3, booker2Bookings.size());
         }
@@ -297,49 +317,71 @@ class BookingRepositoryTest {
         }
 
         @Test
+        @Rollback
         @DisplayName("State.Past - byOwnerId")
-        public void test_T1060_PS01_findByItemOwnerIdAndEndLessThanOrderByStartDesc() {
-            List<Booking> owner1Bookings = bookingRepository.findByItemOwnerIdAndEndLessThanOrderByStartDesc(owner1Id, ldt.plusMinutes(27), pageable);
+        public void test_T1060_PS01_findPastByItemOwnerId() {
+            advancePhasesAt(ldt.plusMinutes(10));
+            List<BookingResponseDto> owner2Bookings = bookingRepository.findPastByItemOwnerId(owner2Id, pageable);
+            assertNotNull(owner2Bookings);
+            assertEquals(1, owner2Bookings.size());
+
+            advancePhasesAt(ldt.plusMinutes(27));
+            List<BookingResponseDto> owner1Bookings = bookingRepository.findPastByItemOwnerId(owner1Id, pageable);
             assertNotNull(owner1Bookings);
             assertEquals(3, owner1Bookings.size());
 
-            owner1Bookings = bookingRepository.findByItemOwnerIdAndEndLessThanOrderByStartDesc(owner1Id, ldt.plusMinutes(60), pageable);
+            advancePhasesAt(ldt.plusMinutes(30));
+            owner2Bookings = bookingRepository.findPastByItemOwnerId(owner2Id, pageable);
+            assertNotNull(owner2Bookings);
+            assertEquals(2, owner2Bookings.size());
+
+            advancePhasesAt(ldt.plusMinutes(60));
+            owner1Bookings = bookingRepository.findPastByItemOwnerId(owner1Id, pageable);
             assertNotNull(owner1Bookings);
             assertEquals(5, owner1Bookings.size());
+        }
 
-            List<Booking> owner2Bookings = bookingRepository.findByItemOwnerIdAndEndLessThanOrderByStartDesc(owner2Id, ldt.plusMinutes(10), pageable);
-            assertNotNull(owner2Bookings);
-            assertEquals(1, owner2Bookings.size());
-
-            owner2Bookings = bookingRepository.findByItemOwnerIdAndEndLessThanOrderByStartDesc(owner2Id, ldt.plusMinutes(30), pageable);
-            assertNotNull(owner2Bookings);
-            assertEquals(2, owner2Bookings.size());
+        //  Документированное отставание состояния (BookingRepository, BookingPhaseScheduler): закончившаяся бронь
+        //  остаётся в прежнем состоянии до следующего прохода, проходы идут раз в shareit.booking.phase.interval
+        @Test
+        @Rollback
+        @DisplayName("State.Past - byOwnerId - staleness window")
+        public void test_T1065_PS01_findPastByItemOwnerId_staleUntilNextPass() {
+            Duration interval = Duration.parse(phaseInterval);
+            assertEquals(Duration.ofSeconds(1), interval);
+
+            //  booking2 заканчивается в ldt + 15 минут
+            LocalDateTime end = ldt.plusMinutes(15);
+
+            advancePhasesAt(end);
+            assertEquals(1, bookingRepository.findPastByItemOwnerId(owner2Id, pageable).size());
+            assertEquals(1, bookingRepository.findCurrentByItemOwnerId(owner2Id, pageable).size());
+
+            advancePhasesAt(end.plus(interval));
+            assertEquals(2, bookingRepository.findPastByItemOwnerId(owner2Id, pageable).size());
+            assertEquals(0, bookingRepository.findCurrentByItemOwnerId(owner2Id, pageable).size());
         }
 
         @Test
         @DisplayName("State.Current - byOwnerId")
-        public void test_T1070_PS01_findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc() {
-            LocalDateTime now = LocalDateTime.now();
-
-            List<Booking> owner1Bookings = bookingRepository.findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(owner1Id, now, now, pageable);
+        public void test_T1070_PS01_findCurrentByItemOwnerId() {
+            List<BookingResponseDto> owner1Bookings = bookingRepository.findCurrentByItemOwnerId(owner1Id, pageable);
             assertNotNull(owner1Bookings);
             assertEquals(1, owner1Bookings.size());
 
-            List<Booking> owner2Bookings = bookingRepository.findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(owner2Id, now, now, pageable);
+            List<BookingResponseDto> owner2Bookings = bookingRepository.findCurrentByItemOwnerId(owner2Id, pageable);
             assertNotNull(owner2Bookings);
             assertEquals(0, owner2Bookings.size());
         }
 
         @Test
         @DisplayName("State.Future - byOwnerId")
-        public void test_T1080_PS01_findByItemOwnerIdAndStartGreaterThanEqualOrderByStartDesc() {
-            LocalDateTime now = LocalDateTime.now();
-
-            List<Booking> owner1Bookings = bookingRepository.findByItemOwnerIdAndStartGreaterThanEqualOrderByStartDesc(owner1Id, now, pageable);
+        public void test_T1080_PS01_findFutureByItemOwnerId() {
+            List<BookingResponseDto> owner1Bookings = bookingRepository.findFutureByItemOwnerId(owner1Id, pageable);
             assertNotNull(owner1Bookings);
             assertEquals(3, owner1Bookings.size());
 
-            List<Booking> owner2Bookings = bookingRepository.findByItemOwnerIdAndStartGreaterThanEqualOrderByStartDesc(owner2Id, now, pageable);
+            List<BookingResponseDto> owner2Bookings = bookingRepository.findFutureByItemOwnerId(owner2Id, pageable);
             assertNotNull(owner2Bookings);
             assertEquals(1, owner2Bookings.size());
         }
@@ -347,7 +389,7 @@ class BookingRepositoryTest {
         @Test
         @DisplayName("State.Status - byOwnerId")
         public void test_T1090_PS01_findByItemOwnerIdAndStatusOrderByStartDesc() {
-            List<Booking> owner1Bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(owner1Id, Status.APPROVED, pageable);
+            List<BookingResponseDto> owner1Bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(owner1Id, Status.APPROVED, pageable);
             assertNotNull(owner1Bookings);
             assertEquals(4, owner1Bookings.size());
 
@@ -355,7 +397,7 @@ class BookingRepositoryTest {
             assertNotNull(owner1Bookings);
             assertEquals(1, owner1Bookings.size());
 
-            List<Booking> owner2Bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(owner2Id, Status.APPROVED, pageable);
+            List<BookingResponseDto> owner2Bookings = bookingRepository.findByItemOwnerIdAndStatusOrderByStartDesc(owner2Id, Status.APPROVED, pageable);
             assertNotNull(owner2Bookings);
             assertEquals(2, owner2Bookings.size());
 
@@ -367,13 +409,65 @@ class BookingRepositoryTest {
         @Test
         @DisplayName("State.All - byOwnerId")
         public void test_T1100_PS01_findByItemOwnerIdOrderByStartDesc() {
-            List<Booking> owner1Bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(owner1Id, pageable);
+            List<BookingResponseDto> owner1Bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(owner1Id, pageable);
             assertNotNull(owner1Bookings);
             assertEquals(5, owner1Bookings.size());
 
-            List<Booking> owner2Bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(owner2Id, pageable);
+            List<BookingResponseDto> owner2Bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(owner2Id, pageable);
             assertNotNull(owner2Bookings);
             assertEquals(2, owner2Bookings.size());
         }
+
+        @Test
+        @DisplayName("State.All - byOwnerId - projection")
+        public void test_T1105_PS01_findByItemOwnerIdOrderByStartDesc_fillsItemAndBooker() {
+            List<BookingResponseDto> owner2Bookings = bookingRepository.findByItemOwnerIdOrderByStartDesc(owner2Id, pageable);
+            assertEquals(2, owner2Bookings.size());
+
+            assertEquals("item2-name", owner2Bookings.get(0).getItem().getName());
+            assertEquals(booker1Id, owner2Bookings.get(0).getBooker().getId());
+            assertEquals(Status.APPROVED, owner2Bookings.get(0).getStatus());
+            assertEquals(owner2Bookings.get(0).getItem().getId(), owner2Bookings.get(1).getItem().getId());
+            assertEquals(booker2Id, owner2Bookings.get(1).getBooker().getId());
+        }
+
+        @Test
+        @DisplayName("State.All - byOwnerId - keyset")
+        public void test_T1110_PS01_findByItemOwnerIdBeforeCursor() {
+            List<BookingResponseDto> expected = bookingRepository.findByItemOwnerIdOrderByStartDesc(owner1Id, pageable);
+            List<BookingResponseDto> walked = new ArrayList<>();
+
+            LocalDateTime cursorStart = ldt.plusYears(100);
+            long cursorId = Long.MAX_VALUE;
+            List<BookingResponseDto> page;
+
+            do {
+                page = bookingRepository.findByItemOwnerIdBeforeCursor(owner1Id, cursorStart, cursorId, Pageable.ofSize(2));
+                walked.addAll(page);
+
+                if (!page.isEmpty()) {
+                    cursorStart = page.get(page.size() - 1).getStart();
+                    cursorId = page.get(page.size() - 1).getId();
+                }
+            } while (page.size() == 2);
+
+            assertEquals(5, walked.size());
+            for (int i = 0; i < expected.size(); i++) {
+                assertEquals(expected.get(i).getStart(), walked.get(i).getStart());
+            }
+        }
+
+        @Test
+        @DisplayName("State.Status - byOwnerId - keyset")
+        public void test_T1120_PS01_findByItemOwnerIdAndStatusBeforeCursor() {
+            List<BookingResponseDto> owner1Bookings = bookingRepository
+                    .findByItemOwnerIdAndStatusBeforeCursor(owner1Id, Status.APPROVED, ldt.plusYears(100), Long.MAX_VALUE, Pageable.ofSize(10));
+            assertEquals(4, owner1Bookings.size());
+
+            BookingResponseDto last = owner1Bookings.get(1);
+            owner1Bookings = bookingRepository
+                    .findByItemOwnerIdAndStatusBeforeCursor(owner1Id, Status.APPROVED, last.getStart(), last.getId(), Pageable.ofSize(10));
+            assertEquals(2, owner1Bookings.size());
+        }
     }
-}
\ No newline at end of file
+}
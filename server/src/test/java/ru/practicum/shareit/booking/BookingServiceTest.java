@@ -20,7 +20,15 @@ import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.State;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervals;
+import ru.practicum.shareit.booking.service.BookingOverlapGuard;
 import ru.practicum.shareit.booking.service.BookingServiceImpl;
+import ru.practicum.shareit.booking.service.ItemAvailabilityCache;
+import ru.practicum.shareit.common.batch.BatchRequests;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.common.exception.InvalidBatchSizeException;
+import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.exception.ItemOwnerIncorrectException;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.service.ItemService;
@@ -31,14 +39,19 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
 import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.params.provider.Arguments.arguments;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
 import static ru.practicum.shareit.booking.model.State.*;
 
@@ -53,10 +66,15 @@ class BookingServiceTest {
     private UserService userService;
     @Mock
     private ItemService itemService;
+    @Mock
+    private BookingOverlapGuard overlapGuard;
+    @Mock
+    private ItemAvailabilityCache availabilityCache;
 
     private BookingRequestDto bookingRequestDto;
     private BookingResponseDto bookingResponseDto;
     private Booking expectedBooking;
+    private List<Booking> existingBookings;
     private User expectedOwner;
     private Item expectedItem;
     private User expectedBooker;
@@ -129,6 +147,13 @@ class BookingServiceTest {
                 .booker(expectedBooker)
                 .status(Status.WAITING)
                 .build();
+
+        //  Гард выполняет действие сразу, занятое время предмета - existingBookings
+        existingBookings = new ArrayList<>();
+        Mockito.lenient()
+                .when(overlapGuard.reserve(any(), any(), any(), any()))
+                .thenAnswer(invocation -> invocation.<Function<BookingIntervals, ?>>getArgument(3)
+                        .apply(BookingIntervals.of(existingBookings)));
     }
 
 
@@ -235,31 +260,150 @@ class BookingServiceTest {
     }
 
     @Test
-    public void test_T0020_PS01_toBook() {
-        Mockito.doNothing().when(userService).userExists(anyOwnerId);
+    public void test_T0010_NS06_createBooking_overlapsExistingBooking() {
+        existingBookings.add(expectedBooking.toBuilder()
+                .start(bookingRequestDto.getStart().minusHours(1))
+                .end(bookingRequestDto.getStart().plusMinutes(1))
+                .build());
 
-        Mockito.when(bookingRepository.findById(anyBookingId))
-                .thenReturn(Optional.of(expectedBooking));
+        Mockito.when(itemService.getItemById(anyItemId))
+                .thenReturn(expectedItem);
 
-        Mockito.doNothing().when(itemService).ownerOwnsItem(anyItemId, anyOwnerId);
+        assertThrows(BookingOverlapException.class, () -> bookingService.createBooking(bookingRequestDto, anyBookerId));
+
+        Mockito.verifyNoInteractions(userService);
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void test_T0010_PS02_createBooking_adjacentToExistingBooking() {
+        existingBookings.add(expectedBooking.toBuilder()
+                .start(bookingRequestDto.getStart().minusHours(1))
+                .end(bookingRequestDto.getStart())
+                .build());
+
+        Mockito.when(itemService.getItemById(anyItemId))
+                .thenReturn(expectedItem);
+
+        Mockito.when(userService.getUserById(anyBookerId))
+                .thenReturn(expectedBooker);
 
         Mockito.when(bookingRepository.save(any(Booking.class)))
                 .thenReturn(expectedBooking);
 
-        BookingResponseDto approvedBooking = bookingService.toBook(anyOwnerId, anyBookingId, true);
+        assertEquals(bookingResponseDto, bookingService.createBooking(bookingRequestDto, anyBookerId));
+    }
+
+    @Test
+    public void test_T0015_PS01_createBookings_perElementResults() {
+        Mockito.when(userService.getUserById(anyBookerId))
+                .thenReturn(expectedBooker);
+
+        Mockito.when(itemService.getItemsByIds(any()))
+                .thenReturn(List.of(expectedItem));
+
+        Mockito.when(bookingRepository.saveAll(anyList()))
+                .thenReturn(List.of(expectedBooking));
+
+        List<BatchResultDto<BookingResponseDto>> results = bookingService.createBookings(List.of(
+                bookingRequestDto,
+                bookingRequestDto.toBuilder().itemId(anyItemId + 1).build(),
+                bookingRequestDto.toBuilder().start(ldt.plusDays(10)).build(),
+                bookingRequestDto.toBuilder().start(bookingRequestDto.getEnd().minusHours(1)).end(ldt.plusDays(1)).build()),
+                anyBookerId);
+
+        assertEquals(4, results.size());
+        assertEquals(201, results.get(0).getStatus());
+        assertEquals(bookingResponseDto, results.get(0).getBody());
+        assertInstanceOf(ItemNotFoundException.class, results.get(1).getException());
+        assertInstanceOf(BookingFieldValidationException.class, results.get(2).getException());
+        assertInstanceOf(BookingOverlapException.class, results.get(3).getException());
+
+        Mockito.verify(userService, Mockito.only()).getUserById(anyBookerId);
+        Mockito.verify(itemService, Mockito.only()).getItemsByIds(any());
+        Mockito.verify(bookingRepository, Mockito.only()).saveAll(anyList());
+    }
+
+    @Test
+    public void test_T0015_PS02_createBookings_missingFieldsRejectedBeforeLock() {
+        Mockito.when(userService.getUserById(anyBookerId))
+                .thenReturn(expectedBooker);
+
+        Mockito.when(itemService.getItemsByIds(any()))
+                .thenReturn(List.of(expectedItem));
+
+        Mockito.when(bookingRepository.saveAll(anyList()))
+                .thenReturn(List.of(expectedBooking));
+
+        List<BatchResultDto<BookingResponseDto>> results = bookingService.createBookings(List.of(
+                bookingRequestDto.toBuilder().start(null).build(),
+                bookingRequestDto.toBuilder().itemId(null).build(),
+                bookingRequestDto,
+                bookingRequestDto.toBuilder().end(null).build()),
+                anyBookerId);
+
+        assertEquals(4, results.size());
+        assertInstanceOf(BookingFieldValidationException.class, results.get(0).getException());
+        assertInstanceOf(BookingFieldValidationException.class, results.get(1).getException());
+        assertEquals(201, results.get(2).getStatus());
+        assertInstanceOf(BookingFieldValidationException.class, results.get(3).getException());
+
+        //  Блокируется и читается только предмет прошедшего проверку элемента
+        Mockito.verify(overlapGuard).reserve(Mockito.eq(Set.of(anyItemId)),
+                Mockito.eq(bookingRequestDto.getStart()), Mockito.eq(bookingRequestDto.getEnd()), any());
+        Mockito.verify(itemService, Mockito.only()).getItemsByIds(Set.of(anyItemId));
+    }
+
+    @Test
+    public void test_T0015_NS01_createBookings_batchSizeOutOfRange() {
+        assertThrows(InvalidBatchSizeException.class, () -> bookingService.createBookings(List.of(), anyBookerId));
+        assertThrows(InvalidBatchSizeException.class, () -> bookingService.createBookings(
+                Collections.nCopies(BatchRequests.MAX_SIZE + 1, bookingRequestDto), anyBookerId));
+
+        Mockito.verifyNoInteractions(overlapGuard);
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void test_T0020_PS01_toBook() {
         BookingResponseDto expectedApprovedBooking = bookingResponseDto.toBuilder().status(Status.APPROVED).build();
 
+        Mockito.doNothing().when(userService).userExists(anyOwnerId);
+
+        Mockito.when(bookingRepository.updateStatusIfCurrent(anyBookingId, anyOwnerId, Status.WAITING, Status.APPROVED))
+                .thenReturn(1);
+
+        Mockito.when(bookingRepository.findBookingDtoById(anyBookingId))
+                .thenReturn(Optional.of(expectedApprovedBooking));
+
+        BookingResponseDto approvedBooking = bookingService.toBook(anyOwnerId, anyBookingId, true);
+
         assertEquals(approvedBooking, expectedApprovedBooking);
 
         Mockito.verify(userService, Mockito.only()).userExists(anyOwnerId);
         Mockito.verifyNoMoreInteractions(userService);
 
-        Mockito.verify(bookingRepository, Mockito.times(1)).findById(anyBookingId);
-        Mockito.verify(bookingRepository, Mockito.times(1)).save(any(Booking.class));
+        Mockito.verify(bookingRepository, Mockito.times(1)).updateStatusIfCurrent(anyBookingId, anyOwnerId, Status.WAITING, Status.APPROVED);
+        Mockito.verify(bookingRepository, Mockito.times(1)).findBookingDtoById(anyBookingId);
         Mockito.verifyNoMoreInteractions(bookingRepository);
 
-        Mockito.verify(itemService, Mockito.only()).ownerOwnsItem(anyItemId, anyOwnerId);
-        Mockito.verifyNoMoreInteractions(itemService);
+        Mockito.verifyNoInteractions(itemService);
+        Mockito.verifyNoInteractions(availabilityCache);
+    }
+
+    @Test
+    public void test_T0020_PS02_toBook_reject_evictsAvailability() {
+        BookingResponseDto expectedRejectedBooking = bookingResponseDto.toBuilder().status(Status.REJECTED).build();
+
+        Mockito.when(bookingRepository.updateStatusIfCurrent(anyBookingId, anyOwnerId, Status.WAITING, Status.REJECTED))
+                .thenReturn(1);
+
+        Mockito.when(bookingRepository.findBookingDtoById(anyBookingId))
+                .thenReturn(Optional.of(expectedRejectedBooking));
+
+        assertEquals(expectedRejectedBooking, bookingService.toBook(anyOwnerId, anyBookingId, false));
+
+        Mockito.verify(availabilityCache, Mockito.only()).evict(anyItemId);
     }
 
     @Test
@@ -280,15 +424,15 @@ class BookingServiceTest {
         Mockito.doNothing().when(userService).userExists(anyOwnerId);
 
         Mockito.when(bookingRepository.findById(anyBookingId))
-                .thenThrow(BookingByIdAndOwnerIdNotFoundException.class);
+                .thenReturn(Optional.empty());
 
         assertThrows(BookingByIdAndOwnerIdNotFoundException.class, () -> bookingService.toBook(anyOwnerId, anyBookingId, true));
 
         Mockito.verify(userService, Mockito.only()).userExists(anyOwnerId);
         Mockito.verifyNoMoreInteractions(userService);
 
+        Mockito.verify(bookingRepository, Mockito.times(1)).updateStatusIfCurrent(anyBookingId, anyOwnerId, Status.WAITING, Status.APPROVED);
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(anyBookingId);
-        Mockito.verify(bookingRepository, Mockito.never()).save(any(Booking.class));
         Mockito.verifyNoMoreInteractions(bookingRepository);
 
         Mockito.verifyNoInteractions(itemService);
@@ -301,7 +445,7 @@ class BookingServiceTest {
         Mockito.when(bookingRepository.findById(anyBookingId))
                 .thenReturn(Optional.of(expectedBooking));
 
-        Mockito.doThrow(BookingItemOwnerIncorrectException.class).when(itemService).ownerOwnsItem(anyItemId, anyOwnerId);
+        Mockito.doThrow(ItemOwnerIncorrectException.class).when(itemService).ownerOwnsItem(anyItemId, anyOwnerId);
 
         assertThrows(BookingItemOwnerIncorrectException.class, () -> bookingService.toBook(anyOwnerId, anyBookingId, true));
 
@@ -311,8 +455,8 @@ class BookingServiceTest {
         Mockito.verify(itemService, Mockito.only()).ownerOwnsItem(anyItemId, anyOwnerId);
         Mockito.verifyNoMoreInteractions(itemService);
 
+        Mockito.verify(bookingRepository, Mockito.times(1)).updateStatusIfCurrent(anyBookingId, anyOwnerId, Status.WAITING, Status.APPROVED);
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(anyBookingId);
-        Mockito.verify(bookingRepository, Mockito.never()).save(any(Booking.class));
         Mockito.verifyNoMoreInteractions(bookingRepository);
     }
 
@@ -336,11 +480,26 @@ class BookingServiceTest {
         Mockito.verify(itemService, Mockito.only()).ownerOwnsItem(anyItemId, anyOwnerId);
         Mockito.verifyNoMoreInteractions(itemService);
 
+        Mockito.verify(bookingRepository, Mockito.times(1)).updateStatusIfCurrent(anyBookingId, anyOwnerId, Status.WAITING, Status.APPROVED);
         Mockito.verify(bookingRepository, Mockito.times(1)).findById(anyBookingId);
-        Mockito.verify(bookingRepository, Mockito.never()).save(any(Booking.class));
         Mockito.verifyNoMoreInteractions(bookingRepository);
     }
 
+    @Test
+    public void test_T0020_NS05_toBook_alreadyDecided_conflict() {
+        Booking rejectedBooking = new Booking(expectedBooking);
+        rejectedBooking.setStatus(Status.REJECTED);
+
+        Mockito.when(bookingRepository.findById(anyBookingId))
+                .thenReturn(Optional.of(rejectedBooking));
+
+        assertThrows(BookingStatusConflictException.class, () -> bookingService.toBook(anyOwnerId, anyBookingId, true));
+        assertThrows(BookingStatusConflictException.class, () -> bookingService.toBook(anyOwnerId, anyBookingId, false));
+
+        Mockito.verify(bookingRepository, Mockito.never()).findBookingDtoById(anyLong());
+        Mockito.verifyNoInteractions(availabilityCache);
+    }
+
     @Test
     public void test_T0030_PS01_getBooking() {
         Mockito.doNothing().when(userService).userExists(anyBookerId);
@@ -414,17 +573,17 @@ class BookingServiceTest {
         switch (state) {
             case PAST:
                 Mockito.when(bookingRepository
-                                .findByBookerIdAndEndLessThanOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+                                .findPastByBookerId(anyLong(), any(Pageable.class)))
                         .thenReturn(result);
                 break;
             case CURRENT:
                 Mockito.when(bookingRepository
-                                .findByBookerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
+                                .findCurrentByBookerId(anyLong(), any(Pageable.class)))
                         .thenReturn(result);
                 break;
             case FUTURE:
                 Mockito.when(bookingRepository
-                                .findByBookerIdAndStartGreaterThanEqualOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+                                .findFutureByBookerId(anyLong(), any(Pageable.class)))
                         .thenReturn(result);
                 break;
             case WAITING:
@@ -450,13 +609,13 @@ class BookingServiceTest {
 
         switch (state) {
             case PAST:
-                Mockito.verify(bookingRepository, Mockito.only()).findByBookerIdAndEndLessThanOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+                Mockito.verify(bookingRepository, Mockito.only()).findPastByBookerId(anyLong(), any(Pageable.class));
                 break;
             case CURRENT:
-                Mockito.verify(bookingRepository, Mockito.only()).findByBookerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+                Mockito.verify(bookingRepository, Mockito.only()).findCurrentByBookerId(anyLong(), any(Pageable.class));
                 break;
             case FUTURE:
-                Mockito.verify(bookingRepository, Mockito.only()).findByBookerIdAndStartGreaterThanEqualOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+                Mockito.verify(bookingRepository, Mockito.only()).findFutureByBookerId(anyLong(), any(Pageable.class));
                 break;
             case WAITING:
                 Mockito.verify(bookingRepository, Mockito.only()).findByBookerIdAndStatusOrderByStartDesc(anyOwnerId, Status.WAITING, pageable);
@@ -511,33 +670,33 @@ class BookingServiceTest {
         switch (state) {
             case PAST:
                 Mockito.when(bookingRepository
-                                .findByItemOwnerIdAndEndLessThanOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                        .thenReturn(result);
+                                .findPastByItemOwnerId(anyLong(), any(Pageable.class)))
+                        .thenReturn(convertedResult);
                 break;
             case CURRENT:
                 Mockito.when(bookingRepository
-                                .findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class)))
-                        .thenReturn(result);
+                                .findCurrentByItemOwnerId(anyLong(), any(Pageable.class)))
+                        .thenReturn(convertedResult);
                 break;
             case FUTURE:
                 Mockito.when(bookingRepository
-                                .findByItemOwnerIdAndStartGreaterThanEqualOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
-                        .thenReturn(result);
+                                .findFutureByItemOwnerId(anyLong(), any(Pageable.class)))
+                        .thenReturn(convertedResult);
                 break;
             case WAITING:
                 Mockito.when(bookingRepository
                                 .findByItemOwnerIdAndStatusOrderByStartDesc(anyOwnerId, Status.WAITING, pageable))
-                        .thenReturn(result);
+                        .thenReturn(convertedResult);
                 break;
             case REJECTED:
                 Mockito.when(bookingRepository
                                 .findByItemOwnerIdAndStatusOrderByStartDesc(anyOwnerId, Status.REJECTED, pageable))
-                        .thenReturn(result);
+                        .thenReturn(convertedResult);
                 break;
             default:
                 Mockito.when(bookingRepository
                                 .findByItemOwnerIdOrderByStartDesc(anyOwnerId, pageable))
-                        .thenReturn(result);
+                        .thenReturn(convertedResult);
         }
 
         List<BookingResponseDto> gotBookingList = bookingService.getAllBookingByOwner(anyOwnerId, state, from, size);
@@ -547,13 +706,13 @@ class BookingServiceTest {
 
         switch (state) {
             case PAST:
-                Mockito.verify(bookingRepository, Mockito.only()).findByItemOwnerIdAndEndLessThanOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+                Mockito.verify(bookingRepository, Mockito.only()).findPastByItemOwnerId(anyLong(), any(Pageable.class));
                 break;
             case CURRENT:
-                Mockito.verify(bookingRepository, Mockito.only()).findByItemOwnerIdAndStartLessThanEqualAndEndGreaterThanOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(LocalDateTime.class), any(Pageable.class));
+                Mockito.verify(bookingRepository, Mockito.only()).findCurrentByItemOwnerId(anyLong(), any(Pageable.class));
                 break;
             case FUTURE:
-                Mockito.verify(bookingRepository, Mockito.only()).findByItemOwnerIdAndStartGreaterThanEqualOrderByStartDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+                Mockito.verify(bookingRepository, Mockito.only()).findFutureByItemOwnerId(anyLong(), any(Pageable.class));
                 break;
             case WAITING:
                 Mockito.verify(bookingRepository, Mockito.only()).findByItemOwnerIdAndStatusOrderByStartDesc(anyOwnerId, Status.WAITING, pageable);
@@ -582,4 +741,77 @@ class BookingServiceTest {
         Mockito.verifyNoMoreInteractions(userService);
         Mockito.verifyNoInteractions(itemService);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_T0060_PS01_getAllBookingByBooker_afterCursor() {
+        LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 2, 3, 4, 5);
+        List<Booking> result = List.of(expectedBooking.toBuilder().id(11L).build());
+
+        Mockito.doNothing().when(userService).userExists(anyOwnerId);
+        Mockito.when(bookingRepository.findByBookerIdBeforeCursor(anyOwnerId, cursorStart, 15L, Pageable.ofSize(size)))
+                .thenReturn(result);
+
+        List<BookingResponseDto> gotBookingList = bookingService
+                .getAllBookingByBooker(anyOwnerId, ALL, "2030-01-02T03:04:05,15", size);
+        assertEquals(BookingMapper.mapToBookingResponseDto(result), gotBookingList);
+
+        Mockito.verify(bookingRepository, Mockito.only()).findByBookerIdBeforeCursor(anyOwnerId, cursorStart, 15L, Pageable.ofSize(size));
+        Mockito.verify(userService, Mockito.only()).userExists(anyOwnerId);
+        Mockito.verifyNoInteractions(itemService);
+    }
+
+    @Test
+    public void test_T0060_PS02_getAllBookingByOwner_afterCursor() {
+        LocalDateTime cursorStart = LocalDateTime.of(2030, 1, 2, 3, 4, 5);
+        List<BookingResponseDto> result = List.of(BookingMapper.mapToBookingResponseDto(expectedBooking.toBuilder().id(11L).build()));
+
+        Mockito.doNothing().when(userService).userExists(anyOwnerId);
+        Mockito.when(bookingRepository.findByItemOwnerIdAndStatusBeforeCursor(anyOwnerId, Status.WAITING, cursorStart, 15L, Pageable.ofSize(size)))
+                .thenReturn(result);
+
+        List<BookingResponseDto> gotBookingList = bookingService
+                .getAllBookingByOwner(anyOwnerId, WAITING, "2030-01-02T03:04:05,15", size);
+        assertEquals(result, gotBookingList);
+
+        Mockito.verify(bookingRepository, Mockito.only())
+                .findByItemOwnerIdAndStatusBeforeCursor(anyOwnerId, Status.WAITING, cursorStart, 15L, Pageable.ofSize(size));
+        Mockito.verify(userService, Mockito.only()).userExists(anyOwnerId);
+        Mockito.verifyNoInteractions(itemService);
+    }
+
+    @Test
+    public void test_T0060_PS03_getAllBookingByBooker_cursorMode_firstPage() {
+        List<Booking> result = List.of(expectedBooking.toBuilder().id(11L).build());
+
+        Mockito.doNothing().when(userService).userExists(anyOwnerId);
+        Mockito.when(bookingRepository.findByBookerIdOrderByStartDesc(anyOwnerId, PageRequest.of(0, size)))
+                .thenReturn(result);
+
+        List<BookingResponseDto> gotBookingList = bookingService.getAllBookingByBooker(anyOwnerId, ALL, null, size);
+        assertEquals(BookingMapper.mapToBookingResponseDto(result), gotBookingList);
+
+        Mockito.verify(bookingRepository, Mockito.only()).findByBookerIdOrderByStartDesc(anyOwnerId, PageRequest.of(0, size));
+        Mockito.verify(userService, Mockito.only()).userExists(anyOwnerId);
+        Mockito.verifyNoInteractions(itemService);
+    }
+
+    @ParameterizedTest
+    @MethodSource("giveArgsFor_T0060_NS01")
+    public void test_T0060_NS01_getAllBookingByBooker_incorrectCursor(final String after) {
+        assertThrows(BookingCursorFormatException.class, () -> bookingService.getAllBookingByBooker(anyOwnerId, ALL, after, size));
+        assertThrows(BookingCursorFormatException.class, () -> bookingService.getAllBookingByOwner(anyOwnerId, ALL, after, size));
+
+        Mockito.verifyNoInteractions(bookingRepository);
+        Mockito.verifyNoInteractions(userService);
+        Mockito.verifyNoInteractions(itemService);
+    }
+
+    private static Stream<Arguments> giveArgsFor_T0060_NS01() {
+        return Stream.of(
+                arguments("2030-01-02T03:04:05"),
+                arguments("2030-01-02,15"),
+                arguments("2030-01-02T03:04:05,abc"),
+                arguments(",")
+        );
+    }
+}
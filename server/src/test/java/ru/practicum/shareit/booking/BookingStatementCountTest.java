@@ -0,0 +1,99 @@
+package ru.practicum.shareit.booking;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.booking.dto.BookingResponseDto;
+import ru.practicum.shareit.booking.model.Booking;
+import ru.practicum.shareit.booking.model.State;
+import ru.practicum.shareit.booking.model.Status;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingService;
+import ru.practicum.shareit.common.statistics.StatementCounter;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class BookingStatementCountTest {
+    private final BookingService bookingService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final BookingRepository bookingRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statements;
+    private User owner;
+
+    @BeforeEach
+    public void preTestInitialization() {
+        statements = new StatementCounter(entityManagerFactory);
+
+        owner = userRepository.save(User.builder()
+                .name("owner-name")
+                .email("owner@mail.ru")
+                .build());
+    }
+
+    private void fillBookings(final int quantity) {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        for (int i = 0; i < quantity; i++) {
+            User booker = userRepository.save(User.builder()
+                    .name("booker-name-" + i)
+                    .email("booker" + i + "@mail.ru")
+                    .build());
+            Item item = itemRepository.save(Item.builder()
+                    .name("item-name-" + i)
+                    .description("item-description-" + i)
+                    .available(true)
+                    .owner(owner)
+                    .build());
+            bookingRepository.save(Booking.builder()
+                    .start(start.plusHours(i))
+                    .end(start.plusHours(i + 1))
+                    .item(item)
+                    .booker(booker)
+                    .status(Status.WAITING)
+                    .build());
+        }
+    }
+
+    private void getAllBookingByOwner(final int size) {
+        List<BookingResponseDto> bookings = bookingService.getAllBookingByOwner(owner.getId(), State.ALL, 0, size);
+        assertEquals(size, bookings.size());
+        bookings.forEach(booking -> assertEquals(booking.getStart().plusHours(1), booking.getEnd()));
+    }
+
+    private void getAllBookingByOwnerAfterCursor(final int size) {
+        List<BookingResponseDto> bookings = bookingService
+                .getAllBookingByOwner(owner.getId(), State.WAITING, LocalDateTime.now().plusYears(1) + ",1", size);
+        assertEquals(size, bookings.size());
+    }
+
+    @Test
+    public void test_T0010_PS01_getAllBookingByOwner_statementCountDoesNotDependOnPageSize() {
+        fillBookings(20);
+
+        statements.assertIndependentOfPageSize(this::getAllBookingByOwner);
+    }
+
+    @Test
+    public void test_T0020_PS01_getAllBookingByOwnerAfterCursor_statementCountDoesNotDependOnPageSize() {
+        fillBookings(20);
+
+        statements.assertIndependentOfPageSize(this::getAllBookingByOwnerAfterCursor);
+    }
+}
@@ -0,0 +1,56 @@
+package ru.practicum.shareit.booking;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.Mockito;
+import org.mockito.junit.jupiter.MockitoExtension;
+import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.ItemAvailabilityCache;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+
+@ExtendWith(MockitoExtension.class)
+class ItemAvailabilityCacheTest {
+    private static final long ITEM_ID = 1L;
+    private static final Duration TTL = Duration.ofMinutes(1);
+
+    @Mock
+    private BookingRepository bookingRepository;
+    private final AtomicLong nanos = new AtomicLong();
+    private ItemAvailabilityCache cache;
+
+    @BeforeEach
+    public void preTestInitialization() {
+        Mockito.when(bookingRepository.findByItemIdAndStatusIn(eq(ITEM_ID), anyCollection()))
+                .thenReturn(List.of());
+        cache = new ItemAvailabilityCache(bookingRepository, 100, TTL, nanos::get);
+    }
+
+    private void advance(final Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+
+    @Test
+    public void test_T0010_PS01_readsAndLocalUpdates_doNotExtendEntry() {
+        LocalDateTime start = LocalDateTime.now().plusDays(1);
+
+        cache.get(ITEM_ID);
+        advance(Duration.ofSeconds(40));
+        cache.add(ITEM_ID, start, start.plusHours(1));
+        cache.get(ITEM_ID);
+        Mockito.verify(bookingRepository, Mockito.times(1)).findByItemIdAndStatusIn(eq(ITEM_ID), anyCollection());
+
+        //  Прошло больше ttl с загрузки - брони других экземпляров подтягиваются из БД
+        advance(Duration.ofSeconds(30));
+        cache.get(ITEM_ID);
+        Mockito.verify(bookingRepository, Mockito.times(2)).findByItemIdAndStatusIn(eq(ITEM_ID), anyCollection());
+    }
+}
@@ -3,13 +3,16 @@ package ru.practicum.shareit.comment;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.test.annotation.DirtiesContext;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.common.config.SecondLevelCacheConfig;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.repository.RequestRepository;
 import ru.practicum.shareit.user.repository.UserRepository;
 
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
 class CommentRepositoryTest {
     @Autowired
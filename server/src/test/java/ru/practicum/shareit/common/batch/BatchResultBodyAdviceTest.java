@@ -0,0 +1,97 @@
+package ru.practicum.shareit.common.batch;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.core.MethodParameter;
+import org.springframework.core.annotation.AnnotatedElementUtils;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+import org.springframework.web.bind.annotation.ResponseStatus;
+import org.springframework.web.method.annotation.ExceptionHandlerMethodResolver;
+import ru.practicum.shareit.booking.exception.BookingOverlapException;
+import ru.practicum.shareit.common.handler.CommonControllerAdvice;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.exception.ItemNotFoundException;
+import ru.practicum.shareit.item.exception.ItemOwnerIncorrectException;
+
+import java.lang.reflect.Method;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class BatchResultBodyAdviceTest {
+    private static BatchResultBodyAdvice advice;
+
+    @BeforeAll
+    public static void initialize() {
+        advice = new BatchResultBodyAdvice(new CommonControllerAdvice());
+    }
+
+    @SuppressWarnings("unused")
+    private List<BatchResultDto<ItemResponseDto>> batch() {
+        return null;
+    }
+
+    @SuppressWarnings("unused")
+    private List<ItemResponseDto> single() {
+        return null;
+    }
+
+    private static boolean supports(final String methodName) throws NoSuchMethodException {
+        return advice.supports(new MethodParameter(BatchResultBodyAdviceTest.class.getDeclaredMethod(methodName), -1),
+                MappingJackson2HttpMessageConverter.class);
+    }
+
+    @Test
+    public void test_T0010_PS01_supports_onlyBatchResultLists() throws NoSuchMethodException {
+        assertTrue(supports("batch"));
+        assertFalse(supports("single"));
+    }
+
+    @Test
+    public void test_T0020_PS01_elementStatus_sameAsSingleRequest() {
+        ExceptionHandlerMethodResolver handlers = new ExceptionHandlerMethodResolver(CommonControllerAdvice.class);
+
+        for (Class<? extends RuntimeException> type : advice.elementExceptions()) {
+            Method handler = handlers.resolveMethodByExceptionType(type);
+            assertNotNull(handler, type.getName());
+            ResponseStatus status = AnnotatedElementUtils.findMergedAnnotation(handler, ResponseStatus.class);
+            assertNotNull(status, type.getName());
+
+            BatchResultDto<Object> result = BatchResultDto.rejected(0, exception(type));
+            advice.resolve(result);
+            assertEquals(status.code().value(), result.getStatus(), type.getName());
+            assertNotNull(result.getError(), type.getName());
+        }
+    }
+
+    @Test
+    public void test_T0030_PS01_resolve_statusAndError() {
+        BatchResultDto<Object> notFound = BatchResultDto.rejected(1, new ItemNotFoundException("item"));
+        advice.resolve(notFound);
+        assertEquals(404, notFound.getStatus());
+        assertEquals("Ошибка существования предмета", notFound.getError().getError());
+
+        BatchResultDto<Object> overlap = BatchResultDto.rejected(2, new BookingOverlapException("overlap"));
+        advice.resolve(overlap);
+        assertEquals(409, overlap.getStatus());
+    }
+
+    @Test
+    public void test_T0030_NS01_resolve_unlistedExceptionRethrown() {
+        BatchResultDto<Object> result = BatchResultDto.rejected(0, new ItemOwnerIncorrectException("owner"));
+
+        assertThrows(ItemOwnerIncorrectException.class, () -> advice.resolve(result));
+    }
+
+    private static RuntimeException exception(final Class<? extends RuntimeException> type) {
+        try {
+            return type.getConstructor(String.class).newInstance("message");
+        } catch (ReflectiveOperationException e) {
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.common.cache;
+
+import lombok.RequiredArgsConstructor;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+@SpringBootTest(properties = "shareit.l2-cache.stats.enabled=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class SecondLevelCacheTest {
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final EntityManagerFactory entityManagerFactory;
+    private final SecondLevelCacheEndpoint endpoint;
+
+    private Statistics statistics;
+    private User owner;
+    private Request request;
+    private Item item;
+
+    @BeforeEach
+    public void preTestInitialization() {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+
+        owner = userRepository.save(User.builder()
+                .name("owner-name")
+                .email("l2-owner@mail.ru")
+                .build());
+        request = requestRepository.save(Request.builder()
+                .description("request-description")
+                .created(LocalDateTime.now())
+                .requester(owner)
+                .build());
+        item = itemRepository.save(Item.builder()
+                .name("item-name")
+                .description("item-description")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+    }
+
+    @Test
+    public void test_T0010_PS01_findById_servedFromCache() {
+        final long statements = statistics.getPrepareStatementCount();
+        final long itemHits = endpoint.region(CacheRegions.ITEM).getHits();
+
+        assertEquals("owner-name", userRepository.findById(owner.getId()).orElseThrow().getName());
+        assertEquals("item-name", itemRepository.findById(item.getId()).orElseThrow().getName());
+        assertEquals("request-description", requestRepository.findById(request.getId()).orElseThrow().getDescription());
+        assertEquals("item-name", itemRepository.findById(item.getId()).orElseThrow().getName());
+
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(itemHits + 2, endpoint.region(CacheRegions.ITEM).getHits());
+        assertTrue(endpoint.region(CacheRegions.USER).getHits() > 0);
+        assertTrue(endpoint.region(CacheRegions.REQUEST).getHits() > 0);
+    }
+
+    @Test
+    public void test_T0010_PS02_update_visibleThroughCache() {
+        final Item updated = itemRepository.findById(item.getId()).orElseThrow();
+        updated.setName("item-name-updated");
+        itemRepository.save(updated);
+
+        final long statements = statistics.getPrepareStatementCount();
+
+        assertEquals("item-name-updated", itemRepository.findById(item.getId()).orElseThrow().getName());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    public void test_T0020_PS01_queryCache_invalidatedOnInsert() {
+        assertEquals(1, itemRepository.findAllByRequestId(request.getId()).size());
+
+        final long statements = statistics.getPrepareStatementCount();
+        final long queryHits = endpoint.region(CacheRegions.ITEMS_BY_REQUEST).getHits();
+
+        assertEquals(1, itemRepository.findAllByRequestId(request.getId()).size());
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        assertEquals(queryHits + 1, endpoint.region(CacheRegions.ITEMS_BY_REQUEST).getHits());
+
+        //  Вставка в item делает закэшированный результат устаревшим
+        itemRepository.save(Item.builder()
+                .name("item-name-2")
+                .description("item-description-2")
+                .available(true)
+                .owner(owner)
+                .request(request)
+                .build());
+
+        assertEquals(2, itemRepository.findAllByRequestId(request.getId()).size());
+    }
+
+    @Test
+    public void test_T0030_PS01_endpoint_listsAllRegions() {
+        final List<CacheRegionStatsDto> regions = endpoint.regions();
+
+        assertEquals(CacheRegions.ENTITY_REGIONS.size() + CacheRegions.QUERY_REGIONS.size(), regions.size());
+        assertEquals("entity", endpoint.region(CacheRegions.USER).getType());
+        assertEquals("query", endpoint.region(CacheRegions.USER_BY_EMAIL).getType());
+        assertNull(endpoint.region("unknown"));
+    }
+}
@@ -0,0 +1,54 @@
+package ru.practicum.shareit.common.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+
+import java.io.DataInputStream;
+import java.io.OutputStream;
+import java.net.Socket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "server.http2.enabled=true")
+public class Http2ConfigTest {
+    private static final String PREFACE = "PRI * HTTP/2.0\r\n\r\nSM\r\n\r\n";
+    private static final int SETTINGS_FRAME = 0x4;
+
+    @LocalServerPort
+    private int port;
+
+    @Test
+    public void test_T0010_PS01_h2cUpgrade_servedOverHttp2() throws Exception {
+        HttpClient client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build();
+
+        HttpResponse<String> response = client.send(
+                HttpRequest.newBuilder(URI.create("http://localhost:" + port + "/users?from=0&size=10")).GET().build(),
+                HttpResponse.BodyHandlers.ofString());
+
+        assertEquals(200, response.statusCode());
+        assertEquals(HttpClient.Version.HTTP_2, response.version());
+    }
+
+    //  Шлюз (OkHttp) подключается без Upgrade: сразу преамбула HTTP/2, сервер должен ответить кадром SETTINGS
+    @Test
+    public void test_T0020_PS01_priorKnowledge_serverAnswersWithSettings() throws Exception {
+        try (Socket socket = new Socket("localhost", port)) {
+            socket.setSoTimeout(5000);
+            OutputStream out = socket.getOutputStream();
+            out.write(PREFACE.getBytes(StandardCharsets.US_ASCII));
+            out.write(new byte[]{0, 0, 0, SETTINGS_FRAME, 0, 0, 0, 0, 0});
+            out.flush();
+
+            byte[] frameHeader = new byte[9];
+            new DataInputStream(socket.getInputStream()).readFully(frameHeader);
+
+            assertEquals(SETTINGS_FRAME, frameHeader[3]);
+        }
+    }
+}
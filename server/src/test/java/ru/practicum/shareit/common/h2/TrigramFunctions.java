@@ -0,0 +1,43 @@
+package ru.practicum.shareit.common.h2;
+
+import java.util.HashSet;
+import java.util.Locale;
+import java.util.Set;
+
+/**
+ * Замена word_similarity из pg_trgm для тестовой H2 (test-schema.sql, CREATE ALIAS): доля триграмм первой
+ * строки, найденных среди триграмм второй. Порядок выдачи поиска совпадает с PostgreSQL на простых случаях,
+ * сами значения - нет: точный план и ранжирование проверяются на PostgreSQL.
+ */
+public final class TrigramFunctions {
+    private TrigramFunctions() {
+    }
+
+    public static float wordSimilarity(final String text, final String value) {
+        final Set<String> textTrigrams = trigrams(text);
+
+        if (textTrigrams.isEmpty())
+            return 0f;
+
+        final Set<String> common = new HashSet<>(textTrigrams);
+        common.retainAll(trigrams(value));
+
+        return (float) common.size() / textTrigrams.size();
+    }
+
+    private static Set<String> trigrams(final String value) {
+        final Set<String> trigrams = new HashSet<>();
+
+        for (String word : value.toLowerCase(Locale.ROOT).split("[^\\p{L}\\p{N}]+")) {
+            if (word.isEmpty())
+                continue;
+
+            final String padded = "  " + word + " ";
+            for (int i = 0; i + 3 <= padded.length(); i++) {
+                trigrams.add(padded.substring(i, i + 3));
+            }
+        }
+
+        return trigrams;
+    }
+}
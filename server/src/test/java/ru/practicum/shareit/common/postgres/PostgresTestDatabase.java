@@ -0,0 +1,110 @@
+package ru.practicum.shareit.common.postgres;
+
+import org.junit.jupiter.api.Assumptions;
+import org.springframework.core.io.DefaultResourceLoader;
+import org.springframework.core.io.ResourceLoader;
+import org.springframework.jdbc.datasource.DriverManagerDataSource;
+import org.springframework.jdbc.datasource.init.ResourceDatabasePopulator;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.testcontainers.DockerClientFactory;
+import org.testcontainers.containers.PostgreSQLContainer;
+import org.testcontainers.utility.DockerImageName;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+
+/**
+ * PostgreSQL для проверок, которые на H2 ничего не доказывают: schema.sql и планы запросов.
+ * Сервер задаётся -Dshareit.test.postgres.url (и .username/.password), иначе Testcontainers поднимает postgres:14.
+ * Без адреса и без Docker такие тесты пропускаются. create(...) каждый раз пересоздаёт отдельную базу.
+ */
+public final class PostgresTestDatabase {
+    public static final String SCHEMA = "classpath:schema.sql";
+    public static final String LEGACY_SCHEMA = "file:src/test/java/resources/legacy-identity-schema.sql";
+    public static final String SEED = "file:src/test/java/resources/postgres-seed.sql";
+
+    private static final String URL_PROPERTY = "shareit.test.postgres.url";
+    private static final String USERNAME_PROPERTY = "shareit.test.postgres.username";
+    private static final String PASSWORD_PROPERTY = "shareit.test.postgres.password";
+    private static final String IMAGE = "postgres:14-alpine";
+
+    private static final ResourceLoader RESOURCES = new DefaultResourceLoader();
+
+    private static String serverUrl;
+    private static String username;
+    private static String password;
+    private static PostgreSQLContainer<?> container;
+
+    private PostgresTestDatabase() {
+    }
+
+    //  Вызывается из @BeforeAll: тест пропускается до подъёма контекста Spring
+    public static synchronized void assumeAvailable() {
+        if (serverUrl != null)
+            return;
+
+        if (System.getProperty(URL_PROPERTY) != null) {
+            serverUrl = System.getProperty(URL_PROPERTY);
+            username = System.getProperty(USERNAME_PROPERTY, "postgres");
+            password = System.getProperty(PASSWORD_PROPERTY, "");
+            return;
+        }
+
+        Assumptions.assumeTrue(DockerClientFactory.instance().isDockerAvailable(),
+                "Нет Docker и не задан -D" + URL_PROPERTY + " - проверки на PostgreSQL пропущены");
+
+        container = new PostgreSQLContainer<>(DockerImageName.parse(IMAGE));
+        container.start();
+        serverUrl = container.getJdbcUrl();
+        username = container.getUsername();
+        password = container.getPassword();
+    }
+
+    //  Новая база, на которой по порядку выполнены скрипты scripts (classpath: или file: от каталога модуля)
+    public static DataSource create(final String database, final String... scripts) {
+        assumeAvailable();
+
+        try (Connection connection = DriverManager.getConnection(serverUrl, username, password);
+             Statement statement = connection.createStatement()) {
+            statement.execute("DROP DATABASE IF EXISTS " + database + " WITH (FORCE)");
+            statement.execute("CREATE DATABASE " + database + " ENCODING 'UTF8' TEMPLATE template0");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Не удалось создать базу " + database, e);
+        }
+
+        final DataSource dataSource = new DriverManagerDataSource(url(database), username, password);
+        execute(dataSource, scripts);
+
+        return dataSource;
+    }
+
+    public static void execute(final DataSource dataSource, final String... scripts) {
+        final ResourceDatabasePopulator populator = new ResourceDatabasePopulator();
+        for (String script : scripts) {
+            populator.addScript(RESOURCES.getResource(script));
+        }
+        populator.execute(dataSource);
+    }
+
+    public static DataSource dataSource(final String database) {
+        assumeAvailable();
+        return new DriverManagerDataSource(url(database), username, password);
+    }
+
+    //  Контекст Spring поверх базы database; скрипты уже выполнены в create(...) и повторно не запускаются
+    public static void register(final DynamicPropertyRegistry registry, final String database) {
+        registry.add("spring.datasource.driver-class-name", () -> "org.postgresql.Driver");
+        registry.add("spring.datasource.url", () -> url(database));
+        registry.add("spring.datasource.username", () -> username);
+        registry.add("spring.datasource.password", () -> password);
+        registry.add("spring.sql.init.mode", () -> "never");
+    }
+
+    private static String url(final String database) {
+        final int path = serverUrl.indexOf('/', "jdbc:postgresql://".length());
+        return serverUrl.substring(0, path + 1) + database;
+    }
+}
@@ -0,0 +1,123 @@
+package ru.practicum.shareit.common.postgres;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Оборачивает DataSource контекста и запоминает выполненные запросы вместе со значениями параметров,
+ * чтобы затем получить их планы EXPLAIN на той же базе - с теми же значениями, что видел планировщик.
+ * Подключается к тесту через @Import(QueryPlanRecorder.class).
+ */
+public class QueryPlanRecorder implements BeanPostProcessor {
+    private final List<RecordedQuery> queries = new CopyOnWriteArrayList<>();
+    private volatile DataSource target;
+
+    @Override
+    public Object postProcessAfterInitialization(final Object bean, final String beanName) {
+        if (!(bean instanceof DataSource) || target != null)
+            return bean;
+
+        target = (DataSource) bean;
+        return proxy(DataSource.class, (proxy, method, args) -> {
+            final Object result = invoke(target, method, args);
+            return "getConnection".equals(method.getName()) ? connection((Connection) result) : result;
+        });
+    }
+
+    public void clear() {
+        queries.clear();
+    }
+
+    public List<String> sql() {
+        final List<String> sql = new ArrayList<>();
+        queries.forEach(query -> sql.add(query.sql));
+        return sql;
+    }
+
+    //  План каждого записанного запроса - одной строкой на узел
+    public List<String> plans() throws SQLException {
+        final List<String> plans = new ArrayList<>();
+
+        try (Connection connection = target.getConnection()) {
+            for (RecordedQuery query : queries) {
+                try (PreparedStatement explain = connection.prepareStatement("EXPLAIN " + query.sql)) {
+                    for (Map.Entry<Integer, Object> parameter : query.parameters.entrySet()) {
+                        explain.setObject(parameter.getKey(), parameter.getValue());
+                    }
+                    final StringBuilder plan = new StringBuilder(query.sql).append('\n');
+                    try (ResultSet rows = explain.executeQuery()) {
+                        while (rows.next()) {
+                            plan.append(rows.getString(1)).append('\n');
+                        }
+                    }
+                    plans.add(plan.toString());
+                }
+            }
+        }
+
+        return plans;
+    }
+
+    private Connection connection(final Connection connection) {
+        return proxy(Connection.class, (proxy, method, args) -> {
+            final Object result = invoke(connection, method, args);
+            if ("prepareStatement".equals(method.getName()))
+                return statement((PreparedStatement) result, (String) args[0]);
+            return result;
+        });
+    }
+
+    private PreparedStatement statement(final PreparedStatement statement, final String sql) {
+        final Map<Integer, Object> parameters = new TreeMap<>();
+
+        return proxy(PreparedStatement.class, (proxy, method, args) -> {
+            final String name = method.getName();
+
+            if (name.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer)
+                parameters.put((Integer) args[0], "setNull".equals(name) ? null : args[1]);
+            else if ("clearParameters".equals(name))
+                parameters.clear();
+            else if ("executeQuery".equals(name) && args == null)
+                queries.add(new RecordedQuery(sql, new TreeMap<>(parameters)));
+
+            return invoke(statement, method, args);
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T proxy(final Class<T> type, final InvocationHandler handler) {
+        return (T) Proxy.newProxyInstance(QueryPlanRecorder.class.getClassLoader(), new Class<?>[]{type}, handler);
+    }
+
+    private static Object invoke(final Object target, final Method method, final Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private static final class RecordedQuery {
+        private final String sql;
+        private final Map<Integer, Object> parameters;
+
+        private RecordedQuery(final String sql, final Map<Integer, Object> parameters) {
+            this.sql = sql;
+            this.parameters = parameters;
+        }
+    }
+}
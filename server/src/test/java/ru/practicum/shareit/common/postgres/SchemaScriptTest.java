@@ -0,0 +1,58 @@
+package ru.practicum.shareit.common.postgres;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * schema.sql выполняется при каждом старте сервера (spring.sql.init.mode=always):
+ * он должен проходить на PostgreSQL повторно и поверх базы со старой схемой на identity-колонках.
+ */
+class SchemaScriptTest {
+    private static final String[] TABLES = {"person", "request", "item", "booking", "comment"};
+
+    @BeforeAll
+    static void assumePostgres() {
+        PostgresTestDatabase.assumeAvailable();
+    }
+
+    @Test
+    public void test_T0010_PS01_schema_rerunOnExistingDatabase() {
+        DataSource dataSource = PostgresTestDatabase.create("shareit_schema_rerun", PostgresTestDatabase.SCHEMA);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        assertEquals(1L, insertPerson(jdbc, "first@mail.ru"));
+
+        PostgresTestDatabase.execute(dataSource, PostgresTestDatabase.SCHEMA);
+
+        assertEquals(0, jdbc.queryForObject("select count(*) from person", Integer.class));
+        assertEquals(1L, insertPerson(jdbc, "first@mail.ru"));
+    }
+
+    @Test
+    public void test_T0020_PS01_schema_migratesIdentityColumns() {
+        DataSource dataSource = PostgresTestDatabase.create("shareit_schema_legacy", PostgresTestDatabase.LEGACY_SCHEMA);
+        JdbcTemplate jdbc = new JdbcTemplate(dataSource);
+        insertPerson(jdbc, "legacy@mail.ru");
+
+        PostgresTestDatabase.execute(dataSource, PostgresTestDatabase.SCHEMA);
+
+        for (String table : TABLES) {
+            assertEquals("", jdbc.queryForObject("select attidentity::text from pg_attribute " +
+                    "where attrelid = ?::regclass and attname = 'id'", String.class, table), table);
+        }
+        assertEquals(1L, insertPerson(jdbc, "first@mail.ru"));
+        assertEquals(2, jdbc.queryForObject("select count(*) from information_schema.columns " +
+                "where table_name = 'booking' and column_name in ('phase', 'version')", Integer.class));
+
+        PostgresTestDatabase.execute(dataSource, PostgresTestDatabase.SCHEMA);
+        assertEquals(1L, insertPerson(jdbc, "first@mail.ru"));
+    }
+
+    private static long insertPerson(final JdbcTemplate jdbc, final String email) {
+        return jdbc.queryForObject("insert into person (name, email) values ('name', ?) returning id", Long.class, email);
+    }
+}
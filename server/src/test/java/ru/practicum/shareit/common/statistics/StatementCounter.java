@@ -0,0 +1,40 @@
+package ru.practicum.shareit.common.statistics;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+
+import javax.persistence.EntityManagerFactory;
+import java.util.function.IntConsumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Подсчёт подготовленных JDBC-выражений по статистике Hibernate.
+ * Тест должен поднимать контекст с spring.jpa.properties.hibernate.generate_statistics=true.
+ */
+public class StatementCounter {
+    private static final int SMALL_PAGE = 2;
+    private static final int LARGE_PAGE = 20;
+
+    private final Statistics statistics;
+
+    public StatementCounter(final EntityManagerFactory entityManagerFactory) {
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+    }
+
+    public long count(final Runnable action) {
+        statistics.clear();
+        action.run();
+        return statistics.getPrepareStatementCount();
+    }
+
+    /**
+     * Число выражений для страницы не должно зависеть от её размера (нет N+1).
+     * Первый вызов - прогрев: проверки пользователя, блок id из последовательности и т.п. уходят в кэш.
+     */
+    public void assertIndependentOfPageSize(final IntConsumer page) {
+        count(() -> page.accept(SMALL_PAGE));
+
+        assertEquals(count(() -> page.accept(SMALL_PAGE)), count(() -> page.accept(LARGE_PAGE)));
+    }
+}
@@ -12,10 +12,12 @@ import org.springframework.http.MediaType;
 import org.springframework.test.web.servlet.MockMvc;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
+import ru.practicum.shareit.common.batch.BatchResultDto;
 import ru.practicum.shareit.item.controller.ItemController;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
 import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.exception.RequestNotFoundException;
 
 import java.nio.charset.StandardCharsets;
 import java.time.LocalDateTime;
@@ -465,6 +467,27 @@ class ItemControllerTest {
         Mockito.verifyNoMoreInteractions(itemService);
     }
 
+    @Test
+    public void test_T0050_PS03_searchItems_cursorMode() throws Exception {
+        List<ItemResponseDto> response = List.of(itemResponseDto.toBuilder().build());
+
+        Mockito.when(itemService.searchItems(anyLong(), anyString(), Mockito.<Long>any(), anyInt()))
+                .thenReturn(response);
+
+        mvc.perform(get("/items/search")
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .param("mode", "cursor")
+                        .param("text", "any text")
+                        .param("after", String.valueOf(anyItemId))
+                        .param("size", String.valueOf(10))
+                        .header(REQUEST_USER_HEADER, anyOwnerId))
+                .andExpect(status().isOk())
+                .andExpect(content().string(mapper.writeValueAsString(response)));
+
+        Mockito.verify(itemService, Mockito.only()).searchItems(anyOwnerId, "any text", anyItemId, 10);
+    }
+
     @Test
     public void test_T0050_NS01_searchItems_noRequestHeader_ownerId() throws Exception {
         String response = mvc.perform(get("/items/search")
@@ -588,4 +611,32 @@ class ItemControllerTest {
 
         assertTrue(response.contains("Failed to convert value"));
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_T0070_PS01_createItems_perElementResults() throws Exception {
+        Mockito
+                .when(itemService.createItems(anyList(), anyLong()))
+                .thenReturn(List.of(
+                        BatchResultDto.created(0, itemResponseDto),
+                        BatchResultDto.rejected(1, new RequestNotFoundException())));
+
+        mvc.perform(post("/items/batch")
+                        .content(mapper.writeValueAsString(List.of(itemRequestDto, itemRequestDto.toBuilder().requestId(404L).build())))
+                        .characterEncoding(StandardCharsets.UTF_8)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .accept(MediaType.APPLICATION_JSON)
+                        .header(REQUEST_USER_HEADER, String.valueOf(anyOwnerId)))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$", hasSize(2)))
+                .andExpect(jsonPath("$[0].index", is(0)))
+                .andExpect(jsonPath("$[0].status", is(201)))
+                .andExpect(jsonPath("$[0].body.id", is(anyItemId), Long.class))
+                .andExpect(jsonPath("$[0].error").doesNotExist())
+                .andExpect(jsonPath("$[1].index", is(1)))
+                .andExpect(jsonPath("$[1].status", is(404)))
+                .andExpect(jsonPath("$[1].body").doesNotExist())
+                .andExpect(jsonPath("$[1].error.error", is("Ошибка существования запроса")));
+
+        Mockito.verify(itemService, Mockito.only()).createItems(anyList(), eq(anyOwnerId));
+    }
+}
@@ -4,13 +4,15 @@ import org.junit.jupiter.api.*;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
 import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
+import org.springframework.context.annotation.Import;
 import org.springframework.data.domain.Pageable;
 import org.springframework.test.annotation.DirtiesContext;
-import ru.practicum.shareit.booking.dto.BookingOrderResponseDto;
+import ru.practicum.shareit.booking.dto.BookingOrderItemView;
 import ru.practicum.shareit.booking.model.Booking;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
 import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.common.config.SecondLevelCacheConfig;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.request.model.Request;
@@ -21,11 +23,16 @@ import ru.practicum.shareit.user.repository.UserRepository;
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 @DataJpaTest
+@Import(SecondLevelCacheConfig.class)
 @DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
 class ItemRepositoryTest {
     @Autowired
@@ -217,8 +224,7 @@ class ItemRepositoryTest {
         long itemId = savedItem.getId();
 
         assertTrue(itemRepository.existsItemByIdAndOwnerId(itemId, ownerId));
-        assertTrue(itemRepository.findItemByIdAndOwnerId(itemId, ownerId).isPresent());
-        assertEquals(itemRepository.findItemByIdAndOwnerId(itemId, ownerId).get(), savedItem);
+        assertEquals(itemRepository.findById(itemId).orElseThrow(), savedItem);
 
         assertRepositorySize(1, 1, 0, 0, 0);
     }
@@ -262,10 +268,33 @@ class ItemRepositoryTest {
         reqItem1.setRequest(savedRequest);
         Item savedItem = itemRepository.save(reqItem1);
 
-        assertEquals(1, itemRepository.findAllByRequestId(savedItem.getRequest().getId(), Pageable.ofSize(5)).size());
+        assertEquals(1, itemRepository.findAllByRequestId(savedItem.getRequest().getId()).size());
         assertRepositorySize(2, 1, 0, 1, 0);
     }
 
+    @Test
+    public void test_T0030_PS02_findAllByRequestId_notTruncated() {
+        User savedRequester = userRepository.save(requester1);
+        User savedOwner = userRepository.save(owner3);
+
+        request1.setRequester(savedRequester);
+        Request savedRequest = requestRepository.save(request1);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 150; i++) {
+            items.add(Item.builder()
+                    .name("req-item-" + i)
+                    .description("req-item-description-" + i)
+                    .available(true)
+                    .owner(savedOwner)
+                    .request(savedRequest)
+                    .build());
+        }
+        itemRepository.saveAll(items);
+
+        assertEquals(150, itemRepository.findAllByRequestId(savedRequest.getId()).size());
+    }
+
     @Test
     public void test_T0040_PS01_findItemsByNameOrDescriptionTextAndIsAvailable() {
         User savedUser1 = userRepository.save(owner1);
@@ -291,6 +320,55 @@ class ItemRepositoryTest {
         assertRepositorySize(4, 4, 0, 1, 0);
     }
 
+    @Test
+    public void test_T0040_PS02_findItemsByNameOrDescriptionTextAndIsAvailable_nameMatchesFirst() {
+        User savedUser1 = userRepository.save(owner1);
+
+        item1.setOwner(savedUser1);
+        item1.setName("hammer");
+        item1.setDescription("better than any drill");
+        Item descriptionMatch = itemRepository.save(item1);
+
+        item2.setOwner(savedUser1);
+        item2.setName("drill");
+        item2.setDescription("power tool");
+        Item nameMatch = itemRepository.save(item2);
+
+        List<Item> items = itemRepository.findItemsByNameOrDescriptionTextAndIsAvailable("drill", 0, 10);
+        assertEquals(2, items.size());
+        assertEquals(nameMatch.getId(), items.get(0).getId());
+        assertEquals(descriptionMatch.getId(), items.get(1).getId());
+    }
+
+    @Test
+    public void test_T0040_PS03_findItemsByNameOrDescriptionTextAndIsAvailableAfter_cursorItemChanged() {
+        User savedUser1 = userRepository.save(owner1);
+
+        List<Item> items = new ArrayList<>();
+        for (int i = 0; i < 3; i++) {
+            items.add(Item.builder()
+                    .name("drill-" + i)
+                    .description("power tool")
+                    .available(true)
+                    .owner(savedUser1)
+                    .build());
+        }
+        itemRepository.saveAll(items);
+
+        Item cursor = itemRepository.findItemsByNameOrDescriptionTextAndIsAvailable("drill", 0, 1).get(0);
+
+        //  Снятый с аренды предмет выпадает из выдачи, но остаётся опорой курсора
+        cursor.setAvailable(false);
+        itemRepository.saveAndFlush(cursor);
+        assertEquals(2, itemRepository.findItemsByNameOrDescriptionTextAndIsAvailableAfter("drill", cursor.getId(), 10).size());
+
+        //  Удалённый предмет опорой быть не может: страница пуста, отличить её от конца выдачи можно только по предмету
+        itemRepository.delete(cursor);
+        itemRepository.flush();
+        assertTrue(itemRepository.findItemsByNameOrDescriptionTextAndIsAvailableAfter("drill", cursor.getId(), 10).isEmpty());
+        assertFalse(itemRepository.existsById(cursor.getId()));
+    }
+
     @Nested
     @TestMethodOrder(MethodOrderer.OrderAnnotation.class)
     class RepositoryWithWithFilledDataBaseWithRollBack {
@@ -351,50 +429,43 @@ class ItemRepositoryTest {
 
         @Test
         public void test_T1010_PS01_findAllByRequestId() {
-            List<Item> items = itemRepository.findAllByRequestId(reqItem4.getRequest().getId(), Pageable.ofSize(100));
+            List<Item> items = itemRepository.findAllByRequestId(reqItem4.getRequest().getId());
             assertEquals(2, items.size());
         }
 
         @Test
-        @DisplayName("Last booking")
-        public void test_T1020_PS01_findTopBookingItemByItemIdAndEndLessThanEqualOrderByEndDesc() {
-            List<BookingOrderResponseDto> bookings = itemRepository
-                    .findTopBookingItemByItemIdAndEndLessThanEqualOrderByEndDesc(item1.getId(), LocalDateTime.now(), Pageable.ofSize(10));
-            assertEquals(1, bookings.size());
-
-            BookingOrderResponseDto lastBooking = bookings.get(0);
-            assertEquals(booking1.getId(), lastBooking.getId());
-            assertEquals(booker1.getId(), lastBooking.getBookerId());
-            assertEquals(booking1.getStart(), lastBooking.getStart());
-            assertEquals(booking1.getEnd(), lastBooking.getEnd());
-        }
-
-        @Test
-        @DisplayName("Only last booking")
-        public void test_T1030_PS01_findTopBookingItemByItemIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc() {
-            List<BookingOrderResponseDto> bookings = itemRepository
-                    .findTopBookingItemByItemIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(item2.getId(), LocalDateTime.now(), Pageable.ofSize(10));
-            assertEquals(1, bookings.size());
-
-            BookingOrderResponseDto lastBooking = bookings.get(0);
-            assertEquals(booking3.getId(), lastBooking.getId());
-            assertEquals(booker3.getId(), lastBooking.getBookerId());
-            assertEquals(booking3.getStart(), lastBooking.getStart());
-            assertEquals(booking3.getEnd(), lastBooking.getEnd());
+        public void test_T1015_PS01_findAllByRequestIdIn() {
+            List<Item> items = itemRepository.findAllByRequestIdIn(List.of(request1.getId(), request2.getId()));
+            assertEquals(4, items.size());
+            assertEquals(2, items.stream()
+                    .filter(item -> item.getRequest().getId() == request1.getId())
+                    .count());
         }
 
         @Test
-        @DisplayName("Next booking")
-        public void test_T1040_PS01_findTopBookingItemByItemIdAndStartGreaterThanEqualAndStatusInOrderByStartAsc() {
-            List<BookingOrderResponseDto> bookings = itemRepository
-                    .findTopBookingItemByItemIdAndStartGreaterThanEqualAndStatusInOrderByStartAsc(item1.getId(), LocalDateTime.now(), List.of(Status.WAITING, Status.APPROVED), Pageable.ofSize(10));
-            assertEquals(1, bookings.size());
-
-            BookingOrderResponseDto lastBooking = bookings.get(0);
-            assertEquals(booking2.getId(), lastBooking.getId());
-            assertEquals(booker2.getId(), lastBooking.getBookerId());
-            assertEquals(booking2.getStart(), lastBooking.getStart());
-            assertEquals(booking2.getEnd(), lastBooking.getEnd());
+        @DisplayName("Near bookings for set of items")
+        public void test_T1050_PS01_findNearBookingsByItemIds() {
+            List<BookingOrderItemView> bookings = itemRepository
+                    .findNearBookingsByItemIds(List.of(item1.getId(), item2.getId(), item3.getId()), LocalDateTime.now(),
+                            List.of(Status.WAITING.name(), Status.APPROVED.name()));
+            assertEquals(3, bookings.size());
+
+            Map<String, BookingOrderItemView> item1Bookings = bookings.stream()
+                    .filter(view -> view.getItemId() == item1.getId())
+                    .collect(Collectors.toMap(BookingOrderItemView::getKind, Function.identity()));
+            assertEquals(2, item1Bookings.size());
+            assertEquals(booking1.getId(), item1Bookings.get(BookingOrderItemView.KIND_LAST).getId());
+            assertEquals(booker1.getId(), item1Bookings.get(BookingOrderItemView.KIND_LAST).getBookerId());
+            assertEquals(booking1.getEnd(), item1Bookings.get(BookingOrderItemView.KIND_LAST).getBookingEnd());
+            assertEquals(booking2.getId(), item1Bookings.get(BookingOrderItemView.KIND_NEXT).getId());
+            assertEquals(booking2.getStart(), item1Bookings.get(BookingOrderItemView.KIND_NEXT).getBookingStart());
+
+            BookingOrderItemView item2Booking = bookings.stream()
+                    .filter(view -> view.getItemId() == item2.getId())
+                    .findFirst()
+                    .orElseThrow();
+            assertEquals(BookingOrderItemView.KIND_CURRENT, item2Booking.getKind());
+            assertEquals(booking3.getId(), item2Booking.getId());
         }
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,95 @@
+package ru.practicum.shareit.item;
+
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.annotation.DirtiesContext;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import ru.practicum.shareit.common.config.SecondLevelCacheConfig;
+import ru.practicum.shareit.common.postgres.PostgresTestDatabase;
+import ru.practicum.shareit.common.postgres.QueryPlanRecorder;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Поиск предметов на PostgreSQL с pg_trgm: фильтр обслуживают GIN-индексы item_*_trgm_idx,
+ * keyset-страницы совпадают со страницами OFFSET.
+ */
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Import({QueryPlanRecorder.class, SecondLevelCacheConfig.class})
+@DirtiesContext(classMode = DirtiesContext.ClassMode.BEFORE_CLASS)
+class ItemSearchPlanTest {
+    private static final String DATABASE = "shareit_item_search";
+    //  md5('42') - подстрока названия ровно одного предмета
+    private static final String SELECTIVE_TEXT = "a1d0c6e8";
+
+    @Autowired
+    private ItemRepository itemRepository;
+    @Autowired
+    private QueryPlanRecorder recorder;
+
+    @BeforeAll
+    static void assumePostgres() {
+        PostgresTestDatabase.assumeAvailable();
+    }
+
+    @DynamicPropertySource
+    static void postgres(final DynamicPropertyRegistry registry) {
+        PostgresTestDatabase.create(DATABASE, PostgresTestDatabase.SCHEMA, PostgresTestDatabase.SEED);
+        PostgresTestDatabase.register(registry, DATABASE);
+    }
+
+    @BeforeEach
+    public void clearRecorded() {
+        recorder.clear();
+    }
+
+    @Test
+    public void test_T0010_PS01_search_usesTrigramIndexes() throws SQLException {
+        List<Item> first = itemRepository.findItemsByNameOrDescriptionTextAndIsAvailable(SELECTIVE_TEXT, 0, 10);
+        assertEquals(1, first.size());
+        List<Item> next = itemRepository.findItemsByNameOrDescriptionTextAndIsAvailableAfter(SELECTIVE_TEXT, first.get(0).getId(), 10);
+        assertTrue(next.isEmpty());
+
+        List<String> plans = recorder.plans();
+        assertEquals(2, plans.size());
+        for (String plan : plans) {
+            assertTrue(plan.contains("Bitmap Index Scan on item_name_trgm_idx"), plan);
+            assertTrue(plan.contains("Bitmap Index Scan on item_description_trgm_idx"), plan);
+            assertFalse(plan.contains("Seq Scan on item"), plan);
+        }
+    }
+
+    @Test
+    public void test_T0020_PS01_search_keysetPagesMatchOffsetPages() {
+        int size = 70;
+        List<Long> expected = itemRepository.findItemsByNameOrDescriptionTextAndIsAvailable("drill", 0, 1000).stream()
+                .map(Item::getId)
+                .collect(Collectors.toList());
+        assertEquals(500, expected.size());
+
+        List<Long> paged = new ArrayList<>();
+        List<Item> page = itemRepository.findItemsByNameOrDescriptionTextAndIsAvailable("drill", 0, size);
+        while (!page.isEmpty()) {
+            page.forEach(item -> paged.add(item.getId()));
+            page = itemRepository.findItemsByNameOrDescriptionTextAndIsAvailableAfter("drill", paged.get(paged.size() - 1), size);
+        }
+
+        assertEquals(expected, paged);
+    }
+}
@@ -12,15 +12,25 @@ import org.springframework.data.domain.Pageable;
 import ru.practicum.shareit.booking.exception.UserNotBookedItemException;
 import ru.practicum.shareit.booking.model.Status;
 import ru.practicum.shareit.booking.repository.BookingRepository;
+import ru.practicum.shareit.booking.service.BookingIntervals;
+import ru.practicum.shareit.booking.service.ItemAvailabilityCache;
 import ru.practicum.shareit.comment.dto.CommentRequestDto;
 import ru.practicum.shareit.comment.dto.CommentResponseDto;
 import ru.practicum.shareit.comment.model.Comment;
 import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.common.batch.BatchRequests;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.common.exception.InvalidBatchSizeException;
+import ru.practicum.shareit.item.dto.ItemAvailabilityDto;
 import ru.practicum.shareit.item.dto.ItemMapper;
 import ru.practicum.shareit.item.dto.ItemRequestDto;
 import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.dto.TimeIntervalDto;
+import ru.practicum.shareit.item.exception.AvailabilityRangeException;
+import ru.practicum.shareit.item.exception.ItemFieldValidationException;
 import ru.practicum.shareit.item.exception.ItemNotFoundException;
 import ru.practicum.shareit.item.exception.ItemOwnerIncorrectException;
+import ru.practicum.shareit.item.exception.ItemSearchCursorException;
 import ru.practicum.shareit.item.model.Item;
 import ru.practicum.shareit.item.repository.ItemRepository;
 import ru.practicum.shareit.item.service.ItemServiceImpl;
@@ -33,12 +43,15 @@ import ru.practicum.shareit.user.service.UserService;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.*;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.eq;
 
 @ExtendWith(MockitoExtension.class)
 class ItemServiceTest {
@@ -54,6 +67,8 @@ class ItemServiceTest {
     private CommentRepository commentRepository;
     @Mock
     private BookingRepository bookingRepository;
+    @Mock
+    private ItemAvailabilityCache availabilityCache;
 
     private ItemRequestDto itemRequestDto;
     private ItemResponseDto itemResponseDto;
@@ -306,11 +321,53 @@ class ItemServiceTest {
     }
 
     @Test
-    public void test_T0020_PS01_updateItem() {
-        Mockito.when(itemRepository.existsById(anyItemId))
-                .thenReturn(true);
+    public void test_T0010_NS03_createItem_missingFields() {
+        ItemRequestDto blankName = itemRequestDto.toBuilder().name(" ").build();
+        ItemRequestDto noAvailable = itemRequestDto.toBuilder().available(null).build();
+
+        assertThrows(ItemFieldValidationException.class, () -> itemService.createItem(blankName, anyOwnerId));
+        assertThrows(ItemFieldValidationException.class, () -> itemService.createItem(noAvailable, anyOwnerId));
+
+        Mockito.verifyNoInteractions(userService);
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    public void test_T0015_PS01_createItems_invalidElementsRejected() {
+        Mockito.when(userService.getUserById(anyOwnerId))
+                .thenReturn(expectedOwner);
+
+        Mockito.when(itemRepository.saveAll(anyList()))
+                .thenReturn(List.of(expectedItem));
+
+        List<BatchResultDto<ItemResponseDto>> results = itemService.createItems(List.of(
+                itemRequestDto.toBuilder().description(null).build(),
+                itemRequestDto,
+                itemRequestDto.toBuilder().name("n".repeat(129)).build()), anyOwnerId);
+
+        assertEquals(3, results.size());
+        assertInstanceOf(ItemFieldValidationException.class, results.get(0).getException());
+        assertEquals(201, results.get(1).getStatus());
+        assertEquals(itemResponseDto, results.get(1).getBody());
+        assertInstanceOf(ItemFieldValidationException.class, results.get(2).getException());
 
-        Mockito.when(itemRepository.findItemByIdAndOwnerId(anyItemId, anyOwnerId))
+        Mockito.verify(itemRepository, Mockito.only()).saveAll(Mockito.argThat(items -> ((List<?>) items).size() == 1));
+        Mockito.verifyNoInteractions(requestRepository);
+    }
+
+    @Test
+    public void test_T0015_NS01_createItems_batchSizeOutOfRange() {
+        assertThrows(InvalidBatchSizeException.class, () -> itemService.createItems(List.of(), anyOwnerId));
+        assertThrows(InvalidBatchSizeException.class, () -> itemService.createItems(
+                Collections.nCopies(BatchRequests.MAX_SIZE + 1, itemRequestDto), anyOwnerId));
+
+        Mockito.verifyNoInteractions(userService);
+        Mockito.verifyNoInteractions(itemRepository);
+    }
+
+    @Test
+    public void test_T0020_PS01_updateItem() {
+        Mockito.when(itemRepository.findById(anyItemId))
                 .thenReturn(Optional.of(expectedItem));
 
         Mockito.when(itemRepository.save(any(Item.class)))
@@ -319,8 +376,7 @@ class ItemServiceTest {
         ItemResponseDto updatedItem = itemService.updateItem(itemRequestDto, anyOwnerId, anyItemId);
         assertEquals(updatedItem, itemResponseDto);
 
-        Mockito.verify(itemRepository, Mockito.times(1)).existsById(anyItemId);
-        Mockito.verify(itemRepository, Mockito.times(1)).findItemByIdAndOwnerId(anyItemId, anyOwnerId);
+        Mockito.verify(itemRepository, Mockito.times(1)).findById(anyItemId);
         Mockito.verify(itemRepository, Mockito.times(1)).save(any(Item.class));
         Mockito.verifyNoMoreInteractions(itemRepository);
 
@@ -332,17 +388,13 @@ class ItemServiceTest {
 
     @Test
     public void test_T0020_PS02_updateItem_emptyFields() {
-        Mockito.when(itemRepository.existsById(anyItemId))
-                .thenReturn(true);
-
-        Mockito.when(itemRepository.findItemByIdAndOwnerId(anyItemId, anyOwnerId))
+        Mockito.when(itemRepository.findById(anyItemId))
                 .thenReturn(Optional.of(expectedItem));
 
         ItemResponseDto updatedItem = itemService.updateItem(new ItemRequestDto(), anyOwnerId, anyItemId);
         assertEquals(updatedItem, itemResponseDto);
 
-        Mockito.verify(itemRepository, Mockito.times(1)).existsById(anyItemId);
-        Mockito.verify(itemRepository, Mockito.times(1)).findItemByIdAndOwnerId(anyItemId, anyOwnerId);
+        Mockito.verify(itemRepository, Mockito.times(1)).findById(anyItemId);
         Mockito.verify(itemRepository, Mockito.never()).save(any(Item.class));
         Mockito.verifyNoMoreInteractions(itemRepository);
 
@@ -354,13 +406,12 @@ class ItemServiceTest {
 
     @Test
     public void test_T0020_NS01_updateItem_noItemWithId() {
-        Mockito.when(itemRepository.existsById(anyItemId))
-                .thenReturn(false);
+        Mockito.when(itemRepository.findById(anyItemId))
+                .thenReturn(Optional.empty());
 
         assertThrows(ItemNotFoundException.class, () -> itemService.updateItem(itemRequestDto, anyOwnerId, anyItemId));
 
-        Mockito.verify(itemRepository, Mockito.times(1)).existsById(anyItemId);
-        Mockito.verify(itemRepository, Mockito.never()).findItemByIdAndOwnerId(anyItemId, anyOwnerId);
+        Mockito.verify(itemRepository, Mockito.times(1)).findById(anyItemId);
         Mockito.verify(itemRepository, Mockito.never()).save(any(Item.class));
         Mockito.verifyNoMoreInteractions(itemRepository);
 
@@ -372,16 +423,12 @@ class ItemServiceTest {
 
     @Test
     public void test_T0020_NS02_updateItem_notItemOwner() {
-        Mockito.when(itemRepository.existsById(anyItemId))
-                .thenReturn(true);
-
-        Mockito.when(itemRepository.findItemByIdAndOwnerId(anyItemId, anyOwnerId))
-                .thenReturn(Optional.empty());
+        Mockito.when(itemRepository.findById(anyItemId))
+                .thenReturn(Optional.of(expectedItem));
 
-        assertThrows(ItemOwnerIncorrectException.class, () -> itemService.updateItem(itemRequestDto, anyOwnerId, anyItemId));
+        assertThrows(ItemOwnerIncorrectException.class, () -> itemService.updateItem(itemRequestDto, anyOwnerId + 1, anyItemId));
 
-        Mockito.verify(itemRepository, Mockito.times(1)).existsById(anyItemId);
-        Mockito.verify(itemRepository, Mockito.times(1)).findItemByIdAndOwnerId(anyItemId, anyOwnerId);
+        Mockito.verify(itemRepository, Mockito.times(1)).findById(anyItemId);
         Mockito.verify(itemRepository, Mockito.never()).save(any(Item.class));
         Mockito.verifyNoMoreInteractions(itemRepository);
 
@@ -393,23 +440,35 @@ class ItemServiceTest {
 
     @Test
     public void test_T0030_PS01_getItemById_notItemOwner() {
-        Mockito.when(itemRepository.findById(anyItemId))
+        Mockito.when(itemRepository.findWithCommentsById(anyItemId))
                 .thenReturn(Optional.of(expectedItem));
 
-        Mockito.when(itemRepository.existsItemByIdAndOwnerId(anyItemId, anyOwnerId))
-                .thenReturn(false);
+        ItemResponseDto gotItem = itemService.getItemDtoById(anyItemId, anyOwnerId + 1);
+        assertEquals(gotItem, itemResponseDto);
+
+        Mockito.verify(itemRepository, Mockito.only()).findWithCommentsById(anyItemId);
+        Mockito.verifyNoMoreInteractions(itemRepository);
+
+        Mockito.verifyNoInteractions(userService);
+        Mockito.verifyNoInteractions(commentRepository);
+        Mockito.verifyNoInteractions(requestRepository);
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void test_T0030_PS02_getItemById_itemOwner() {
+        Mockito.when(itemRepository.findWithCommentsById(anyItemId))
+                .thenReturn(Optional.of(expectedItem));
+
+        Mockito.when(itemRepository.findNearBookingsByItemIds(eq(List.of(anyItemId)), any(LocalDateTime.class), any(List.class)))
+                .thenReturn(List.of());
 
         ItemResponseDto gotItem = itemService.getItemDtoById(anyItemId, anyOwnerId);
         assertEquals(gotItem, itemResponseDto);
 
-        Mockito.verify(itemRepository, Mockito.times(1)).findById(anyItemId);
-        Mockito.verify(itemRepository, Mockito.times(1)).existsItemByIdAndOwnerId(anyItemId, anyOwnerId);
-        Mockito.verify(itemRepository, Mockito.never())
-                .findTopBookingItemByItemIdAndStartGreaterThanEqualAndStatusInOrderByStartAsc(anyLong(), any(LocalDateTime.class), any(List.class), any(Pageable.class));
-        Mockito.verify(itemRepository, Mockito.never())
-                .findTopBookingItemByItemIdAndEndLessThanEqualOrderByEndDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
-        Mockito.verify(itemRepository, Mockito.never())
-                .findTopBookingItemByItemIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+        Mockito.verify(itemRepository, Mockito.times(1)).findWithCommentsById(anyItemId);
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findNearBookingsByItemIds(eq(List.of(anyItemId)), any(LocalDateTime.class), any(List.class));
         Mockito.verifyNoMoreInteractions(itemRepository);
 
         Mockito.verifyNoInteractions(userService);
@@ -420,12 +479,12 @@ class ItemServiceTest {
 
     @Test
     public void test_T0030_NS01_getItemById_noItemWithId() {
-        Mockito.when(itemRepository.findById(anyItemId))
+        Mockito.when(itemRepository.findWithCommentsById(anyItemId))
                 .thenReturn(Optional.empty());
 
         assertThrows(ItemNotFoundException.class, () -> itemService.getItemDtoById(anyItemId, anyOwnerId));
 
-        Mockito.verify(itemRepository, Mockito.only()).findById(anyItemId);
+        Mockito.verify(itemRepository, Mockito.only()).findWithCommentsById(anyItemId);
         Mockito.verifyNoMoreInteractions(itemRepository);
 
         Mockito.verifyNoInteractions(commentRepository);
@@ -446,10 +505,7 @@ class ItemServiceTest {
         Mockito.when(itemRepository.findAllByOwnerIdOrderByIdAsc(anyOwnerId, pageable))
                 .thenReturn(result);
 
-        Mockito.when(itemRepository.findTopBookingItemByItemIdAndStartGreaterThanEqualAndStatusInOrderByStartAsc(anyLong(), any(LocalDateTime.class), any(List.class), any(Pageable.class)))
-                .thenReturn(List.of());
-
-        Mockito.when(itemRepository.findTopBookingItemByItemIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class)))
+        Mockito.when(itemRepository.findNearBookingsByItemIds(any(List.class), any(LocalDateTime.class), any(List.class)))
                 .thenReturn(List.of());
 
         List<ItemResponseDto> gotItems = itemService.getItemsByOwner(anyOwnerId, from, size);
@@ -459,15 +515,11 @@ class ItemServiceTest {
         Mockito.verifyNoMoreInteractions(userService);
 
         Mockito.verify(itemRepository, Mockito.times(1)).findAllByOwnerIdOrderByIdAsc(anyOwnerId, pageable);
-        Mockito.verify(itemRepository, Mockito.times(2))
-                .findTopBookingItemByItemIdAndStartGreaterThanEqualAndStatusInOrderByStartAsc(anyLong(), any(LocalDateTime.class), any(List.class), any(Pageable.class));
-        Mockito.verify(itemRepository, Mockito.times(2))
-                .findTopBookingItemByItemIdAndStartLessThanEqualAndEndGreaterThanEqualOrderByEndDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
-        Mockito.verify(itemRepository, Mockito.times(0))
-                .findTopBookingItemByItemIdAndEndLessThanEqualOrderByEndDesc(anyLong(), any(LocalDateTime.class), any(Pageable.class));
+        Mockito.verify(itemRepository, Mockito.times(1))
+                .findNearBookingsByItemIds(any(List.class), any(LocalDateTime.class), any(List.class));
         Mockito.verifyNoMoreInteractions(itemRepository);
 
-        Mockito.verifyNoInteractions(commentRepository);
+        Mockito.verify(commentRepository, Mockito.only()).findAllByItemIdIn(any(List.class));
         Mockito.verifyNoInteractions(requestRepository);
         Mockito.verifyNoInteractions(bookingRepository);
     }
@@ -490,11 +542,68 @@ class ItemServiceTest {
         Mockito.verifyNoMoreInteractions(itemRepository);
 
         Mockito.verifyNoInteractions(userService);
-        Mockito.verifyNoInteractions(commentRepository);
+        Mockito.verify(commentRepository, Mockito.only()).findAllByItemIdIn(any(List.class));
         Mockito.verifyNoInteractions(requestRepository);
         Mockito.verifyNoInteractions(bookingRepository);
     }
 
+    @Test
+    public void test_T0050_PS03_searchItems_cursorMode_firstPage() {
+        List<Item> result = List.of(new Item(expectedItem));
+
+        Mockito.when(itemRepository.findItemsByNameOrDescriptionTextAndIsAvailable(text, 0, size))
+                .thenReturn(result);
+
+        List<ItemResponseDto> gotItems = itemService.searchItems(anyOwnerId, text, null, size);
+        assertEquals(gotItems, ItemMapper.mapToItemResponseDto(result));
+
+        Mockito.verify(itemRepository, Mockito.only()).findItemsByNameOrDescriptionTextAndIsAvailable(text, 0, size);
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void test_T0050_PS04_searchItems_cursorMode_afterItem() {
+        long afterId = 15;
+        List<Item> result = List.of(new Item(expectedItem));
+
+        Mockito.when(itemRepository.findItemsByNameOrDescriptionTextAndIsAvailableAfter(text, afterId, size))
+                .thenReturn(result);
+
+        List<ItemResponseDto> gotItems = itemService.searchItems(anyOwnerId, text, afterId, size);
+        assertEquals(gotItems, ItemMapper.mapToItemResponseDto(result));
+
+        Mockito.verify(itemRepository, Mockito.only()).findItemsByNameOrDescriptionTextAndIsAvailableAfter(text, afterId, size);
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void test_T0050_PS05_searchItems_cursorMode_lastPage() {
+        long afterId = 15;
+
+        Mockito.when(itemRepository.findItemsByNameOrDescriptionTextAndIsAvailableAfter(text, afterId, size))
+                .thenReturn(List.of());
+        Mockito.when(itemRepository.existsById(afterId))
+                .thenReturn(true);
+
+        assertTrue(itemService.searchItems(anyOwnerId, text, afterId, size).isEmpty());
+
+        Mockito.verifyNoInteractions(commentRepository);
+    }
+
+    @Test
+    public void test_T0050_NS01_searchItems_cursorMode_deletedCursorItem() {
+        long afterId = 15;
+
+        Mockito.when(itemRepository.findItemsByNameOrDescriptionTextAndIsAvailableAfter(text, afterId, size))
+                .thenReturn(List.of());
+        Mockito.when(itemRepository.existsById(afterId))
+                .thenReturn(false);
+
+        assertThrows(ItemSearchCursorException.class, () -> itemService.searchItems(anyOwnerId, text, afterId, size));
+
+        Mockito.verifyNoInteractions(commentRepository);
+    }
+
     @Test
     public void test_T0050_PS02_searchItems_emptyText() {
         List<ItemResponseDto> gotItems = itemService.searchItems(anyOwnerId, "", from, size);
@@ -600,4 +709,45 @@ class ItemServiceTest {
         Mockito.verifyNoInteractions(commentRepository);
         Mockito.verifyNoInteractions(requestRepository);
     }
-}
\ No newline at end of file
+
+    @Test
+    public void test_T0070_PS01_getItemAvailability_clippedToWindow() {
+        BookingIntervals intervals = new BookingIntervals();
+        intervals.add(anyItemId, ldt.minusHours(2), ldt.plusHours(1));
+        intervals.add(anyItemId, ldt.plusHours(3), ldt.plusHours(4));
+        intervals.add(anyItemId, ldt.plusHours(4), ldt.plusHours(5));
+        intervals.add(anyItemId, ldt.plusHours(9), ldt.plusHours(12));
+
+        Mockito.when(itemRepository.existsById(anyItemId))
+                .thenReturn(true);
+        Mockito.when(availabilityCache.get(anyItemId))
+                .thenReturn(intervals);
+
+        ItemAvailabilityDto availability = itemService.getItemAvailability(anyItemId, ldt, ldt.plusHours(10));
+
+        assertEquals(anyItemId, availability.getItemId());
+        assertEquals(List.of(new TimeIntervalDto(ldt, ldt.plusHours(1)),
+                new TimeIntervalDto(ldt.plusHours(3), ldt.plusHours(5)),
+                new TimeIntervalDto(ldt.plusHours(9), ldt.plusHours(10))), availability.getBusy());
+        assertEquals(List.of(new TimeIntervalDto(ldt.plusHours(1), ldt.plusHours(3)),
+                new TimeIntervalDto(ldt.plusHours(5), ldt.plusHours(9))), availability.getFree());
+
+        Mockito.verifyNoInteractions(bookingRepository);
+    }
+
+    @Test
+    public void test_T0070_NS01_getItemAvailability_invalidRange() {
+        assertThrows(AvailabilityRangeException.class, () -> itemService.getItemAvailability(anyItemId, ldt, ldt));
+        Mockito.verifyNoInteractions(itemRepository);
+        Mockito.verifyNoInteractions(availabilityCache);
+    }
+
+    @Test
+    public void test_T0070_NS02_getItemAvailability_noItemWithId() {
+        Mockito.when(itemRepository.existsById(anyItemId))
+                .thenReturn(false);
+
+        assertThrows(ItemNotFoundException.class, () -> itemService.getItemAvailability(anyItemId, ldt, ldt.plusHours(1)));
+        Mockito.verifyNoInteractions(availabilityCache);
+    }
+}
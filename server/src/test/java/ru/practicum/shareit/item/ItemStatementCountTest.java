@@ -0,0 +1,148 @@
+package ru.practicum.shareit.item;
+
+import lombok.RequiredArgsConstructor;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.test.annotation.DirtiesContext;
+import ru.practicum.shareit.comment.model.Comment;
+import ru.practicum.shareit.comment.repository.CommentRepository;
+import ru.practicum.shareit.common.batch.BatchResultDto;
+import ru.practicum.shareit.common.statistics.StatementCounter;
+import ru.practicum.shareit.item.dto.ItemRequestDto;
+import ru.practicum.shareit.item.dto.ItemResponseDto;
+import ru.practicum.shareit.item.model.Item;
+import ru.practicum.shareit.item.repository.ItemRepository;
+import ru.practicum.shareit.item.service.ItemService;
+import ru.practicum.shareit.request.model.Request;
+import ru.practicum.shareit.request.repository.RequestRepository;
+import ru.practicum.shareit.user.model.User;
+import ru.practicum.shareit.user.repository.UserRepository;
+
+import javax.persistence.EntityManagerFactory;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@RequiredArgsConstructor(onConstructor_ = @Autowired)
+@DirtiesContext(classMode = DirtiesContext.ClassMode.AFTER_EACH_TEST_METHOD)
+class ItemStatementCountTest {
+    private final ItemService itemService;
+    private final UserRepository userRepository;
+    private final ItemRepository itemRepository;
+    private final RequestRepository requestRepository;
+    private final CommentRepository commentRepository;
+    private final EntityManagerFactory entityManagerFactory;
+
+    private StatementCounter statements;
+    private User owner;
+    private User author;
+    private Request request;
+
+    @BeforeEach
+    public void preTestInitialization() {
+        statements = new StatementCounter(entityManagerFactory);
+
+        owner = userRepository.save(User.builder()
+                .name("owner-name")
+                .email("owner@mail.ru")
+                .build());
+        author = userRepository.save(User.builder()
+                .name("author-name")
+                .email("author@mail.ru")
+                .build());
+        request = requestRepository.save(Request.builder()
+                .description("request-description")
+                .created(LocalDateTime.now())
+                .requester(author)
+                .build());
+    }
+
+    private void fillItems(final int quantity) {
+        for (int i = 0; i < quantity; i++) {
+            Item item = itemRepository.save(Item.builder()
+                    .name("item-name-" + i)
+                    .description("item-description-" + i)
+                    .available(true)
+                    .owner(owner)
+                    .request(request)
+                    .build());
+            commentRepository.save(Comment.builder()
+                    .text("comment-text-" + i)
+                    .created(LocalDateTime.now())
+                    .item(item)
+                    .author(author)
+                    .build());
+        }
+    }
+
+    private void getItemsByOwner(final int size) {
+        List<ItemResponseDto> items = itemService.getItemsByOwner(owner.getId(), 0, size);
+        assertEquals(size, items.size());
+        items.forEach(item -> {
+            assertEquals(1, item.getComments().size());
+            assertEquals(request.getId(), item.getRequestId());
+        });
+    }
+
+    private void searchItems(final int size) {
+        List<ItemResponseDto> items = itemService.searchItems(owner.getId(), "item-description", 0, size);
+        assertEquals(size, items.size());
+        items.forEach(item -> {
+            assertEquals(1, item.getComments().size());
+            assertEquals(request.getId(), item.getRequestId());
+        });
+    }
+
+    @Test
+    public void test_T0010_PS01_getItemsByOwner_statementCountDoesNotDependOnPageSize() {
+        fillItems(20);
+
+        statements.assertIndependentOfPageSize(this::getItemsByOwner);
+    }
+
+    @Test
+    public void test_T0020_PS01_searchItems_statementCountDoesNotDependOnPageSize() {
+        fillItems(20);
+
+        statements.assertIndependentOfPageSize(this::searchItems);
+    }
+
+    @Test
+    public void test_T0030_PS01_getItemDtoById_singleLookupForItemAndOwnership() {
+        fillItems(1);
+        long itemId = itemRepository.findAllByOwnerIdOrderByIdAsc(owner.getId(), PageRequest.of(0, 1)).get(0).getId();
+
+        assertEquals(2, statements.count(() ->
+                assertEquals(1, itemService.getItemDtoById(itemId, owner.getId()).getComments().size())));
+        assertEquals(1, statements.count(() ->
+                assertEquals(1, itemService.getItemDtoById(itemId, author.getId()).getComments().size())));
+    }
+
+    private void createItems(final int quantity) {
+        List<ItemRequestDto> itemDtos = IntStream.range(0, quantity)
+                .mapToObj(i -> ItemRequestDto.builder()
+                        .name("batch-name-" + i)
+                        .description("batch-description-" + i)
+                        .available(true)
+                        .requestId(request.getId())
+                        .build())
+                .collect(Collectors.toList());
+
+        List<BatchResultDto<ItemResponseDto>> results = itemService.createItems(itemDtos, owner.getId());
+        assertEquals(quantity, results.size());
+        results.forEach(result -> assertEquals(201, result.getStatus()));
+    }
+
+    @Test
+    public void test_T0040_PS01_createItems_insertsBatchedAndIdsPooled() {
+        //  Пользователь, запросы, одна вставка пачкой; id обоих пакетов - из уже выделенного блока из 50
+        statements.assertIndependentOfPageSize(this::createItems);
+    }
+}
@@ -28,6 +28,7 @@ import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -175,7 +176,7 @@ class RequestServiceTest {
         Mockito.when(requestRepository.findAllByRequesterIdOrderByCreatedDesc(anyRequesterId, pageable))
                 .thenReturn(result);
 
-        Mockito.when(itemService.getItemsByRequestId(anyRequestId))
+        Mockito.when(itemService.getItemsByRequestIds(Set.of(anyRequestId)))
                 .thenReturn(List.of(expectedReqItem));
 
         List<ReqGetDto> gotRequests = requestService.getRequestsByRequester(anyRequesterId, from, size);
@@ -187,7 +188,7 @@ class RequestServiceTest {
         Mockito.verify(requestRepository, Mockito.only()).findAllByRequesterIdOrderByCreatedDesc(anyRequesterId, pageable);
         Mockito.verifyNoMoreInteractions(requestRepository);
 
-        Mockito.verify(itemService, Mockito.times(2)).getItemsByRequestId(anyRequestId);
+        Mockito.verify(itemService, Mockito.only()).getItemsByRequestIds(Set.of(anyRequestId));
         Mockito.verifyNoMoreInteractions(itemService);
     }
 
@@ -220,7 +221,7 @@ class RequestServiceTest {
         Mockito.when(requestRepository.findAllByRequesterIdNot(anyRequesterId, pageable))
                 .thenReturn(result);
 
-        Mockito.when(itemService.getItemsByRequestId(anyRequestId))
+        Mockito.when(itemService.getItemsByRequestIds(Set.of(anyRequestId)))
                 .thenReturn(List.of(expectedReqItem));
 
         List<ReqGetDto> gotRequests = requestService.getAll(anyRequesterId, from, size);
@@ -232,7 +233,7 @@ class RequestServiceTest {
         Mockito.verify(requestRepository, Mockito.only()).findAllByRequesterIdNot(anyRequesterId, pageable);
         Mockito.verifyNoMoreInteractions(requestRepository);
 
-        Mockito.verify(itemService, Mockito.times(2)).getItemsByRequestId(anyRequestId);
+        Mockito.verify(itemService, Mockito.only()).getItemsByRequestIds(Set.of(anyRequestId));
         Mockito.verifyNoMoreInteractions(itemService);
     }
 
@@ -221,4 +221,24 @@ class UserServiceTest {
         Mockito.verify(userRepository, Mockito.times(1)).findUserResponseDtoById(anyUserId);
         Mockito.verifyNoMoreInteractions(userRepository);
     }
+
+    @Test
+    public void test_T0060_PS01_userExists_lookedUpById() {
+        Mockito.when(userRepository.findById(anyUserId))
+                .thenReturn(Optional.of(expectedUser));
+
+        userService.userExists(anyUserId);
+
+        Mockito.verify(userRepository, Mockito.only()).findById(anyUserId);
+    }
+
+    @Test
+    public void test_T0060_NS01_userExists_noUserWithId() {
+        Mockito.when(userRepository.findById(anyUserId))
+                .thenReturn(Optional.empty());
+
+        assertThrows(UserNotFoundException.class, () -> userService.userExists(anyUserId));
+
+        Mockito.verify(userRepository, Mockito.only()).findById(anyUserId);
+    }
 }